@@ -0,0 +1,46 @@
+package com.green.firm.aop.logging;
+
+/**
+ * Utility class formatting the arguments of a method call for the logs, each cut to a maximum length,
+ * so that an entity or a large collection passed as argument does not flood them.
+ */
+public final class LogArguments {
+
+    private LogArguments() {}
+
+    /**
+     * Format the arguments of a method call.
+     *
+     * @param args the arguments.
+     * @param maxLength the maximum length of each formatted argument.
+     * @return the arguments, formatted like {@link java.util.Arrays#toString(Object[])}.
+     */
+    public static String format(Object[] args, int maxLength) {
+        if (args == null) {
+            return "null";
+        }
+        StringBuilder formatted = new StringBuilder("[");
+        for (int i = 0; i < args.length; i++) {
+            if (i > 0) {
+                formatted.append(", ");
+            }
+            formatted.append(abbreviate(args[i], maxLength));
+        }
+        return formatted.append(']').toString();
+    }
+
+    /**
+     * Format a single value, like the result of a method call.
+     *
+     * @param value the value.
+     * @param maxLength the maximum length of the formatted value.
+     * @return the value, formatted with its {@code toString()}.
+     */
+    public static String abbreviate(Object value, int maxLength) {
+        String formatted = String.valueOf(value);
+        if (formatted.length() <= maxLength) {
+            return formatted;
+        }
+        return formatted.substring(0, maxLength) + "...(" + formatted.length() + " chars)";
+    }
+}
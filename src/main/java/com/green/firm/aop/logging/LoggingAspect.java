@@ -1,6 +1,5 @@
 package com.green.firm.aop.logging;
 
-import java.util.Arrays;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.AfterThrowing;
@@ -16,15 +15,19 @@ import tech.jhipster.config.JHipsterConstants;
 /**
  * Aspect for logging execution of service and repository Spring components.
  *
- * By default, it only runs with the "dev" profile.
+ * By default, it only runs with the "dev" profile. The arguments are logged cut to {@code application.aspects.max-argument-length};
+ * the production counterpart is the {@link TimingAspect}.
  */
 @Aspect
 public class LoggingAspect {
 
     private final Environment env;
 
-    public LoggingAspect(Environment env) {
+    private final int maxArgumentLength;
+
+    public LoggingAspect(Environment env, int maxArgumentLength) {
         this.env = env;
+        this.maxArgumentLength = maxArgumentLength;
     }
 
     /**
@@ -95,16 +98,28 @@ public class LoggingAspect {
     public Object logAround(ProceedingJoinPoint joinPoint) throws Throwable {
         Logger log = logger(joinPoint);
         if (log.isDebugEnabled()) {
-            log.debug("Enter: {}() with argument[s] = {}", joinPoint.getSignature().getName(), Arrays.toString(joinPoint.getArgs()));
+            log.debug(
+                "Enter: {}() with argument[s] = {}",
+                joinPoint.getSignature().getName(),
+                LogArguments.format(joinPoint.getArgs(), maxArgumentLength)
+            );
         }
         try {
             Object result = joinPoint.proceed();
             if (log.isDebugEnabled()) {
-                log.debug("Exit: {}() with result = {}", joinPoint.getSignature().getName(), result);
+                log.debug(
+                    "Exit: {}() with result = {}",
+                    joinPoint.getSignature().getName(),
+                    LogArguments.abbreviate(result, maxArgumentLength)
+                );
             }
             return result;
         } catch (IllegalArgumentException e) {
-            log.error("Illegal argument: {} in {}()", Arrays.toString(joinPoint.getArgs()), joinPoint.getSignature().getName());
+            log.error(
+                "Illegal argument: {} in {}()",
+                LogArguments.format(joinPoint.getArgs(), maxArgumentLength),
+                joinPoint.getSignature().getName()
+            );
             throw e;
         }
     }
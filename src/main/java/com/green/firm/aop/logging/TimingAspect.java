@@ -0,0 +1,93 @@
+package com.green.firm.aop.logging;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Aspect timing the execution of service and repository Spring components, and of the Web REST endpoints.
+ * <p>
+ * Only a sample of the calls is timed: the other ones just pay for the proxy and a random draw. The durations are
+ * published as the {@code method.timed} histograms, tagged by class and method, like the ones of Micrometer's
+ * {@code @Timed}: their counts are those of the sample, not of all the calls. The calls slower than the threshold are
+ * also logged, with their arguments cut to a maximum length.
+ * <p>
+ * It is only created when {@code application.aspects.timing.enabled} is set, which is the case with the "prod" profile.
+ */
+@Aspect
+public class TimingAspect {
+
+    private final Logger log = LoggerFactory.getLogger(TimingAspect.class);
+
+    private static final String TIMER_NAME = "method.timed";
+
+    private final MeterRegistry meterRegistry;
+
+    private final double sampleRate;
+
+    private final long slowThresholdNanos;
+
+    private final int maxArgumentLength;
+
+    private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+
+    public TimingAspect(MeterRegistry meterRegistry, double sampleRate, Duration slowThreshold, int maxArgumentLength) {
+        this.meterRegistry = meterRegistry;
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.maxArgumentLength = maxArgumentLength;
+    }
+
+    /**
+     * Advice that times a sample of the method calls.
+     *
+     * @param joinPoint join point for advice.
+     * @return result.
+     * @throws Throwable the exception thrown by the method.
+     */
+    @Around(
+        "com.green.firm.aop.logging.LoggingAspect.applicationPackagePointcut() && com.green.firm.aop.logging.LoggingAspect.springBeanPointcut()"
+    )
+    public Object timeAround(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return joinPoint.proceed();
+        }
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            long duration = System.nanoTime() - start;
+            MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+            timers.computeIfAbsent(signature.getMethod(), this::timer).record(duration, TimeUnit.NANOSECONDS);
+            if (duration > slowThresholdNanos) {
+                log.warn(
+                    "Slow call: {}.{}() took {} ms with argument[s] = {}",
+                    signature.getDeclaringTypeName(),
+                    signature.getName(),
+                    TimeUnit.NANOSECONDS.toMillis(duration),
+                    LogArguments.format(joinPoint.getArgs(), maxArgumentLength)
+                );
+            }
+        }
+    }
+
+    private Timer timer(Method method) {
+        return Timer
+            .builder(TIMER_NAME)
+            .tag("class", method.getDeclaringClass().getName())
+            .tag("method", method.getName())
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+}
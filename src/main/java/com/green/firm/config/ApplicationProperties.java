@@ -1,5 +1,8 @@
 package com.green.firm.config;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -9,4 +12,297 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * See {@link tech.jhipster.config.JHipsterProperties} for a good example.
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
-public class ApplicationProperties {}
+public class ApplicationProperties {
+
+    private final Cache cache = new Cache();
+
+    private final Export export = new Export();
+
+    private final Mail mail = new Mail();
+
+    private final Sales sales = new Sales();
+
+    private final Aspects aspects = new Aspects();
+
+    private final Threads threads = new Threads();
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Export getExport() {
+        return export;
+    }
+
+    public Mail getMail() {
+        return mail;
+    }
+
+    public Sales getSales() {
+        return sales;
+    }
+
+    public Aspects getAspects() {
+        return aspects;
+    }
+
+    public Threads getThreads() {
+        return threads;
+    }
+
+    public static class Cache {
+
+        /**
+         * Per-region overrides of the {@code jhipster.cache.caffeine} defaults, keyed by cache (region) name.
+         */
+        private Map<String, Region> regions = new HashMap<>();
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public void setRegions(Map<String, Region> regions) {
+            this.regions = regions;
+        }
+
+        public static class Region {
+
+            private Long timeToLiveSeconds;
+
+            private Long maxEntries;
+
+            public Long getTimeToLiveSeconds() {
+                return timeToLiveSeconds;
+            }
+
+            public void setTimeToLiveSeconds(Long timeToLiveSeconds) {
+                this.timeToLiveSeconds = timeToLiveSeconds;
+            }
+
+            public Long getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(Long maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+        }
+    }
+
+    public static class Export {
+
+        /**
+         * Rows fetched per database round trip. On MySQL, the rows are only streamed with {@code useCursorFetch=true}.
+         */
+        private int fetchSize = 1000;
+
+        public int getFetchSize() {
+            return fetchSize;
+        }
+
+        public void setFetchSize(int fetchSize) {
+            this.fetchSize = fetchSize;
+        }
+    }
+
+    public static class Mail {
+
+        /**
+         * Delay between two polls of the outbox by the mail dispatcher, once all the due emails were sent.
+         */
+        private Duration pollInterval = Duration.ofSeconds(5);
+
+        /**
+         * Workers sending emails at the same time, each over its own SMTP connection.
+         */
+        private int workers = 2;
+
+        /**
+         * Emails sent over a single SMTP connection.
+         */
+        private int batchSize = 50;
+
+        /**
+         * Attempts after which an email is given up.
+         */
+        private int maxAttempts = 8;
+
+        /**
+         * Delay before the first retry of an email, doubled at each following one.
+         */
+        private Duration initialBackoff = Duration.ofSeconds(30);
+
+        private Duration maxBackoff = Duration.ofHours(1);
+
+        /**
+         * How long a batch is reserved for the worker sending it: it is sent again afterwards, should the worker have died.
+         */
+        private Duration lease = Duration.ofMinutes(5);
+
+        /**
+         * How long the sent emails are kept in the outbox.
+         */
+        private Duration retention = Duration.ofDays(7);
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+
+        public int getWorkers() {
+            return workers;
+        }
+
+        public void setWorkers(int workers) {
+            this.workers = workers;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public Duration getInitialBackoff() {
+            return initialBackoff;
+        }
+
+        public void setInitialBackoff(Duration initialBackoff) {
+            this.initialBackoff = initialBackoff;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public void setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+
+        public Duration getLease() {
+            return lease;
+        }
+
+        public void setLease(Duration lease) {
+            this.lease = lease;
+        }
+
+        public Duration getRetention() {
+            return retention;
+        }
+
+        public void setRetention(Duration retention) {
+            this.retention = retention;
+        }
+    }
+
+    public static class Sales {
+
+        /**
+         * Delay between two roll-ups of the new customerBoughts into the daily sales of the product types.
+         */
+        private Duration rollupInterval = Duration.ofMinutes(1);
+
+        public Duration getRollupInterval() {
+            return rollupInterval;
+        }
+
+        public void setRollupInterval(Duration rollupInterval) {
+            this.rollupInterval = rollupInterval;
+        }
+    }
+
+    public static class Aspects {
+
+        /**
+         * Characters of each argument written to the logs by the aspects: the longer ones, like whole entities, are cut.
+         */
+        private int maxArgumentLength = 200;
+
+        private final Timing timing = new Timing();
+
+        public int getMaxArgumentLength() {
+            return maxArgumentLength;
+        }
+
+        public void setMaxArgumentLength(int maxArgumentLength) {
+            this.maxArgumentLength = maxArgumentLength;
+        }
+
+        public Timing getTiming() {
+            return timing;
+        }
+
+        public static class Timing {
+
+            /**
+             * Whether the repository, service and REST calls are timed. When disabled, the aspect is not created at all.
+             */
+            private boolean enabled = false;
+
+            /**
+             * Share of the calls which are timed, between 0 and 1.
+             */
+            private double sampleRate = 0.1;
+
+            /**
+             * Duration above which a timed call is logged, with its arguments.
+             */
+            private Duration slowThreshold = Duration.ofSeconds(1);
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public double getSampleRate() {
+                return sampleRate;
+            }
+
+            public void setSampleRate(double sampleRate) {
+                this.sampleRate = sampleRate;
+            }
+
+            public Duration getSlowThreshold() {
+                return slowThreshold;
+            }
+
+            public void setSlowThreshold(Duration slowThreshold) {
+                this.slowThreshold = slowThreshold;
+            }
+        }
+    }
+
+    public static class Threads {
+
+        /**
+         * Whether the requests and the {@code @Async} tasks run on virtual threads, which requires a Java 21 runtime.
+         * Set by the "virtual-threads" profile.
+         */
+        private boolean virtual = false;
+
+        public boolean isVirtual() {
+            return virtual;
+        }
+
+        public void setVirtual(boolean virtual) {
+            this.virtual = virtual;
+        }
+    }
+}
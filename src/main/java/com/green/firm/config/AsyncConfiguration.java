@@ -8,6 +8,7 @@ import org.springframework.aop.interceptor.SimpleAsyncUncaughtExceptionHandler;
 import org.springframework.boot.autoconfigure.task.TaskExecutionProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
@@ -23,13 +24,22 @@ public class AsyncConfiguration implements AsyncConfigurer {
 
     private final TaskExecutionProperties taskExecutionProperties;
 
-    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties) {
+    private final ApplicationProperties applicationProperties;
+
+    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties, ApplicationProperties applicationProperties) {
         this.taskExecutionProperties = taskExecutionProperties;
+        this.applicationProperties = applicationProperties;
     }
 
     @Override
     @Bean(name = "taskExecutor")
     public Executor getAsyncExecutor() {
+        if (applicationProperties.getThreads().isVirtual()) {
+            log.debug("Creating Async Task Executor on virtual threads");
+            return new ExceptionHandlingAsyncTaskExecutor(
+                new TaskExecutorAdapter(VirtualThreads.newThreadPerTaskExecutor(taskExecutionProperties.getThreadNamePrefix()))
+            );
+        }
         log.debug("Creating Async Task Executor");
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(taskExecutionProperties.getPool().getCoreSize());
@@ -39,6 +49,24 @@ public class AsyncConfiguration implements AsyncConfigurer {
         return new ExceptionHandlingAsyncTaskExecutor(executor);
     }
 
+    /**
+     * Workers of the {@link com.green.firm.service.MailOutboxDispatcher}. They are kept apart from the {@code @Async}
+     * executor, so that a burst of emails cannot starve the other asynchronous tasks.
+     * There is no queue: a batch is only claimed from the outbox when a worker is free to send it.
+     */
+    @Bean(name = "mailTaskExecutor")
+    public ThreadPoolTaskExecutor mailTaskExecutor() {
+        log.debug("Creating Mail Task Executor");
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(applicationProperties.getMail().getWorkers());
+        executor.setMaxPoolSize(applicationProperties.getMail().getWorkers());
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("mail-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return new SimpleAsyncUncaughtExceptionHandler();
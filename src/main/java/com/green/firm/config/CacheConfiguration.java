@@ -0,0 +1,103 @@
+package com.green.firm.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.info.BuildProperties;
+import org.springframework.boot.info.GitProperties;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tech.jhipster.config.JHipsterProperties;
+import tech.jhipster.config.cache.PrefixedKeyGenerator;
+
+/**
+ * Caffeine (JCache) configuration, used both as the Hibernate second-level cache and as the Spring cache.
+ * <p>
+ * Statistics are enabled on every cache, so that hit and miss counts are exported by Micrometer.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+
+    private GitProperties gitProperties;
+    private BuildProperties buildProperties;
+
+    private final JHipsterProperties.Cache.Caffeine caffeine;
+
+    private final ApplicationProperties.Cache cacheProperties;
+
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        this.caffeine = jHipsterProperties.getCache().getCaffeine();
+        this.cacheProperties = applicationProperties.getCache();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernatePropertiesCustomizer(javax.cache.CacheManager cacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+    }
+
+    @Bean
+    public JCacheManagerCustomizer cacheManagerCustomizer() {
+        return cm -> {
+            createCache(cm, com.green.firm.repository.UserRepository.USERS_BY_LOGIN_CACHE);
+            createCache(cm, com.green.firm.repository.UserRepository.USERS_BY_EMAIL_CACHE);
+            createCache(cm, com.green.firm.domain.Authority.class.getName());
+            createCache(cm, com.green.firm.domain.User.class.getName() + ".authorities");
+            createCache(cm, com.green.firm.domain.ProductType.class.getName());
+            // jhipster-needle-caffeine-add-entry
+        };
+    }
+
+    private void createCache(javax.cache.CacheManager cm, String cacheName) {
+        javax.cache.Cache<Object, Object> cache = cm.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        } else {
+            cm.createCache(cacheName, cacheConfiguration(cacheName));
+        }
+    }
+
+    /**
+     * Builds the configuration of a cache, applying the {@code application.cache.regions} overrides
+     * on top of the {@code jhipster.cache.caffeine} defaults.
+     */
+    private javax.cache.configuration.Configuration<Object, Object> cacheConfiguration(String cacheName) {
+        long timeToLiveSeconds = caffeine.getTimeToLiveSeconds();
+        long maxEntries = caffeine.getMaxEntries();
+        ApplicationProperties.Cache.Region region = cacheProperties.getRegions().get(cacheName);
+        if (region != null) {
+            if (region.getTimeToLiveSeconds() != null) {
+                timeToLiveSeconds = region.getTimeToLiveSeconds();
+            }
+            if (region.getMaxEntries() != null) {
+                maxEntries = region.getMaxEntries();
+            }
+        }
+        CaffeineConfiguration<Object, Object> caffeineConfiguration = new CaffeineConfiguration<>();
+        caffeineConfiguration.setMaximumSize(OptionalLong.of(maxEntries));
+        caffeineConfiguration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(timeToLiveSeconds)));
+        caffeineConfiguration.setStatisticsEnabled(true);
+        return caffeineConfiguration;
+    }
+
+    @Autowired(required = false)
+    public void setGitProperties(GitProperties gitProperties) {
+        this.gitProperties = gitProperties;
+    }
+
+    @Autowired(required = false)
+    public void setBuildProperties(BuildProperties buildProperties) {
+        this.buildProperties = buildProperties;
+    }
+
+    @Bean
+    public KeyGenerator keyGenerator() {
+        return new PrefixedKeyGenerator(this.gitProperties, this.buildProperties);
+    }
+}
@@ -1,16 +1,84 @@
 package com.green.firm.config;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.zaxxer.hikari.HikariDataSource;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.liquibase.LiquibaseDataSource;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
-import tech.jhipster.config.JHipsterConstants;
+import org.springframework.util.StringUtils;
 
 @Configuration
 @EnableJpaRepositories("com.green.firm.repository")
 @EnableJpaAuditing(auditorAwareRef = "springSecurityAuditorAware")
 @EnableTransactionManagement
-public class DatabaseConfiguration {}
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class DatabaseConfiguration {
+
+    /**
+     * The JDBC {@link DataSource} of the primary database, as Spring Boot would create it from the {@code spring.datasource}
+     * properties. Spring Boot does not create it when there is an R2DBC {@code ConnectionFactory}, which the
+     * {@link com.green.firm.service.CustomerStreamService} uses. Liquibase always migrates it, while JPA goes through
+     * the routing {@link DataSource} of the {@link ReplicaConfiguration} when there is one.
+     */
+    @Bean
+    @LiquibaseDataSource
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        if (StringUtils.hasText(dataSourceProperties.getName())) {
+            dataSource.setPoolName(dataSourceProperties.getName());
+        }
+        return dataSource;
+    }
+
+    /**
+     * Sends the {@code @Transactional(readOnly = true)} work to a replica, when {@code spring.datasource.replica.jdbc-url}
+     * is set. The replica has its own Hikari pool, configured by the {@code spring.datasource.replica} properties and
+     * named "Hikari-replica" unless told otherwise, so that its metrics are apart from those of the primary pool.
+     * Whatever runs outside a transaction still uses the primary.
+     * <p>
+     * When the requests run on virtual threads, each pool is put behind a {@link ConnectionLimitingDataSource} of its
+     * own size, as the {@link VirtualThreadConfiguration} does for the primary pool alone.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "spring.datasource.replica", name = "jdbc-url")
+    static class ReplicaConfiguration {
+
+        @Bean
+        @ConfigurationProperties(prefix = "spring.datasource.replica")
+        public HikariDataSource replicaDataSource() {
+            HikariDataSource replicaDataSource = new HikariDataSource();
+            replicaDataSource.setPoolName("Hikari-replica");
+            replicaDataSource.setAutoCommit(false);
+            replicaDataSource.setReadOnly(true);
+            return replicaDataSource;
+        }
+
+        @Bean
+        @Primary
+        public DataSource routingDataSource(
+            @Qualifier("dataSource") HikariDataSource dataSource,
+            @Qualifier("replicaDataSource") HikariDataSource replicaDataSource,
+            @Value("${application.threads.virtual:false}") boolean virtualThreads
+        ) {
+            DataSource primary = dataSource;
+            DataSource replica = replicaDataSource;
+            if (virtualThreads) {
+                primary = ConnectionLimitingDataSource.of(dataSource);
+                replica = ConnectionLimitingDataSource.of(replicaDataSource);
+            }
+            return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica));
+        }
+    }
+}
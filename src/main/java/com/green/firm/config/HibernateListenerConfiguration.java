@@ -0,0 +1,39 @@
+package com.green.firm.config;
+
+import com.green.firm.service.CustomerPhoneIndexListener;
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the Hibernate event listeners of the services, which the entities do not reference.
+ */
+@Configuration(proxyBeanMethods = false)
+public class HibernateListenerConfiguration {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final CustomerPhoneIndexListener customerPhoneIndexListener;
+
+    public HibernateListenerConfiguration(
+        EntityManagerFactory entityManagerFactory,
+        CustomerPhoneIndexListener customerPhoneIndexListener
+    ) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.customerPhoneIndexListener = customerPhoneIndexListener;
+    }
+
+    @PostConstruct
+    public void registerListeners() {
+        EventListenerRegistry registry = entityManagerFactory
+            .unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, customerPhoneIndexListener);
+        registry.appendListeners(EventType.POST_UPDATE, customerPhoneIndexListener);
+        registry.appendListeners(EventType.POST_DELETE, customerPhoneIndexListener);
+    }
+}
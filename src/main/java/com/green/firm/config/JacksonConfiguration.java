@@ -3,6 +3,7 @@ package com.green.firm.config;
 import com.fasterxml.jackson.datatype.hibernate5.Hibernate5Module;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.zalando.problem.ProblemModule;
@@ -33,6 +34,14 @@ public class JacksonConfiguration {
         return new Hibernate5Module();
     }
 
+    /*
+     * Bytecode-generated property accessors, instead of reflection, for the beans serialized by the REST API.
+     */
+    @Bean
+    public AfterburnerModule afterburnerModule() {
+        return new AfterburnerModule();
+    }
+
     /*
      * Module for serialization/deserialization of RFC7807 Problem.
      */
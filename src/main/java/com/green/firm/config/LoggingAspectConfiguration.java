@@ -1,6 +1,9 @@
 package com.green.firm.config;
 
 import com.green.firm.aop.logging.LoggingAspect;
+import com.green.firm.aop.logging.TimingAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.*;
 import org.springframework.core.env.Environment;
 import tech.jhipster.config.JHipsterConstants;
@@ -11,7 +14,19 @@ public class LoggingAspectConfiguration {
 
     @Bean
     @Profile(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT)
-    public LoggingAspect loggingAspect(Environment env) {
-        return new LoggingAspect(env);
+    public LoggingAspect loggingAspect(Environment env, ApplicationProperties applicationProperties) {
+        return new LoggingAspect(env, applicationProperties.getAspects().getMaxArgumentLength());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.aspects.timing", name = "enabled", havingValue = "true")
+    public TimingAspect timingAspect(MeterRegistry meterRegistry, ApplicationProperties applicationProperties) {
+        ApplicationProperties.Aspects aspects = applicationProperties.getAspects();
+        return new TimingAspect(
+            meterRegistry,
+            aspects.getTiming().getSampleRate(),
+            aspects.getTiming().getSlowThreshold(),
+            aspects.getMaxArgumentLength()
+        );
     }
 }
@@ -0,0 +1,38 @@
+package com.green.firm.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * {@link DataSource} sending the read-only transactions to a replica of the database, and everything else to the primary.
+ * <p>
+ * The target is chosen when the connection is fetched, so it must be used through a {@link LazyConnectionDataSourceProxy}:
+ * the transaction manager fetches its connection before the transaction is marked read-only, while the proxy only
+ * fetches it at the first statement. The replica lags behind the primary: a read-only transaction started right
+ * after a write may not see it yet.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target {
+        PRIMARY,
+        REPLICA,
+    }
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+        Map<Object, Object> targetDataSources = new HashMap<>();
+        targetDataSources.put(Target.PRIMARY, primary);
+        targetDataSources.put(Target.REPLICA, replica);
+        setTargetDataSources(targetDataSources);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Target.REPLICA : Target.PRIMARY;
+    }
+}
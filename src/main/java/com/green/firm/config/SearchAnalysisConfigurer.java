@@ -0,0 +1,64 @@
+package com.green.firm.config;
+
+import static com.green.firm.domain.SearchAnalyzers.PHONE_PREFIX;
+import static com.green.firm.domain.SearchAnalyzers.PHONE_SEARCH;
+import static com.green.firm.domain.SearchAnalyzers.PREFIX;
+import static com.green.firm.domain.SearchAnalyzers.PREFIX_SEARCH;
+
+import org.apache.lucene.analysis.core.KeywordTokenizerFactory;
+import org.apache.lucene.analysis.core.LowerCaseFilterFactory;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilterFactory;
+import org.apache.lucene.analysis.ngram.EdgeNGramFilterFactory;
+import org.apache.lucene.analysis.pattern.PatternReplaceCharFilterFactory;
+import org.apache.lucene.analysis.standard.StandardTokenizerFactory;
+import org.hibernate.search.backend.lucene.analysis.LuceneAnalysisConfigurationContext;
+import org.hibernate.search.backend.lucene.analysis.LuceneAnalysisConfigurer;
+
+/**
+ * Analyzers of the Lucene search index, named by {@link com.green.firm.domain.SearchAnalyzers} and set by the
+ * {@code hibernate.search.backend.analysis.configurer} property.
+ * <p>
+ * The text is indexed with all the prefixes of its words, so that a partial word typed at the counter matches with a
+ * plain term query; it is searched for as typed, only lower-cased and without accents. The phone numbers are indexed
+ * with all their prefixes too, ignoring everything but the digits.
+ */
+public class SearchAnalysisConfigurer implements LuceneAnalysisConfigurer {
+
+    private static final String MAX_PREFIX_LENGTH = "20";
+
+    @Override
+    public void configure(LuceneAnalysisConfigurationContext context) {
+        context
+            .analyzer(PREFIX)
+            .custom()
+            .tokenizer(StandardTokenizerFactory.class)
+            .tokenFilter(LowerCaseFilterFactory.class)
+            .tokenFilter(ASCIIFoldingFilterFactory.class)
+            .tokenFilter(EdgeNGramFilterFactory.class)
+            .param("minGramSize", "1")
+            .param("maxGramSize", MAX_PREFIX_LENGTH);
+        context
+            .analyzer(PREFIX_SEARCH)
+            .custom()
+            .tokenizer(StandardTokenizerFactory.class)
+            .tokenFilter(LowerCaseFilterFactory.class)
+            .tokenFilter(ASCIIFoldingFilterFactory.class);
+        context
+            .analyzer(PHONE_PREFIX)
+            .custom()
+            .tokenizer(KeywordTokenizerFactory.class)
+            .charFilter(PatternReplaceCharFilterFactory.class)
+            .param("pattern", "[^0-9]")
+            .param("replacement", "")
+            .tokenFilter(EdgeNGramFilterFactory.class)
+            .param("minGramSize", "1")
+            .param("maxGramSize", MAX_PREFIX_LENGTH);
+        context
+            .analyzer(PHONE_SEARCH)
+            .custom()
+            .tokenizer(KeywordTokenizerFactory.class)
+            .charFilter(PatternReplaceCharFilterFactory.class)
+            .param("pattern", "[^0-9]")
+            .param("replacement", "");
+    }
+}
@@ -0,0 +1,52 @@
+package com.green.firm.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.concurrent.ExecutorService;
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Runs the requests on virtual threads, instead of the fixed pool of Tomcat worker threads.
+ * <p>
+ * It is enabled by the "virtual-threads" profile. The {@code @Async} tasks are moved to virtual threads by the
+ * {@link AsyncConfiguration}, while the {@code mailTaskExecutor} keeps its few platform threads on purpose.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.threads", name = "virtual", havingValue = "true")
+public class VirtualThreadConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfiguration.class);
+
+    @Bean(name = "requestExecutor")
+    public ExecutorService requestExecutor() {
+        log.info("Running the requests on virtual threads");
+        return VirtualThreads.newThreadPerTaskExecutor("http-vt-");
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer(ExecutorService requestExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(requestExecutor);
+    }
+
+    /**
+     * Put a {@link ConnectionLimitingDataSource} in front of the primary Hikari pool, with as many permits as the pool has
+     * connections, so that the virtual threads cannot stampede the database. The pool itself is left as it is, for its
+     * metrics and health check. With a replica, the {@link DatabaseConfiguration} limits each pool behind the routing
+     * DataSource instead.
+     */
+    @Bean
+    @Primary
+    @ConditionalOnExpression("'${spring.datasource.replica.jdbc-url:}'.isEmpty()")
+    public ConnectionLimitingDataSource connectionLimitingDataSource(@Qualifier("dataSource") HikariDataSource dataSource) {
+        log.debug("Limiting the DataSource to {} connections at a time", dataSource.getMaximumPoolSize());
+        return ConnectionLimitingDataSource.of(dataSource);
+    }
+}
@@ -0,0 +1,35 @@
+package com.green.firm.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Utility class creating executors running each task on a new virtual thread.
+ * <p>
+ * The application is built for Java 11, so the virtual thread API of Java 21 is looked up by reflection.
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {}
+
+    /**
+     * Create an executor running each task on a new virtual thread.
+     *
+     * @param threadNamePrefix the prefix of the thread names, followed by a counter.
+     * @return the executor.
+     * @throws IllegalStateException if the runtime does not support virtual threads.
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String threadNamePrefix) {
+        try {
+            // Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(threadNamePrefix, 0).factory())
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, threadNamePrefix, 0L);
+            ThreadFactory threadFactory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null, threadFactory);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads require a Java 21 runtime, not Java " + Runtime.version().feature(), e);
+        }
+    }
+}
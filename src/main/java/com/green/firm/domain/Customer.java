@@ -3,12 +3,15 @@ package com.green.firm.domain;
 import java.io.Serializable;
 import javax.persistence.*;
 import javax.validation.constraints.*;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.FullTextField;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.Indexed;
 
 /**
  * A Customer.
  */
 @Entity
 @Table(name = "customer")
+@Indexed
 public class Customer implements Serializable {
 
     private static final long serialVersionUID = 1L;
@@ -18,20 +21,32 @@ public class Customer implements Serializable {
     private Long id;
 
     @NotNull
+    @FullTextField(analyzer = SearchAnalyzers.PREFIX, searchAnalyzer = SearchAnalyzers.PREFIX_SEARCH)
     @Column(name = "name", nullable = false)
     private String name;
 
+    @FullTextField(analyzer = SearchAnalyzers.PREFIX, searchAnalyzer = SearchAnalyzers.PREFIX_SEARCH)
     @Column(name = "email")
     private String email;
 
     @NotNull
+    @FullTextField(analyzer = SearchAnalyzers.PHONE_PREFIX, searchAnalyzer = SearchAnalyzers.PHONE_SEARCH)
     @Column(name = "phone", nullable = false)
     private String phone;
 
     @NotNull
+    @FullTextField(analyzer = SearchAnalyzers.PREFIX, searchAnalyzer = SearchAnalyzers.PREFIX_SEARCH)
     @Column(name = "address", nullable = false)
     private String address;
 
+    /**
+     * Incremented on each update, for optimistic locking and as the entity tag of the REST resource.
+     * It is a primitive so that an entity referenced only by its id is not taken for a new one.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
     public Long getId() {
         return id;
@@ -98,6 +113,19 @@ public class Customer implements Serializable {
         this.address = address;
     }
 
+    public long getVersion() {
+        return this.version;
+    }
+
+    public Customer version(long version) {
+        this.version = version;
+        return this;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -126,6 +154,7 @@ public class Customer implements Serializable {
             ", email='" + getEmail() + "'" +
             ", phone='" + getPhone() + "'" +
             ", address='" + getAddress() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
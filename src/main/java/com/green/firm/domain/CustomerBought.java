@@ -6,6 +6,8 @@ import java.io.Serializable;
 import java.time.ZonedDateTime;
 import javax.persistence.*;
 import javax.validation.constraints.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 /**
  * A CustomerBought.
@@ -16,8 +18,26 @@ public class CustomerBought implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    /**
+     * Largest unit price, in cents, of which the total price of any weight fits in a {@code long}.
+     */
+    public static final long MAX_UNIT_PRICE = Long.MAX_VALUE / -(long) Integer.MIN_VALUE;
+
+    /**
+     * Identifiers are allocated by blocks of 50, so that inserts can be batched by JDBC.
+     * Databases without sequences, like MySQL, use the {@code customer_bought_sequence} table instead.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customerBoughtSequenceGenerator")
+    @GenericGenerator(
+        name = "customerBoughtSequenceGenerator",
+        strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator",
+        parameters = {
+            @Parameter(name = "sequence_name", value = "customer_bought_sequence"),
+            @Parameter(name = "increment_size", value = "50"),
+            @Parameter(name = "optimizer", value = "pooled-lo"),
+        }
+    )
     private Long id;
 
     @NotNull
@@ -25,13 +45,18 @@ public class CustomerBought implements Serializable {
     @Column(name = "weight_type", nullable = false)
     private weightTypes weightType;
 
+    /**
+     * The price of one unit of the weight type, in cents.
+     */
     @NotNull
-    @Column(name = "unit_price", nullable = false)
-    private Double unitPrice;
+    @Column(name = "unit_price_cents", nullable = false)
+    private Long unitPrice;
 
-    @NotNull
-    @Column(name = "total_price", nullable = false)
-    private Double totalPrice;
+    /**
+     * The unit price times the total weight, in cents. It is computed whenever either of them is set.
+     */
+    @Column(name = "total_price_cents", nullable = false)
+    private long totalPrice;
 
     @NotNull
     @Column(name = "delivery_date", nullable = false)
@@ -49,6 +74,13 @@ public class CustomerBought implements Serializable {
     @Column(name = "total_weight", nullable = false)
     private Integer totalWeight;
 
+    /**
+     * The total weight in grams or millilitres, for the database to sum the customerBoughts of all the weight types.
+     * It is computed from the weight type and the total weight whenever the customerBought is written.
+     */
+    @Column(name = "base_quantity", nullable = false)
+    private long baseQuantity;
+
     @ManyToOne(optional = false)
     @NotNull
     private ProductType productType;
@@ -57,6 +89,14 @@ public class CustomerBought implements Serializable {
     @NotNull
     private Customer customer;
 
+    /**
+     * Incremented on each update, for optimistic locking and as the entity tag of the REST resource.
+     * It is a primitive so that an entity referenced only by its id is not taken for a new one.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
     public Long getId() {
         return id;
@@ -84,32 +124,24 @@ public class CustomerBought implements Serializable {
         this.weightType = weightType;
     }
 
-    public Double getUnitPrice() {
+    public Long getUnitPrice() {
         return this.unitPrice;
     }
 
-    public CustomerBought unitPrice(Double unitPrice) {
-        this.unitPrice = unitPrice;
+    public CustomerBought unitPrice(Long unitPrice) {
+        this.setUnitPrice(unitPrice);
         return this;
     }
 
-    public void setUnitPrice(Double unitPrice) {
+    public void setUnitPrice(Long unitPrice) {
         this.unitPrice = unitPrice;
+        updateTotalPrice();
     }
 
-    public Double getTotalPrice() {
+    public long getTotalPrice() {
         return this.totalPrice;
     }
 
-    public CustomerBought totalPrice(Double totalPrice) {
-        this.totalPrice = totalPrice;
-        return this;
-    }
-
-    public void setTotalPrice(Double totalPrice) {
-        this.totalPrice = totalPrice;
-    }
-
     public ZonedDateTime getDeliveryDate() {
         return this.deliveryDate;
     }
@@ -154,12 +186,31 @@ public class CustomerBought implements Serializable {
     }
 
     public CustomerBought totalWeight(Integer totalWeight) {
-        this.totalWeight = totalWeight;
+        this.setTotalWeight(totalWeight);
         return this;
     }
 
     public void setTotalWeight(Integer totalWeight) {
         this.totalWeight = totalWeight;
+        updateTotalPrice();
+    }
+
+    private void updateTotalPrice() {
+        if (unitPrice != null && totalWeight != null) {
+            this.totalPrice = Money.times(unitPrice, totalWeight);
+        }
+    }
+
+    public long getBaseQuantity() {
+        return this.baseQuantity;
+    }
+
+    @PrePersist
+    @PreUpdate
+    private void updateBaseQuantity() {
+        if (weightType != null && totalWeight != null) {
+            this.baseQuantity = weightType.toBaseQuantity(totalWeight);
+        }
     }
 
     public ProductType getProductType() {
@@ -188,6 +239,19 @@ public class CustomerBought implements Serializable {
         this.customer = customer;
     }
 
+    public long getVersion() {
+        return this.version;
+    }
+
+    public CustomerBought version(long version) {
+        this.version = version;
+        return this;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -219,6 +283,8 @@ public class CustomerBought implements Serializable {
             ", remarks='" + getRemarks() + "'" +
             ", status='" + getStatus() + "'" +
             ", totalWeight=" + getTotalWeight() +
+            ", baseQuantity=" + getBaseQuantity() +
+            ", version=" + getVersion() +
             "}";
     }
 }
@@ -0,0 +1,172 @@
+package com.green.firm.domain;
+
+import java.io.Serializable;
+import java.time.ZonedDateTime;
+import javax.persistence.*;
+import javax.validation.constraints.*;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * A CustomerLedger: the totals of what a customer bought.
+ * <p>
+ * It is maintained by the {@link com.green.firm.service.CustomerLedgerService} each time a {@link CustomerBought}
+ * is saved or deleted, so that it can be read without summing the customer's history.
+ * <p>
+ * Its identifier is the one of its customer: it is {@link Persistable}, so that saving a new ledger inserts it
+ * without selecting it first.
+ */
+@Entity
+@Table(name = "customer_ledger")
+public class CustomerLedger implements Serializable, Persistable<Long> {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "customer_id")
+    private Long customerId;
+
+    @Column(name = "total_due_cents", nullable = false)
+    private long totalDueCents;
+
+    @Column(name = "total_paid_cents", nullable = false)
+    private long totalPaidCents;
+
+    @NotNull
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount = 0L;
+
+    @Column(name = "last_delivery_date")
+    private ZonedDateTime lastDeliveryDate;
+
+    @Transient
+    private boolean isPersisted;
+
+    public CustomerLedger() {}
+
+    /**
+     * Constructor used by the JPQL constructor expressions computing the ledger from the customerBoughts.
+     */
+    public CustomerLedger(Long customerId, Long totalDueCents, Long totalPaidCents, Long orderCount, ZonedDateTime lastDeliveryDate) {
+        this.customerId = customerId;
+        this.totalDueCents = totalDueCents == null ? 0L : totalDueCents;
+        this.totalPaidCents = totalPaidCents == null ? 0L : totalPaidCents;
+        this.orderCount = orderCount == null ? 0L : orderCount;
+        this.lastDeliveryDate = lastDeliveryDate;
+    }
+
+    public Long getCustomerId() {
+        return this.customerId;
+    }
+
+    public CustomerLedger customerId(Long customerId) {
+        this.customerId = customerId;
+        return this;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    /**
+     * @return the sum of the due customerBoughts total prices, in cents.
+     */
+    public long getTotalDueCents() {
+        return this.totalDueCents;
+    }
+
+    public CustomerLedger totalDueCents(long totalDueCents) {
+        this.totalDueCents = totalDueCents;
+        return this;
+    }
+
+    public void setTotalDueCents(long totalDueCents) {
+        this.totalDueCents = totalDueCents;
+    }
+
+    /**
+     * @return the sum of the paid customerBoughts total prices, in cents.
+     */
+    public long getTotalPaidCents() {
+        return this.totalPaidCents;
+    }
+
+    public CustomerLedger totalPaidCents(long totalPaidCents) {
+        this.totalPaidCents = totalPaidCents;
+        return this;
+    }
+
+    public void setTotalPaidCents(long totalPaidCents) {
+        this.totalPaidCents = totalPaidCents;
+    }
+
+    public Long getOrderCount() {
+        return this.orderCount;
+    }
+
+    public CustomerLedger orderCount(Long orderCount) {
+        this.orderCount = orderCount;
+        return this;
+    }
+
+    public void setOrderCount(Long orderCount) {
+        this.orderCount = orderCount;
+    }
+
+    public ZonedDateTime getLastDeliveryDate() {
+        return this.lastDeliveryDate;
+    }
+
+    public CustomerLedger lastDeliveryDate(ZonedDateTime lastDeliveryDate) {
+        this.lastDeliveryDate = lastDeliveryDate;
+        return this;
+    }
+
+    public void setLastDeliveryDate(ZonedDateTime lastDeliveryDate) {
+        this.lastDeliveryDate = lastDeliveryDate;
+    }
+
+    @Override
+    public Long getId() {
+        return this.customerId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !this.isPersisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    public void updateEntityState() {
+        this.isPersisted = true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CustomerLedger)) {
+            return false;
+        }
+        return customerId != null && customerId.equals(((CustomerLedger) o).customerId);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CustomerLedger{" +
+            "customerId=" + getCustomerId() +
+            ", totalDueCents=" + getTotalDueCents() +
+            ", totalPaidCents=" + getTotalPaidCents() +
+            ", orderCount=" + getOrderCount() +
+            ", lastDeliveryDate='" + getLastDeliveryDate() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,47 @@
+package com.green.firm.domain;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Conversions of the amounts of money, which the entities hold as a {@code long} number of cents.
+ * <p>
+ * The cents are summed exactly, by the database as by the application, and without boxing; the amounts are only
+ * converted to {@link BigDecimal} at the edges, in the DTOs of the REST API.
+ */
+public final class Money {
+
+    /**
+     * Number of decimal places of the amounts.
+     */
+    public static final int SCALE = 2;
+
+    private Money() {}
+
+    /**
+     * @param amount an amount.
+     * @return the amount in cents, rounded half up.
+     * @throws ArithmeticException if it overflows a {@code long}.
+     */
+    public static long toCents(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * @param cents an amount in cents.
+     * @return the amount, with two decimal places.
+     */
+    public static BigDecimal toAmount(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    /**
+     * @param cents a price in cents.
+     * @param quantity a quantity.
+     * @return the price of the quantity, in cents.
+     * @throws ArithmeticException if it overflows a {@code long}.
+     */
+    public static long times(long cents, long quantity) {
+        return Math.multiplyExact(cents, quantity);
+    }
+}
@@ -0,0 +1,279 @@
+package com.green.firm.domain;
+
+import com.green.firm.domain.enumeration.OutboxStatus;
+import java.io.Serializable;
+import java.time.Instant;
+import javax.persistence.*;
+import javax.validation.constraints.*;
+import org.hibernate.annotations.Type;
+
+/**
+ * An OutboxMessage: an email queued by the {@link com.green.firm.service.MailService}, in the transaction
+ * of its caller, until the {@link com.green.firm.service.MailOutboxDispatcher} delivers it.
+ */
+@Entity
+@Table(name = "mail_outbox")
+public class OutboxMessage implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Size(max = 254)
+    @Column(name = "recipient", length = 254, nullable = false)
+    private String recipient;
+
+    @NotNull
+    @Size(max = 1000)
+    @Column(name = "subject", length = 1000, nullable = false)
+    private String subject;
+
+    @Lob
+    @Type(type = "org.hibernate.type.TextType")
+    @Column(name = "content", nullable = false)
+    private String content;
+
+    @Column(name = "multipart", nullable = false)
+    private boolean multipart;
+
+    @Column(name = "html", nullable = false)
+    private boolean html;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 16, nullable = false)
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    /**
+     * Number of times the message was handed to a worker, including the current one.
+     */
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    /**
+     * When the message is due: the time of its next retry, or the end of the lease of the worker sending it.
+     */
+    @NotNull
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    /**
+     * Identifies the batch of the worker which claimed the message last.
+     */
+    @Column(name = "claim_token", length = 36)
+    private String claimToken;
+
+    @Size(max = 1000)
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @NotNull
+    @Column(name = "created_date", nullable = false)
+    private Instant createdDate;
+
+    @Column(name = "sent_date")
+    private Instant sentDate;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public OutboxMessage id(Long id) {
+        this.id = id;
+        return this;
+    }
+
+    public String getRecipient() {
+        return this.recipient;
+    }
+
+    public OutboxMessage recipient(String recipient) {
+        this.recipient = recipient;
+        return this;
+    }
+
+    public void setRecipient(String recipient) {
+        this.recipient = recipient;
+    }
+
+    public String getSubject() {
+        return this.subject;
+    }
+
+    public OutboxMessage subject(String subject) {
+        this.subject = subject;
+        return this;
+    }
+
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+
+    public String getContent() {
+        return this.content;
+    }
+
+    public OutboxMessage content(String content) {
+        this.content = content;
+        return this;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public boolean isMultipart() {
+        return this.multipart;
+    }
+
+    public OutboxMessage multipart(boolean multipart) {
+        this.multipart = multipart;
+        return this;
+    }
+
+    public void setMultipart(boolean multipart) {
+        this.multipart = multipart;
+    }
+
+    public boolean isHtml() {
+        return this.html;
+    }
+
+    public OutboxMessage html(boolean html) {
+        this.html = html;
+        return this;
+    }
+
+    public void setHtml(boolean html) {
+        this.html = html;
+    }
+
+    public OutboxStatus getStatus() {
+        return this.status;
+    }
+
+    public OutboxMessage status(OutboxStatus status) {
+        this.status = status;
+        return this;
+    }
+
+    public void setStatus(OutboxStatus status) {
+        this.status = status;
+    }
+
+    public int getAttempts() {
+        return this.attempts;
+    }
+
+    public OutboxMessage attempts(int attempts) {
+        this.attempts = attempts;
+        return this;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public Instant getNextAttemptAt() {
+        return this.nextAttemptAt;
+    }
+
+    public OutboxMessage nextAttemptAt(Instant nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+        return this;
+    }
+
+    public void setNextAttemptAt(Instant nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public String getClaimToken() {
+        return this.claimToken;
+    }
+
+    public OutboxMessage claimToken(String claimToken) {
+        this.claimToken = claimToken;
+        return this;
+    }
+
+    public void setClaimToken(String claimToken) {
+        this.claimToken = claimToken;
+    }
+
+    public String getLastError() {
+        return this.lastError;
+    }
+
+    public OutboxMessage lastError(String lastError) {
+        this.lastError = lastError;
+        return this;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public Instant getCreatedDate() {
+        return this.createdDate;
+    }
+
+    public OutboxMessage createdDate(Instant createdDate) {
+        this.createdDate = createdDate;
+        return this;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public Instant getSentDate() {
+        return this.sentDate;
+    }
+
+    public OutboxMessage sentDate(Instant sentDate) {
+        this.sentDate = sentDate;
+        return this;
+    }
+
+    public void setSentDate(Instant sentDate) {
+        this.sentDate = sentDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OutboxMessage)) {
+            return false;
+        }
+        return id != null && id.equals(((OutboxMessage) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OutboxMessage{" +
+            "id=" + getId() +
+            ", recipient='" + getRecipient() + "'" +
+            ", subject='" + getSubject() + "'" +
+            ", status='" + getStatus() + "'" +
+            ", attempts=" + getAttempts() +
+            ", nextAttemptAt='" + getNextAttemptAt() + "'" +
+            ", lastError='" + getLastError() + "'" +
+            "}";
+    }
+}
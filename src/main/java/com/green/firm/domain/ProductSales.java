@@ -0,0 +1,187 @@
+package com.green.firm.domain;
+
+import com.green.firm.domain.enumeration.weightTypes;
+import java.io.Serializable;
+import java.time.LocalDate;
+import javax.persistence.*;
+import javax.validation.constraints.*;
+
+/**
+ * A ProductSales: the totals sold of a product type in a weight type, on a day (UTC).
+ * <p>
+ * It is rolled up from the {@link CustomerBought} by the {@link com.green.firm.service.ProductSalesService},
+ * so that the sales of a product type can be charted without grouping its whole history.
+ */
+@Entity
+@Table(name = "product_sales")
+public class ProductSales implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Column(name = "product_type_id", nullable = false)
+    private Long productTypeId;
+
+    @NotNull
+    @Column(name = "sales_date", nullable = false)
+    private LocalDate salesDate;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "weight_type", nullable = false)
+    private weightTypes weightType;
+
+    @NotNull
+    @Column(name = "total_weight", nullable = false)
+    private Long totalWeight = 0L;
+
+    /**
+     * The sum of the customerBoughts total prices, in cents.
+     */
+    @Column(name = "revenue_cents", nullable = false)
+    private long revenue;
+
+    @NotNull
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount = 0L;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public ProductSales id(Long id) {
+        this.id = id;
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getProductTypeId() {
+        return this.productTypeId;
+    }
+
+    public ProductSales productTypeId(Long productTypeId) {
+        this.productTypeId = productTypeId;
+        return this;
+    }
+
+    public void setProductTypeId(Long productTypeId) {
+        this.productTypeId = productTypeId;
+    }
+
+    public LocalDate getSalesDate() {
+        return this.salesDate;
+    }
+
+    public ProductSales salesDate(LocalDate salesDate) {
+        this.salesDate = salesDate;
+        return this;
+    }
+
+    public void setSalesDate(LocalDate salesDate) {
+        this.salesDate = salesDate;
+    }
+
+    public weightTypes getWeightType() {
+        return this.weightType;
+    }
+
+    public ProductSales weightType(weightTypes weightType) {
+        this.weightType = weightType;
+        return this;
+    }
+
+    public void setWeightType(weightTypes weightType) {
+        this.weightType = weightType;
+    }
+
+    public Long getTotalWeight() {
+        return this.totalWeight;
+    }
+
+    public ProductSales totalWeight(Long totalWeight) {
+        this.totalWeight = totalWeight;
+        return this;
+    }
+
+    public void setTotalWeight(Long totalWeight) {
+        this.totalWeight = totalWeight;
+    }
+
+    public long getRevenue() {
+        return this.revenue;
+    }
+
+    public ProductSales revenue(long revenue) {
+        this.revenue = revenue;
+        return this;
+    }
+
+    public void setRevenue(long revenue) {
+        this.revenue = revenue;
+    }
+
+    public Long getOrderCount() {
+        return this.orderCount;
+    }
+
+    public ProductSales orderCount(Long orderCount) {
+        this.orderCount = orderCount;
+        return this;
+    }
+
+    public void setOrderCount(Long orderCount) {
+        this.orderCount = orderCount;
+    }
+
+    /**
+     * Add a customerBought to the totals.
+     *
+     * @param totalWeight the weight it sold.
+     * @param totalPrice the price it sold at, in cents.
+     * @return this.
+     */
+    public ProductSales add(long totalWeight, long totalPrice) {
+        this.totalWeight += totalWeight;
+        this.revenue += totalPrice;
+        this.orderCount++;
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ProductSales)) {
+            return false;
+        }
+        return id != null && id.equals(((ProductSales) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ProductSales{" +
+            "id=" + getId() +
+            ", productTypeId=" + getProductTypeId() +
+            ", salesDate='" + getSalesDate() + "'" +
+            ", weightType='" + getWeightType() + "'" +
+            ", totalWeight=" + getTotalWeight() +
+            ", revenue=" + getRevenue() +
+            ", orderCount=" + getOrderCount() +
+            "}";
+    }
+}
@@ -3,12 +3,15 @@ package com.green.firm.domain;
 import java.io.Serializable;
 import javax.persistence.*;
 import javax.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * A ProductType.
  */
 @Entity
 @Table(name = "product_type")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class ProductType implements Serializable {
 
     private static final long serialVersionUID = 1L;
@@ -21,6 +24,14 @@ public class ProductType implements Serializable {
     @Column(name = "name", nullable = false)
     private String name;
 
+    /**
+     * Incremented on each update, for optimistic locking and as the entity tag of the REST resource.
+     * It is a primitive so that an entity referenced only by its id is not taken for a new one.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
     public Long getId() {
         return id;
@@ -48,6 +59,19 @@ public class ProductType implements Serializable {
         this.name = name;
     }
 
+    public long getVersion() {
+        return this.version;
+    }
+
+    public ProductType version(long version) {
+        this.version = version;
+        return this;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -73,6 +97,7 @@ public class ProductType implements Serializable {
         return "ProductType{" +
             "id=" + getId() +
             ", name='" + getName() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
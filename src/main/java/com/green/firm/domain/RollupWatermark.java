@@ -0,0 +1,74 @@
+package com.green.firm.domain;
+
+import java.io.Serializable;
+import javax.persistence.*;
+import javax.validation.constraints.*;
+
+/**
+ * A RollupWatermark: the id of the last row a scheduled job rolled up, so that the next run starts after it.
+ */
+@Entity
+@Table(name = "rollup_watermark")
+public class RollupWatermark implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "name", length = 64)
+    private String name;
+
+    @NotNull
+    @Column(name = "last_id", nullable = false)
+    private Long lastId;
+
+    public String getName() {
+        return this.name;
+    }
+
+    public RollupWatermark name(String name) {
+        this.name = name;
+        return this;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Long getLastId() {
+        return this.lastId;
+    }
+
+    public RollupWatermark lastId(Long lastId) {
+        this.lastId = lastId;
+        return this;
+    }
+
+    public void setLastId(Long lastId) {
+        this.lastId = lastId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RollupWatermark)) {
+            return false;
+        }
+        return name != null && name.equals(((RollupWatermark) o).name);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "RollupWatermark{" +
+            "name='" + getName() + "'" +
+            ", lastId=" + getLastId() +
+            "}";
+    }
+}
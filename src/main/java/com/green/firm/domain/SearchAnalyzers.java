@@ -0,0 +1,31 @@
+package com.green.firm.domain;
+
+/**
+ * Names of the analyzers of the search index used by the {@code @FullTextField}s of the entities.
+ * <p>
+ * They are defined by the {@code SearchAnalysisConfigurer} of the configuration.
+ */
+public final class SearchAnalyzers {
+
+    /**
+     * Indexes all the prefixes of the words, lower-cased and without accents.
+     */
+    public static final String PREFIX = "prefix";
+
+    /**
+     * Searches for the words as typed, lower-cased and without accents.
+     */
+    public static final String PREFIX_SEARCH = "prefix_search";
+
+    /**
+     * Indexes all the prefixes of the digits of a phone number.
+     */
+    public static final String PHONE_PREFIX = "phone_prefix";
+
+    /**
+     * Searches for the digits of a phone number.
+     */
+    public static final String PHONE_SEARCH = "phone_search";
+
+    private SearchAnalyzers() {}
+}
@@ -0,0 +1,10 @@
+package com.green.firm.domain.enumeration;
+
+/**
+ * The OutboxStatus enumeration: the delivery state of an {@link com.green.firm.domain.OutboxMessage}.
+ */
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    FAILED,
+}
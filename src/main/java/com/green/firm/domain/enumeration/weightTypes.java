@@ -2,9 +2,55 @@ package com.green.firm.domain.enumeration;
 
 /**
  * The weightTypes enumeration.
+ * <p>
+ * Each weight type is a unit of mass or of volume, a whole number of the base unit of its dimension: the gram or the
+ * millilitre. The quantities are converted to base units to be compared and summed across weight types.
  */
 public enum weightTypes {
-    LITTRE,
-    KG,
-    GRAM,
+    LITTRE(Dimension.VOLUME, 1000),
+    KG(Dimension.MASS, 1000),
+    GRAM(Dimension.MASS, 1);
+
+    /**
+     * The dimensions of the weight types, with their base unit.
+     */
+    public enum Dimension {
+        /**
+         * Measured in grams.
+         */
+        MASS,
+        /**
+         * Measured in millilitres.
+         */
+        VOLUME,
+    }
+
+    private final Dimension dimension;
+
+    private final long baseUnits;
+
+    weightTypes(Dimension dimension, long baseUnits) {
+        this.dimension = dimension;
+        this.baseUnits = baseUnits;
+    }
+
+    public Dimension getDimension() {
+        return dimension;
+    }
+
+    /**
+     * @return the number of base units, grams or millilitres, in one unit of this weight type.
+     */
+    public long getBaseUnits() {
+        return baseUnits;
+    }
+
+    /**
+     * @param quantity a quantity in this weight type.
+     * @return the quantity in grams or millilitres.
+     * @throws ArithmeticException if it overflows a {@code long}.
+     */
+    public long toBaseQuantity(long quantity) {
+        return Math.multiplyExact(quantity, baseUnits);
+    }
 }
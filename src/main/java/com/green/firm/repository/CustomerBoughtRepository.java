@@ -1,12 +1,132 @@
 package com.green.firm.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
 import com.green.firm.domain.CustomerBought;
+import com.green.firm.domain.CustomerLedger;
+import com.green.firm.domain.enumeration.paymentStatus;
+import com.green.firm.domain.enumeration.weightTypes;
+import com.green.firm.service.dto.CustomerBalanceDTO;
+import com.green.firm.service.dto.WeightTypeTotalDTO;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
  * Spring Data SQL repository for the CustomerBought entity.
+ * <p>
+ * {@link #findOneWithEagerRelationships(Long)} fetches the customer and the product type in the same statement.
+ * The listings are projected by the {@code CustomerBoughtQueryService} instead, without loading any entity.
  */
 @SuppressWarnings("unused")
 @Repository
-public interface CustomerBoughtRepository extends JpaRepository<CustomerBought, Long> {}
+public interface CustomerBoughtRepository extends JpaRepository<CustomerBought, Long>, JpaSpecificationExecutor<CustomerBought> {
+    @Query(
+        "select customerBought from CustomerBought customerBought join fetch customerBought.customer join fetch customerBought.productType where customerBought.id = :id"
+    )
+    Optional<CustomerBought> findOneWithEagerRelationships(@Param("id") Long id);
+
+    /**
+     * The version of a customerBought, with the versions of the product type and the customer whose names it is served with.
+     */
+    @Query(
+        "select customerBought.version as version, productType.version as productTypeVersion, customer.version as customerVersion" +
+        " from CustomerBought customerBought join customerBought.productType productType join customerBought.customer customer" +
+        " where customerBought.id = :id"
+    )
+    Optional<CustomerBoughtVersion> findVersionById(@Param("id") Long id);
+
+    /**
+     * Totals by customer of the customerBoughts with the given status, the customers who owe the most first.
+     */
+    @Query(
+        value = "select new com.green.firm.service.dto.CustomerBalanceDTO(customer.id, customer.name, count(customerBought), sum(customerBought.totalPrice))" +
+        " from CustomerBought customerBought join customerBought.customer customer where customerBought.status = :status" +
+        " group by customer.id, customer.name order by sum(customerBought.totalPrice) desc, customer.id",
+        countQuery = "select count(distinct customerBought.customer.id) from CustomerBought customerBought where customerBought.status = :status"
+    )
+    Page<CustomerBalanceDTO> findCustomerBalances(@Param("status") paymentStatus status, Pageable pageable);
+
+    /**
+     * Totals by customer and weight type of the customerBoughts of the given customers with the given status.
+     */
+    @Query(
+        "select new com.green.firm.service.dto.WeightTypeTotalDTO(customerBought.customer.id, customerBought.weightType, count(customerBought)," +
+        " sum(customerBought.totalPrice), sum(customerBought.totalWeight), sum(customerBought.baseQuantity))" +
+        " from CustomerBought customerBought where customerBought.status = :status and customerBought.customer.id in :customerIds" +
+        " group by customerBought.customer.id, customerBought.weightType"
+    )
+    List<WeightTypeTotalDTO> findWeightTypeTotals(@Param("status") paymentStatus status, @Param("customerIds") Collection<Long> customerIds);
+
+    /**
+     * The ledgers of the given customers, computed from their whole history. Customers without customerBoughts are omitted.
+     */
+    @Query(
+        "select new com.green.firm.domain.CustomerLedger(customerBought.customer.id," +
+        " sum(case when customerBought.status = com.green.firm.domain.enumeration.paymentStatus.DUE then customerBought.totalPrice else 0L end)," +
+        " sum(case when customerBought.status = com.green.firm.domain.enumeration.paymentStatus.PAID then customerBought.totalPrice else 0L end)," +
+        " count(customerBought), max(customerBought.deliveryDate))" +
+        " from CustomerBought customerBought where customerBought.customer.id in :customerIds group by customerBought.customer.id"
+    )
+    List<CustomerLedger> computeLedgers(@Param("customerIds") Collection<Long> customerIds);
+
+    @Query("select max(customerBought.deliveryDate) from CustomerBought customerBought where customerBought.customer.id = :customerId")
+    ZonedDateTime findLastDeliveryDate(@Param("customerId") Long customerId);
+
+    /**
+     * Keyset pagination over the sales of the customerBoughts, to roll them up.
+     */
+    @Query(
+        "select customerBought.id as id, customerBought.productType.id as productTypeId, customerBought.deliveryDate as deliveryDate," +
+        " customerBought.weightType as weightType, customerBought.totalWeight as totalWeight, customerBought.totalPrice as totalPrice" +
+        " from CustomerBought customerBought where customerBought.id > :id order by customerBought.id"
+    )
+    List<CustomerBoughtSale> findSalesAfter(@Param("id") Long id, Pageable pageable);
+
+    /**
+     * The sales of the customerBoughts of a product type up to a given id, read as they are consumed, to roll them up again.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query(
+        "select customerBought.id as id, customerBought.productType.id as productTypeId, customerBought.deliveryDate as deliveryDate," +
+        " customerBought.weightType as weightType, customerBought.totalWeight as totalWeight, customerBought.totalPrice as totalPrice" +
+        " from CustomerBought customerBought where customerBought.productType.id = :productTypeId and customerBought.id <= :lastId"
+    )
+    Stream<CustomerBoughtSale> streamSales(@Param("productTypeId") Long productTypeId, @Param("lastId") Long lastId);
+
+    /**
+     * Projection of {@link #findVersionById(Long)}.
+     */
+    interface CustomerBoughtVersion {
+        long getVersion();
+
+        long getProductTypeVersion();
+
+        long getCustomerVersion();
+    }
+
+    /**
+     * Projection of {@link #findSalesAfter(Long, Pageable)} and {@link #streamSales(Long, Long)}.
+     */
+    interface CustomerBoughtSale {
+        Long getId();
+
+        Long getProductTypeId();
+
+        ZonedDateTime getDeliveryDate();
+
+        weightTypes getWeightType();
+
+        Integer getTotalWeight();
+
+        Long getTotalPrice();
+    }
+}
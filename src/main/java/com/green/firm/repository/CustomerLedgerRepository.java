@@ -0,0 +1,47 @@
+package com.green.firm.repository;
+
+import com.green.firm.domain.CustomerLedger;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import javax.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data SQL repository for the CustomerLedger entity.
+ * <p>
+ * The ledgers are updated in place by single statements, so that concurrent changes to the customerBoughts of
+ * a customer are serialized by the database row lock instead of overwriting each other. The persistence context
+ * is flushed before and cleared after each of these updates, so that no stale ledger can be read or written back.
+ */
+@Repository
+public interface CustomerLedgerRepository extends JpaRepository<CustomerLedger, Long> {
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+        "update CustomerLedger ledger set ledger.totalDueCents = ledger.totalDueCents + :due," +
+        " ledger.totalPaidCents = ledger.totalPaidCents + :paid," +
+        " ledger.orderCount = ledger.orderCount + :count where ledger.customerId = :customerId"
+    )
+    int applyDelta(@Param("customerId") Long customerId, @Param("due") long due, @Param("paid") long paid, @Param("count") long count);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+        "update CustomerLedger ledger set ledger.lastDeliveryDate = :deliveryDate where ledger.customerId = :customerId" +
+        " and (ledger.lastDeliveryDate is null or ledger.lastDeliveryDate < :deliveryDate)"
+    )
+    int advanceLastDeliveryDate(@Param("customerId") Long customerId, @Param("deliveryDate") ZonedDateTime deliveryDate);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update CustomerLedger ledger set ledger.lastDeliveryDate = :deliveryDate where ledger.customerId = :customerId")
+    int setLastDeliveryDate(@Param("customerId") Long customerId, @Param("deliveryDate") ZonedDateTime deliveryDate);
+
+    Page<CustomerLedger> findAllByOrderCountGreaterThan(Long orderCount, Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select ledger from CustomerLedger ledger where ledger.customerId in :customerIds")
+    List<CustomerLedger> findAllForUpdate(@Param("customerIds") Collection<Long> customerIds);
+}
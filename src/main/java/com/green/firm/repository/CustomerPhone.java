@@ -0,0 +1,10 @@
+package com.green.firm.repository;
+
+/**
+ * Projection of a customer on its identifier and phone number, to index the phone numbers without loading the customers.
+ */
+public interface CustomerPhone {
+    Long getId();
+
+    String getPhone();
+}
@@ -1,7 +1,16 @@
 package com.green.firm.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
 import com.green.firm.domain.Customer;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +18,25 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface CustomerRepository extends JpaRepository<Customer, Long> {}
+public interface CustomerRepository extends JpaRepository<Customer, Long> {
+    /**
+     * Keyset pagination over the customer ids, for the batch jobs.
+     */
+    @Query("select customer.id from Customer customer where customer.id > :id order by customer.id")
+    List<Long> findIdsAfter(@Param("id") Long id, Pageable pageable);
+
+    /**
+     * The versions of a page of customers, to compute the entity tag of the page without loading them.
+     */
+    Page<EntityVersion> findVersionsBy(Pageable pageable);
+
+    @Query("select customer.version from Customer customer where customer.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * The phone numbers of all the customers, read as they are consumed, to build the in-memory phone index.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("select customer.id as id, customer.phone as phone from Customer customer")
+    Stream<CustomerPhone> streamPhonesBy();
+}
@@ -0,0 +1,10 @@
+package com.green.firm.repository;
+
+/**
+ * Projection of a versioned entity on its identifier and version, enough to tell whether it changed.
+ */
+public interface EntityVersion {
+    Long getId();
+
+    long getVersion();
+}
@@ -0,0 +1,59 @@
+package com.green.firm.repository;
+
+import com.green.firm.domain.OutboxMessage;
+import com.green.firm.domain.enumeration.OutboxStatus;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data SQL repository for the OutboxMessage entity.
+ * <p>
+ * A worker claims a batch of due messages by stamping them with its own token, in a single update which only
+ * matches the messages still due: two workers, or two instances of the application, never claim the same message.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+    @Query(
+        "select message.id from OutboxMessage message where message.status = :status and message.nextAttemptAt <= :now" +
+        " order by message.nextAttemptAt, message.id"
+    )
+    List<Long> findDueIds(@Param("status") OutboxStatus status, @Param("now") Instant now, Pageable pageable);
+
+    /**
+     * Claim the given messages if they are still due, postponing them until the end of the lease.
+     *
+     * @return the number of messages claimed.
+     */
+    @Modifying
+    @Query(
+        "update OutboxMessage message set message.claimToken = :claimToken, message.nextAttemptAt = :leaseEnd," +
+        " message.attempts = message.attempts + 1" +
+        " where message.id in :ids and message.status = :status and message.nextAttemptAt <= :now"
+    )
+    int claim(
+        @Param("ids") Collection<Long> ids,
+        @Param("status") OutboxStatus status,
+        @Param("now") Instant now,
+        @Param("claimToken") String claimToken,
+        @Param("leaseEnd") Instant leaseEnd
+    );
+
+    List<OutboxMessage> findByClaimToken(String claimToken);
+
+    @Modifying
+    @Query(
+        "update OutboxMessage message set message.status = :status, message.sentDate = :sentDate, message.lastError = null" +
+        " where message.id in :ids"
+    )
+    int markSent(@Param("ids") Collection<Long> ids, @Param("status") OutboxStatus status, @Param("sentDate") Instant sentDate);
+
+    @Modifying
+    @Query("delete from OutboxMessage message where message.status = :status and message.sentDate < :before")
+    int deleteSentBefore(@Param("status") OutboxStatus status, @Param("before") Instant before);
+}
@@ -0,0 +1,45 @@
+package com.green.firm.repository;
+
+import com.green.firm.domain.ProductSales;
+import com.green.firm.domain.enumeration.weightTypes;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data SQL repository for the ProductSales entity.
+ * <p>
+ * The totals are incremented in place by single statements, like the ledgers of the {@link CustomerLedgerRepository}.
+ */
+@Repository
+public interface ProductSalesRepository extends JpaRepository<ProductSales, Long> {
+    @Modifying(flushAutomatically = true)
+    @Query(
+        "update ProductSales sales set sales.totalWeight = sales.totalWeight + :totalWeight, sales.revenue = sales.revenue + :revenue," +
+        " sales.orderCount = sales.orderCount + :orderCount" +
+        " where sales.productTypeId = :productTypeId and sales.salesDate = :salesDate and sales.weightType = :weightType"
+    )
+    int applyDelta(
+        @Param("productTypeId") Long productTypeId,
+        @Param("salesDate") LocalDate salesDate,
+        @Param("weightType") weightTypes weightType,
+        @Param("totalWeight") long totalWeight,
+        @Param("revenue") long revenue,
+        @Param("orderCount") long orderCount
+    );
+
+    /**
+     * The daily sales of a product type, from a day included to a day excluded.
+     */
+    @Query(
+        "select sales from ProductSales sales where sales.productTypeId = :productTypeId" +
+        " and sales.salesDate >= :from and sales.salesDate < :to order by sales.salesDate"
+    )
+    List<ProductSales> findDailySales(@Param("productTypeId") Long productTypeId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from ProductSales sales where sales.productTypeId = :productTypeId")
+    int deleteByProductTypeId(@Param("productTypeId") Long productTypeId);
+}
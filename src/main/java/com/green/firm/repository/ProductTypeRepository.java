@@ -1,7 +1,11 @@
 package com.green.firm.repository;
 
 import com.green.firm.domain.ProductType;
+import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +13,12 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface ProductTypeRepository extends JpaRepository<ProductType, Long> {}
+public interface ProductTypeRepository extends JpaRepository<ProductType, Long> {
+    /**
+     * The versions of a page of productTypes, to compute the entity tag of the page without loading them.
+     */
+    Page<EntityVersion> findVersionsBy(Pageable pageable);
+
+    @Query("select productType.version from ProductType productType where productType.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+}
@@ -0,0 +1,21 @@
+package com.green.firm.repository;
+
+import com.green.firm.domain.RollupWatermark;
+import java.util.Optional;
+import javax.persistence.LockModeType;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data SQL repository for the RollupWatermark entity.
+ */
+@Repository
+public interface RollupWatermarkRepository extends JpaRepository<RollupWatermark, String> {
+    /**
+     * Lock a watermark until the end of the transaction, so that a single job rolls up the rows after it at a time.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select watermark from RollupWatermark watermark where watermark.name = :name")
+    Optional<RollupWatermark> findForUpdate(@Param("name") String name);
+}
@@ -35,8 +35,9 @@ public class DomainUserDetailsService implements UserDetailsService {
         log.debug("Authenticating {}", login);
 
         if (new EmailValidator().isValid(login, null)) {
+            // Emails are stored in lower case, using the same case for the lookup keeps a single cache entry per user
             return userRepository
-                .findOneWithAuthoritiesByEmailIgnoreCase(login)
+                .findOneWithAuthoritiesByEmailIgnoreCase(login.toLowerCase(Locale.ENGLISH))
                 .map(user -> createSpringSecurityUser(login, user))
                 .orElseThrow(() -> new UsernameNotFoundException("User with email " + login + " was not found in the database"));
         }
@@ -1,11 +1,20 @@
 package com.green.firm.security.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,13 +27,25 @@ import org.springframework.stereotype.Component;
 import org.springframework.util.ObjectUtils;
 import tech.jhipster.config.JHipsterProperties;
 
+/**
+ * Creates and verifies JWT tokens.
+ * <p>
+ * As clients send the same token on every request, the {@link Authentication} built from a verified token is kept
+ * in a bounded cache, keyed by the SHA-256 hash of the token, until the token expires. A cached token is therefore
+ * parsed and verified only once. The cache statistics are exported as {@code cache.*} metrics,
+ * with the {@value #AUTHENTICATION_CACHE_NAME} cache name.
+ */
 @Component
-public class TokenProvider {
+public class TokenProvider implements MeterBinder {
 
     private final Logger log = LoggerFactory.getLogger(TokenProvider.class);
 
     private static final String AUTHORITIES_KEY = "auth";
 
+    private static final String AUTHENTICATION_CACHE_NAME = "jwtAuthentication";
+
+    private static final long AUTHENTICATION_CACHE_MAXIMUM_SIZE = 10_000;
+
     private final Key key;
 
     private final JwtParser jwtParser;
@@ -33,6 +54,13 @@ public class TokenProvider {
 
     private final long tokenValidityInMillisecondsForRememberMe;
 
+    private final Cache<String, CachedAuthentication> authenticationCache = Caffeine
+        .newBuilder()
+        .maximumSize(AUTHENTICATION_CACHE_MAXIMUM_SIZE)
+        .expireAfter(new CachedAuthenticationExpiry())
+        .recordStats()
+        .build();
+
     public TokenProvider(JHipsterProperties jHipsterProperties) {
         byte[] keyBytes;
         String secret = jHipsterProperties.getSecurity().getAuthentication().getJwt().getBase64Secret();
@@ -76,7 +104,39 @@ public class TokenProvider {
 
     public Authentication getAuthentication(String token) {
         Claims claims = jwtParser.parseClaimsJws(token).getBody();
+        return createAuthentication(claims, token);
+    }
+
+    /**
+     * Verifies the token and returns the corresponding {@link Authentication}, parsing the token only once.
+     * <p>
+     * This is equivalent to {@link #validateToken(String)} followed by {@link #getAuthentication(String)},
+     * except that tokens already verified are served from the cache.
+     *
+     * @param token the JWT token.
+     * @return the authentication, or an empty {@link Optional} if the token is not valid.
+     */
+    public Optional<Authentication> resolveAuthentication(String token) {
+        String cacheKey = hash(token);
+        CachedAuthentication cachedAuthentication = authenticationCache.getIfPresent(cacheKey);
+        if (cachedAuthentication != null) {
+            return Optional.of(cachedAuthentication.authentication);
+        }
+        try {
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
+            Authentication authentication = createAuthentication(claims, token);
+            if (claims.getExpiration() != null) {
+                authenticationCache.put(cacheKey, new CachedAuthentication(authentication, claims.getExpiration().getTime()));
+            }
+            return Optional.of(authentication);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.info("Invalid JWT token.");
+            log.trace("Invalid JWT token trace.", e);
+        }
+        return Optional.empty();
+    }
 
+    private Authentication createAuthentication(Claims claims, String token) {
         Collection<? extends GrantedAuthority> authorities = Arrays
             .stream(claims.get(AUTHORITIES_KEY).toString().split(","))
             .filter(auth -> !auth.trim().isEmpty())
@@ -98,4 +158,51 @@ public class TokenProvider {
         }
         return false;
     }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, authenticationCache, AUTHENTICATION_CACHE_NAME);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class CachedAuthentication {
+
+        private final Authentication authentication;
+
+        private final long expirationTimeMillis;
+
+        private CachedAuthentication(Authentication authentication, long expirationTimeMillis) {
+            this.authentication = authentication;
+            this.expirationTimeMillis = expirationTimeMillis;
+        }
+    }
+
+    /**
+     * Expires each cached authentication when its token expires.
+     */
+    private static final class CachedAuthenticationExpiry implements Expiry<String, CachedAuthentication> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedAuthentication value, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, value.expirationTimeMillis - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedAuthentication value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedAuthentication value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
@@ -0,0 +1,12 @@
+package com.green.firm.service;
+
+import java.math.BigDecimal;
+
+public class AmountOutOfRangeException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public AmountOutOfRangeException(BigDecimal amount) {
+        super("Amount out of range: " + amount.toPlainString());
+    }
+}
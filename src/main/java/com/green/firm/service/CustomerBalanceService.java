@@ -0,0 +1,111 @@
+package com.green.firm.service;
+
+import com.green.firm.domain.Money;
+import com.green.firm.domain.enumeration.paymentStatus;
+import com.green.firm.domain.enumeration.weightTypes.Dimension;
+import com.green.firm.repository.CustomerBoughtRepository;
+import com.green.firm.repository.CustomerRepository;
+import com.green.firm.service.dto.CustomerBalanceDTO;
+import com.green.firm.service.dto.WeightTypeTotalDTO;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service class computing what the customers bought, the sums being computed by the database.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CustomerBalanceService {
+
+    private final Logger log = LoggerFactory.getLogger(CustomerBalanceService.class);
+
+    private final CustomerRepository customerRepository;
+
+    private final CustomerBoughtRepository customerBoughtRepository;
+
+    public CustomerBalanceService(CustomerRepository customerRepository, CustomerBoughtRepository customerBoughtRepository) {
+        this.customerRepository = customerRepository;
+        this.customerBoughtRepository = customerBoughtRepository;
+    }
+
+    /**
+     * Get the balance of a customer.
+     *
+     * @param customerId the id of the customer.
+     * @param status the status of the customerBoughts to sum.
+     * @return the balance, or empty if the customer does not exist.
+     */
+    public Optional<CustomerBalanceDTO> findBalance(Long customerId, paymentStatus status) {
+        log.debug("Request to get the {} balance of Customer : {}", status, customerId);
+        return customerRepository
+            .findById(customerId)
+            .map(
+                customer -> {
+                    List<WeightTypeTotalDTO> weights = customerBoughtRepository.findWeightTypeTotals(
+                        status,
+                        Collections.singleton(customerId)
+                    );
+                    CustomerBalanceDTO balance = new CustomerBalanceDTO(
+                        customer.getId(),
+                        customer.getName(),
+                        weights.stream().mapToLong(WeightTypeTotalDTO::getCount).sum(),
+                        weights.stream().mapToLong(weight -> Money.toCents(weight.getTotalPrice())).sum()
+                    );
+                    balance.setStatus(status);
+                    setWeights(balance, weights);
+                    return balance;
+                }
+            );
+    }
+
+    /**
+     * Get the balances of the customers who have customerBoughts with the given status, the ones who owe the most first.
+     *
+     * @param status the status of the customerBoughts to sum.
+     * @param pageable the pagination information, its sort is ignored.
+     * @return the page of balances.
+     */
+    public Page<CustomerBalanceDTO> findBalances(paymentStatus status, Pageable pageable) {
+        log.debug("Request to get a page of {} balances", status);
+        Page<CustomerBalanceDTO> page = customerBoughtRepository.findCustomerBalances(
+            status,
+            PageRequest.of(pageable.getPageNumber(), pageable.getPageSize())
+        );
+        if (page.hasContent()) {
+            Map<Long, List<WeightTypeTotalDTO>> weightsByCustomer = customerBoughtRepository
+                .findWeightTypeTotals(status, page.map(CustomerBalanceDTO::getCustomerId).getContent())
+                .stream()
+                .collect(Collectors.groupingBy(WeightTypeTotalDTO::getCustomerId));
+            page.forEach(
+                balance -> {
+                    balance.setStatus(status);
+                    setWeights(balance, weightsByCustomer.getOrDefault(balance.getCustomerId(), Collections.emptyList()));
+                }
+            );
+        }
+        return page;
+    }
+
+    /**
+     * Set the totals by weight type of a balance, and their sums by mass and by volume.
+     */
+    private static void setWeights(CustomerBalanceDTO balance, List<WeightTypeTotalDTO> weights) {
+        QuantityTotals totals = new QuantityTotals();
+        for (WeightTypeTotalDTO weight : weights) {
+            totals.addBase(weight.getWeightType().getDimension(), weight.getBaseQuantity());
+        }
+        balance.setWeights(weights);
+        balance.setTotalGrams(totals.getBaseQuantity(Dimension.MASS));
+        balance.setTotalMillilitres(totals.getBaseQuantity(Dimension.VOLUME));
+    }
+}
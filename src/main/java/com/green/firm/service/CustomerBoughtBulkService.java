@@ -0,0 +1,298 @@
+package com.green.firm.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.green.firm.domain.Customer;
+import com.green.firm.domain.CustomerBought;
+import com.green.firm.domain.ProductType;
+import com.green.firm.repository.CustomerBoughtRepository;
+import com.green.firm.repository.CustomerRepository;
+import com.green.firm.repository.ProductTypeRepository;
+import com.green.firm.service.dto.CustomerBoughtBulkResultDTO;
+import com.green.firm.service.dto.CustomerBoughtDTO;
+import com.green.firm.service.mapper.CustomerBoughtMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service class for saving many {@link CustomerBought} at once.
+ * <p>
+ * Each row is validated on its own, and the valid rows are saved by chunks of {@value #CHUNK_SIZE}, each chunk
+ * in its own transaction, with the inserts and updates batched by JDBC. When a chunk is rejected by the database,
+ * its rows are saved again one at a time, so that only the faulty rows are reported in error.
+ * The {@link com.green.firm.domain.CustomerLedger} of the customers are updated once per chunk, in its transaction.
+ * <p>
+ * The chunks manage their own transactions, so this service must not be called within an existing transaction.
+ */
+@Service
+public class CustomerBoughtBulkService {
+
+    private final Logger log = LoggerFactory.getLogger(CustomerBoughtBulkService.class);
+
+    /**
+     * Number of rows saved in a single transaction.
+     */
+    private static final int CHUNK_SIZE = 500;
+
+    /**
+     * Number of rows flushed at once, a multiple of {@code hibernate.jdbc.batch_size}.
+     */
+    private static final int FLUSH_SIZE = 50;
+
+    private static final String NOT_FOUND_MESSAGE = "does not exist";
+
+    private final CustomerBoughtRepository customerBoughtRepository;
+
+    private final CustomerRepository customerRepository;
+
+    private final ProductTypeRepository productTypeRepository;
+
+    private final CustomerLedgerService customerLedgerService;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Validator validator;
+
+    private final CustomerBoughtMapper customerBoughtMapper;
+
+    private final ObjectReader customerBoughtReader;
+
+    public CustomerBoughtBulkService(
+        CustomerBoughtRepository customerBoughtRepository,
+        CustomerRepository customerRepository,
+        ProductTypeRepository productTypeRepository,
+        CustomerLedgerService customerLedgerService,
+        EntityManager entityManager,
+        PlatformTransactionManager transactionManager,
+        Validator validator,
+        CustomerBoughtMapper customerBoughtMapper,
+        ObjectMapper objectMapper
+    ) {
+        this.customerBoughtRepository = customerBoughtRepository;
+        this.customerRepository = customerRepository;
+        this.productTypeRepository = productTypeRepository;
+        this.customerLedgerService = customerLedgerService;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.customerBoughtMapper = customerBoughtMapper;
+        // read as DTOs, which hold the prices as amounts rather than in cents
+        this.customerBoughtReader = objectMapper.readerFor(CustomerBoughtDTO.class);
+    }
+
+    /**
+     * Save the customerBoughts: the ones without an id are created, the others are updated.
+     *
+     * @param customerBoughts the customerBoughts to save.
+     * @return the outcome of each row.
+     */
+    public CustomerBoughtBulkResultDTO saveAll(List<CustomerBought> customerBoughts) {
+        log.debug("Request to save {} CustomerBoughts", customerBoughts.size());
+        CustomerBoughtBulkResultDTO result = new CustomerBoughtBulkResultDTO(customerBoughts.size());
+        saveRows(customerBoughts, result);
+        return result;
+    }
+
+    /**
+     * Save the customerBoughts read from newline delimited JSON, one customerBought per line.
+     * Blank lines are ignored, and malformed lines or out of range amounts are reported as rows in error.
+     *
+     * @param ndjson the newline delimited JSON.
+     * @return the outcome of each row.
+     * @throws IOException if the JSON cannot be read.
+     */
+    public CustomerBoughtBulkResultDTO saveAll(Reader ndjson) throws IOException {
+        List<CustomerBought> customerBoughts = new ArrayList<>();
+        Map<Integer, String> malformedRows = new LinkedHashMap<>();
+        BufferedReader reader = new BufferedReader(ndjson);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            try {
+                customerBoughts.add(customerBoughtMapper.toEntity(customerBoughtReader.<CustomerBoughtDTO>readValue(line)));
+            } catch (JsonProcessingException e) {
+                malformedRows.put(customerBoughts.size(), "malformed JSON: " + e.getOriginalMessage());
+                customerBoughts.add(null);
+            } catch (AmountOutOfRangeException e) {
+                malformedRows.put(customerBoughts.size(), e.getMessage());
+                customerBoughts.add(null);
+            }
+        }
+        log.debug("Request to save {} CustomerBoughts", customerBoughts.size());
+        CustomerBoughtBulkResultDTO result = new CustomerBoughtBulkResultDTO(customerBoughts.size());
+        malformedRows.forEach((row, message) -> result.addError(row, null, message));
+        saveRows(customerBoughts, result);
+        return result;
+    }
+
+    private void saveRows(List<CustomerBought> customerBoughts, CustomerBoughtBulkResultDTO result) {
+        for (int start = 0; start < customerBoughts.size(); start += CHUNK_SIZE) {
+            List<Integer> validRows = new ArrayList<>();
+            for (int row = start; row < Math.min(start + CHUNK_SIZE, customerBoughts.size()); row++) {
+                if (isValid(row, customerBoughts.get(row), result)) {
+                    validRows.add(row);
+                }
+            }
+            if (!trySaveChunk(customerBoughts, validRows, result)) {
+                log.debug("Saving CustomerBoughts one at a time, from row {}", start);
+                for (Integer row : validRows) {
+                    if (!trySaveChunk(customerBoughts, Collections.singletonList(row), result)) {
+                        result.addError(row, null, "could not be saved");
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean isValid(int row, CustomerBought customerBought, CustomerBoughtBulkResultDTO result) {
+        if (customerBought == null) {
+            // malformed row, already reported
+            return false;
+        }
+        Set<ConstraintViolation<CustomerBought>> violations = validator.validate(customerBought);
+        for (ConstraintViolation<CustomerBought> violation : violations) {
+            result.addError(row, violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        return violations.isEmpty();
+    }
+
+    private boolean trySaveChunk(List<CustomerBought> customerBoughts, List<Integer> rows, CustomerBoughtBulkResultDTO result) {
+        if (rows.isEmpty()) {
+            return true;
+        }
+        List<CustomerBought> newCustomerBoughts = rows
+            .stream()
+            .map(customerBoughts::get)
+            .filter(customerBought -> customerBought.getId() == null)
+            .collect(Collectors.toList());
+        ChunkOutcome outcome = new ChunkOutcome();
+        try {
+            transactionTemplate.executeWithoutResult(status -> saveChunk(customerBoughts, rows, outcome));
+        } catch (PersistenceException | DataAccessException | TransactionException e) {
+            log.warn("Could not save {} CustomerBoughts: {}", rows.size(), e.getMessage());
+            // the rolled back inserts keep the identifiers they were given, which would make them look detached
+            newCustomerBoughts.forEach(customerBought -> customerBought.setId(null));
+            return false;
+        }
+        outcome.created.forEach(result::addCreated);
+        outcome.updated.forEach(result::addUpdated);
+        outcome.errors.forEach(error -> result.addError(error.getRow(), error.getField(), error.getMessage()));
+        return true;
+    }
+
+    private void saveChunk(List<CustomerBought> customerBoughts, List<Integer> rows, ChunkOutcome outcome) {
+        List<CustomerBought> chunk = rows.stream().map(customerBoughts::get).collect(Collectors.toList());
+        Map<Long, ProductType> productTypes = byId(
+            productTypeRepository.findAllById(associationIds(chunk, CustomerBought::getProductType, ProductType::getId)),
+            ProductType::getId
+        );
+        Map<Long, Customer> customers = byId(
+            customerRepository.findAllById(associationIds(chunk, CustomerBought::getCustomer, Customer::getId)),
+            Customer::getId
+        );
+
+        for (int from = 0; from < rows.size(); from += FLUSH_SIZE) {
+            List<Integer> batch = rows.subList(from, Math.min(from + FLUSH_SIZE, rows.size()));
+            Map<Long, CustomerBought> existingCustomerBoughts = byId(
+                customerBoughtRepository.findAllById(
+                    batch.stream().map(row -> customerBoughts.get(row).getId()).filter(Objects::nonNull).collect(Collectors.toSet())
+                ),
+                CustomerBought::getId
+            );
+            for (Integer row : batch) {
+                saveRow(row, customerBoughts.get(row), productTypes, customers, existingCustomerBoughts, outcome);
+            }
+            entityManager.flush();
+            entityManager.clear();
+        }
+        customerLedgerService.apply(outcome.removedContributions, outcome.addedContributions);
+    }
+
+    private void saveRow(
+        int row,
+        CustomerBought customerBought,
+        Map<Long, ProductType> productTypes,
+        Map<Long, Customer> customers,
+        Map<Long, CustomerBought> existingCustomerBoughts,
+        ChunkOutcome outcome
+    ) {
+        ProductType productType = productTypes.get(customerBought.getProductType().getId());
+        if (productType == null) {
+            outcome.errors.add(new CustomerBoughtBulkResultDTO.RowError(row, "productType", NOT_FOUND_MESSAGE));
+            return;
+        }
+        Customer customer = customers.get(customerBought.getCustomer().getId());
+        if (customer == null) {
+            outcome.errors.add(new CustomerBoughtBulkResultDTO.RowError(row, "customer", NOT_FOUND_MESSAGE));
+            return;
+        }
+        if (customerBought.getId() == null) {
+            customerBought.productType(productType).customer(customer);
+            entityManager.persist(customerBought);
+            outcome.created.put(row, customerBought.getId());
+            outcome.addedContributions.add(CustomerLedgerService.Contribution.of(customerBought));
+            return;
+        }
+        CustomerBought existingCustomerBought = existingCustomerBoughts.get(customerBought.getId());
+        if (existingCustomerBought == null) {
+            outcome.errors.add(new CustomerBoughtBulkResultDTO.RowError(row, "id", NOT_FOUND_MESSAGE));
+            return;
+        }
+        outcome.removedContributions.add(CustomerLedgerService.Contribution.of(existingCustomerBought));
+        existingCustomerBought
+            .weightType(customerBought.getWeightType())
+            .unitPrice(customerBought.getUnitPrice())
+            .deliveryDate(customerBought.getDeliveryDate())
+            .remarks(customerBought.getRemarks())
+            .status(customerBought.getStatus())
+            .totalWeight(customerBought.getTotalWeight())
+            .productType(productType)
+            .customer(customer);
+        outcome.updated.put(row, existingCustomerBought.getId());
+        outcome.addedContributions.add(CustomerLedgerService.Contribution.of(existingCustomerBought));
+    }
+
+    private static <T> Set<Long> associationIds(List<CustomerBought> chunk, Function<CustomerBought, T> association, Function<T, Long> id) {
+        return chunk.stream().map(association).map(id).filter(Objects::nonNull).collect(Collectors.toSet());
+    }
+
+    private static <T> Map<Long, T> byId(List<T> entities, Function<T, Long> id) {
+        return entities.stream().collect(Collectors.toMap(id, Function.identity()));
+    }
+
+    /**
+     * What a chunk saved, only reported once its transaction is committed.
+     */
+    private static final class ChunkOutcome {
+
+        private final Map<Integer, Long> created = new LinkedHashMap<>();
+
+        private final Map<Integer, Long> updated = new LinkedHashMap<>();
+
+        private final List<CustomerBoughtBulkResultDTO.RowError> errors = new ArrayList<>();
+
+        private final List<CustomerLedgerService.Contribution> removedContributions = new ArrayList<>();
+
+        private final List<CustomerLedgerService.Contribution> addedContributions = new ArrayList<>();
+    }
+}
@@ -0,0 +1,222 @@
+package com.green.firm.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.green.firm.config.ApplicationProperties;
+import com.green.firm.domain.CustomerBought;
+import com.green.firm.domain.Money;
+import com.green.firm.service.dto.CustomerBoughtDTO;
+import com.green.firm.service.mapper.CustomerBoughtMapper;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.query.Query;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service class for exporting {@link CustomerBought}.
+ * <p>
+ * The rows are scrolled forward-only from the database and written as they are read, the persistence context
+ * being cleared as the output is flushed, so that an export uses a constant amount of memory whatever its size.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CustomerBoughtExportService {
+
+    private final Logger log = LoggerFactory.getLogger(CustomerBoughtExportService.class);
+
+    /**
+     * Number of rows written between two flushes of the output.
+     */
+    private static final int FLUSH_INTERVAL = 500;
+
+    private static final String[] CSV_HEADER = {
+        "id",
+        "weightType",
+        "unitPrice",
+        "totalPrice",
+        "deliveryDate",
+        "remarks",
+        "status",
+        "totalWeight",
+        "productTypeId",
+        "productType",
+        "customerId",
+        "customer",
+    };
+
+    /**
+     * The export formats.
+     */
+    public enum Format {
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv"),
+        NDJSON(MediaType.APPLICATION_NDJSON, "ndjson");
+
+        private final MediaType mediaType;
+
+        private final String extension;
+
+        Format(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private final EntityManager entityManager;
+
+    private final CustomerBoughtMapper customerBoughtMapper;
+
+    private final ObjectWriter customerBoughtWriter;
+
+    private final int fetchSize;
+
+    public CustomerBoughtExportService(
+        EntityManager entityManager,
+        CustomerBoughtMapper customerBoughtMapper,
+        ObjectMapper objectMapper,
+        ApplicationProperties applicationProperties
+    ) {
+        this.entityManager = entityManager;
+        this.customerBoughtMapper = customerBoughtMapper;
+        // one line per customerBought, as returned by the REST API but whatever the indentation configured for it
+        this.customerBoughtWriter = objectMapper.writerFor(CustomerBoughtDTO.class).without(SerializationFeature.INDENT_OUTPUT);
+        this.fetchSize = applicationProperties.getExport().getFetchSize();
+    }
+
+    /**
+     * Write the customerBoughts delivered in the given period, ordered by id.
+     *
+     * @param format the output format.
+     * @param from the start of the period, inclusive, or {@code null} for no lower bound.
+     * @param to the end of the period, exclusive, or {@code null} for no upper bound.
+     * @param outputStream the stream to write to, left open.
+     * @return the number of customerBoughts written.
+     * @throws IOException if the output cannot be written.
+     */
+    public long export(Format format, ZonedDateTime from, ZonedDateTime to, OutputStream outputStream) throws IOException {
+        log.debug("Request to export CustomerBoughts as {} from {} to {}", format, from, to);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == Format.CSV) {
+            writeCsvLine(writer, CSV_HEADER);
+        }
+        long count = 0;
+        try (ScrollableResults results = scroll(from, to)) {
+            while (results.next()) {
+                CustomerBought customerBought = (CustomerBought) results.get(0);
+                if (format == Format.CSV) {
+                    writeCsv(writer, customerBought);
+                } else {
+                    writer.write(customerBoughtWriter.writeValueAsString(customerBoughtMapper.toDto(customerBought)));
+                    writer.write('\n');
+                }
+                if (++count % FLUSH_INTERVAL == 0) {
+                    writer.flush();
+                    entityManager.clear();
+                }
+            }
+        }
+        writer.flush();
+        log.debug("Exported {} CustomerBoughts", count);
+        return count;
+    }
+
+    private ScrollableResults scroll(ZonedDateTime from, ZonedDateTime to) {
+        List<String> conditions = new ArrayList<>();
+        if (from != null) {
+            conditions.add("customerBought.deliveryDate >= :from");
+        }
+        if (to != null) {
+            conditions.add("customerBought.deliveryDate < :to");
+        }
+        TypedQuery<CustomerBought> typedQuery = entityManager.createQuery(
+            "select customerBought from CustomerBought customerBought" +
+            " join fetch customerBought.productType join fetch customerBought.customer" +
+            (conditions.isEmpty() ? "" : " where " + String.join(" and ", conditions)) +
+            " order by customerBought.id",
+            CustomerBought.class
+        );
+        if (from != null) {
+            typedQuery.setParameter("from", from);
+        }
+        if (to != null) {
+            typedQuery.setParameter("to", to);
+        }
+        Query<?> query = typedQuery.unwrap(Query.class);
+        return query.setFetchSize(fetchSize).setReadOnly(true).setCacheMode(CacheMode.IGNORE).scroll(ScrollMode.FORWARD_ONLY);
+    }
+
+    private static void writeCsv(Writer writer, CustomerBought customerBought) throws IOException {
+        writeCsvLine(
+            writer,
+            Objects.toString(customerBought.getId()),
+            Objects.toString(customerBought.getWeightType()),
+            toPlainString(customerBought.getUnitPrice()),
+            toPlainString(customerBought.getTotalPrice()),
+            DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(customerBought.getDeliveryDate().withZoneSameInstant(ZoneOffset.UTC)),
+            Objects.toString(customerBought.getRemarks(), ""),
+            Objects.toString(customerBought.getStatus()),
+            Objects.toString(customerBought.getTotalWeight()),
+            Objects.toString(customerBought.getProductType().getId()),
+            Objects.toString(customerBought.getProductType().getName(), ""),
+            Objects.toString(customerBought.getCustomer().getId()),
+            Objects.toString(customerBought.getCustomer().getName(), "")
+        );
+    }
+
+    /**
+     * Format an amount in cents with its two decimal places.
+     */
+    private static String toPlainString(Long cents) {
+        return cents == null ? "" : Money.toAmount(cents).toPlainString();
+    }
+
+    private static void writeCsvLine(Writer writer, String... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeCsvValue(writer, values[i]);
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * Write a value as specified by RFC 4180: quoted if it contains a separator, a quote or a line break.
+     */
+    private static void writeCsvValue(Writer writer, String value) throws IOException {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,258 @@
+package com.green.firm.service;
+
+import com.green.firm.domain.*; // for static metamodels
+import com.green.firm.domain.CustomerBought;
+import com.green.firm.repository.CustomerBoughtRepository;
+import com.green.firm.service.criteria.CustomerBoughtCriteria;
+import com.green.firm.service.dto.CustomerBoughtDTO;
+import com.green.firm.service.mapper.CustomerBoughtMapper;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.repository.support.PageableExecutionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.jhipster.service.QueryService;
+import tech.jhipster.service.filter.BigDecimalFilter;
+import tech.jhipster.service.filter.LongFilter;
+
+/**
+ * Service for executing complex queries for {@link CustomerBought} entities in the database.
+ * The main input is a {@link CustomerBoughtCriteria} which gets converted to {@link Specification},
+ * in a way that all the filters must apply.
+ * It returns a {@link List} of {@link CustomerBoughtDTO} or a {@link Page} of {@link CustomerBoughtDTO} which fulfills the criteria.
+ * The pages are projected: only the columns of the DTO are selected, without loading any entity.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CustomerBoughtQueryService extends QueryService<CustomerBought> {
+
+    private final Logger log = LoggerFactory.getLogger(CustomerBoughtQueryService.class);
+
+    private final CustomerBoughtRepository customerBoughtRepository;
+
+    private final CustomerBoughtMapper customerBoughtMapper;
+
+    private final EntityManager entityManager;
+
+    public CustomerBoughtQueryService(
+        CustomerBoughtRepository customerBoughtRepository,
+        CustomerBoughtMapper customerBoughtMapper,
+        EntityManager entityManager
+    ) {
+        this.customerBoughtRepository = customerBoughtRepository;
+        this.customerBoughtMapper = customerBoughtMapper;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Return a {@link List} of {@link CustomerBoughtDTO} which matches the criteria from the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public List<CustomerBoughtDTO> findByCriteria(CustomerBoughtCriteria criteria) {
+        log.debug("find by criteria : {}", criteria);
+        final Specification<CustomerBought> specification = createSpecification(criteria);
+        return customerBoughtMapper.toDto(customerBoughtRepository.findAll(specification));
+    }
+
+    /**
+     * Return a {@link Page} of {@link CustomerBoughtDTO} which matches the criteria from the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<CustomerBoughtDTO> findByCriteria(CustomerBoughtCriteria criteria, Pageable page) {
+        log.debug("find by criteria : {}, page: {}", criteria, page);
+        final Specification<CustomerBought> specification = createSpecification(criteria);
+        TypedQuery<CustomerBoughtDTO> typedQuery = createProjectionQuery(specification, page.getSort());
+        if (page.isPaged()) {
+            typedQuery.setFirstResult((int) page.getOffset());
+            typedQuery.setMaxResults(page.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(typedQuery.getResultList(), page, () -> customerBoughtRepository.count(specification));
+    }
+
+    /**
+     * Return a {@link Slice} of {@link CustomerBoughtDTO} which matches the criteria from the database, ordered by id,
+     * for a keyset pagination: it seeks directly to the rows after the given id, and no count query is issued.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param after The id to start after, or {@code null} for the first slice.
+     * @param size The size of the slice.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<CustomerBoughtDTO> findSliceByCriteria(CustomerBoughtCriteria criteria, Long after, int size) {
+        log.debug("find slice by criteria : {}, after: {}, size: {}", criteria, after, size);
+        Specification<CustomerBought> specification = createSpecification(criteria);
+        if (after != null) {
+            specification = specification.and((root, query, builder) -> builder.greaterThan(root.get(CustomerBought_.id), after));
+        }
+        Pageable page = PageRequest.of(0, size, Sort.by(Sort.Direction.ASC, "id"));
+        // one more row tells whether there is a next slice
+        List<CustomerBoughtDTO> content = createProjectionQuery(specification, page.getSort()).setMaxResults(size + 1).getResultList();
+        boolean hasNext = content.size() > size;
+        return new SliceImpl<>(hasNext ? content.subList(0, size) : content, page, hasNext);
+    }
+
+    /**
+     * Select only the columns of the DTO, the product type and the customer being reduced to their id and name.
+     */
+    private TypedQuery<CustomerBoughtDTO> createProjectionQuery(Specification<CustomerBought> specification, Sort sort) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CustomerBoughtDTO> query = builder.createQuery(CustomerBoughtDTO.class);
+        Root<CustomerBought> root = query.from(CustomerBought.class);
+        Join<CustomerBought, ProductType> productType = root.join(CustomerBought_.productType);
+        Join<CustomerBought, Customer> customer = root.join(CustomerBought_.customer);
+        query.select(
+            builder.construct(
+                CustomerBoughtDTO.class,
+                root.get(CustomerBought_.id),
+                root.get(CustomerBought_.version),
+                root.get(CustomerBought_.weightType),
+                root.get(CustomerBought_.unitPrice),
+                root.get(CustomerBought_.totalPrice),
+                root.get(CustomerBought_.deliveryDate),
+                root.get(CustomerBought_.remarks),
+                root.get(CustomerBought_.status),
+                root.get(CustomerBought_.totalWeight),
+                productType.get(ProductType_.id),
+                productType.get(ProductType_.name),
+                customer.get(Customer_.id),
+                customer.get(Customer_.name)
+            )
+        );
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, builder));
+        }
+        return entityManager.createQuery(query);
+    }
+
+    /**
+     * Return the number of matching entities in the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the number of matching entities.
+     */
+    @Transactional(readOnly = true)
+    public long countByCriteria(CustomerBoughtCriteria criteria) {
+        log.debug("count by criteria : {}", criteria);
+        final Specification<CustomerBought> specification = createSpecification(criteria);
+        return customerBoughtRepository.count(specification);
+    }
+
+    /**
+     * Function to convert {@link CustomerBoughtCriteria} to a {@link Specification}
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching {@link Specification} of the entity.
+     */
+    protected Specification<CustomerBought> createSpecification(CustomerBoughtCriteria criteria) {
+        Specification<CustomerBought> specification = Specification.where(fetchRelationships());
+        if (criteria != null) {
+            if (criteria.getId() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getId(), CustomerBought_.id));
+            }
+            if (criteria.getWeightType() != null) {
+                specification = specification.and(buildSpecification(criteria.getWeightType(), CustomerBought_.weightType));
+            }
+            if (criteria.getUnitPrice() != null) {
+                specification = specification.and(buildRangeSpecification(toCents(criteria.getUnitPrice()), CustomerBought_.unitPrice));
+            }
+            if (criteria.getTotalPrice() != null) {
+                specification = specification.and(buildRangeSpecification(toCents(criteria.getTotalPrice()), CustomerBought_.totalPrice));
+            }
+            if (criteria.getDeliveryDate() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getDeliveryDate(), CustomerBought_.deliveryDate));
+            }
+            if (criteria.getRemarks() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getRemarks(), CustomerBought_.remarks));
+            }
+            if (criteria.getStatus() != null) {
+                specification = specification.and(buildSpecification(criteria.getStatus(), CustomerBought_.status));
+            }
+            if (criteria.getTotalWeight() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getTotalWeight(), CustomerBought_.totalWeight));
+            }
+            // The foreign key columns are filtered directly, without joining the referenced tables,
+            // so that the customer_bought indexes can be used
+            if (criteria.getProductTypeId() != null) {
+                specification =
+                    specification.and(
+                        buildSpecification(criteria.getProductTypeId(), root -> root.get(CustomerBought_.productType).get(ProductType_.id))
+                    );
+            }
+            if (criteria.getCustomerId() != null) {
+                specification =
+                    specification.and(buildSpecification(criteria.getCustomerId(), root -> root.get(CustomerBought_.customer).get(Customer_.id)));
+            }
+        }
+        return specification;
+    }
+
+    /**
+     * Convert a filter on amounts to a filter on the cents the prices are stored in.
+     */
+    private static LongFilter toCents(BigDecimalFilter amounts) {
+        LongFilter cents = new LongFilter();
+        cents.setEquals(amounts.getEquals() == null ? null : toCents(amounts.getEquals()));
+        cents.setNotEquals(amounts.getNotEquals() == null ? null : toCents(amounts.getNotEquals()));
+        cents.setSpecified(amounts.getSpecified());
+        cents.setIn(amounts.getIn() == null ? null : toCents(amounts.getIn()));
+        cents.setNotIn(amounts.getNotIn() == null ? null : toCents(amounts.getNotIn()));
+        cents.setGreaterThan(amounts.getGreaterThan() == null ? null : toCents(amounts.getGreaterThan()));
+        cents.setLessThan(amounts.getLessThan() == null ? null : toCents(amounts.getLessThan()));
+        cents.setGreaterThanOrEqual(amounts.getGreaterThanOrEqual() == null ? null : toCents(amounts.getGreaterThanOrEqual()));
+        cents.setLessThanOrEqual(amounts.getLessThanOrEqual() == null ? null : toCents(amounts.getLessThanOrEqual()));
+        return cents;
+    }
+
+    private static List<Long> toCents(List<BigDecimal> amounts) {
+        return amounts.stream().map(CustomerBoughtQueryService::toCents).collect(Collectors.toList());
+    }
+
+    /**
+     * @throws AmountOutOfRangeException if the amount does not fit in the cents of a {@code long}.
+     */
+    private static long toCents(BigDecimal amount) {
+        try {
+            return Money.toCents(amount);
+        } catch (ArithmeticException e) {
+            throw new AmountOutOfRangeException(amount);
+        }
+    }
+
+    /**
+     * Fetch the customer and the product type with the customerBoughts, except in the count and projection queries.
+     */
+    private static Specification<CustomerBought> fetchRelationships() {
+        return (root, query, builder) -> {
+            if (CustomerBought.class.equals(query.getResultType())) {
+                root.fetch(CustomerBought_.customer);
+                root.fetch(CustomerBought_.productType);
+            }
+            return null;
+        };
+    }
+}
@@ -0,0 +1,349 @@
+package com.green.firm.service;
+
+import com.green.firm.domain.CustomerBought;
+import com.green.firm.domain.CustomerLedger;
+import com.green.firm.domain.enumeration.paymentStatus;
+import com.green.firm.repository.CustomerBoughtRepository;
+import com.green.firm.repository.CustomerLedgerRepository;
+import com.green.firm.repository.CustomerRepository;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service class maintaining the {@link CustomerLedger}.
+ * <p>
+ * The ledger of a customer is opened, empty, when the customer is created, so that the deltas of its first
+ * customerBoughts, even concurrent ones, only ever update it in place. Each change to a {@link CustomerBought} is applied to its customer's ledger as a delta, in the transaction
+ * of the change: the callers snapshot the {@link Contribution} of the customerBought before and after the change.
+ * The ledgers of all the customers are also recomputed from their history every night, to repair any drift.
+ */
+@Service
+public class CustomerLedgerService {
+
+    private final Logger log = LoggerFactory.getLogger(CustomerLedgerService.class);
+
+    /**
+     * Number of customers whose ledger is rebuilt in a single transaction.
+     */
+    private static final int REBUILD_PAGE_SIZE = 500;
+
+    private final CustomerLedgerRepository customerLedgerRepository;
+
+    private final CustomerBoughtRepository customerBoughtRepository;
+
+    private final CustomerRepository customerRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public CustomerLedgerService(
+        CustomerLedgerRepository customerLedgerRepository,
+        CustomerBoughtRepository customerBoughtRepository,
+        CustomerRepository customerRepository,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.customerLedgerRepository = customerLedgerRepository;
+        this.customerBoughtRepository = customerBoughtRepository;
+        this.customerRepository = customerRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Get the ledger of a customer.
+     *
+     * @param customerId the id of the customer.
+     * @return the ledger, empty if the customer does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Optional<CustomerLedger> findOne(Long customerId) {
+        log.debug("Request to get CustomerLedger : {}", customerId);
+        Optional<CustomerLedger> ledger = customerLedgerRepository.findById(customerId);
+        if (ledger.isPresent() || !customerRepository.existsById(customerId)) {
+            return ledger;
+        }
+        // the customer has not bought anything yet
+        return Optional.of(new CustomerLedger().customerId(customerId));
+    }
+
+    /**
+     * Get the ledgers of the customers who bought something.
+     *
+     * @param pageable the pagination information.
+     * @return the page of ledgers.
+     */
+    @Transactional(readOnly = true)
+    public Page<CustomerLedger> findAll(Pageable pageable) {
+        log.debug("Request to get a page of CustomerLedgers");
+        return customerLedgerRepository.findAllByOrderCountGreaterThan(0L, pageable);
+    }
+
+    /**
+     * Open the empty ledger of a created customer, in the transaction which creates it, with a single insert.
+     *
+     * @param customerId the id of the created customer.
+     */
+    @Transactional
+    public void open(Long customerId) {
+        log.debug("Request to open the CustomerLedger of Customer : {}", customerId);
+        customerLedgerRepository.save(new CustomerLedger().customerId(customerId));
+    }
+
+    /**
+     * Apply a created customerBought to its customer's ledger.
+     *
+     * @param created the contribution of the created customerBought.
+     */
+    @Transactional
+    public void add(Contribution created) {
+        apply(Collections.emptyList(), Collections.singletonList(created));
+    }
+
+    /**
+     * Apply an updated customerBought to the ledger of its customers, before and after the update.
+     *
+     * @param before the contribution of the customerBought before the update.
+     * @param after the contribution of the customerBought after the update.
+     */
+    @Transactional
+    public void replace(Contribution before, Contribution after) {
+        if (!before.equals(after)) {
+            apply(Collections.singletonList(before), Collections.singletonList(after));
+        }
+    }
+
+    /**
+     * Apply a deleted customerBought to its customer's ledger.
+     *
+     * @param deleted the contribution of the deleted customerBought.
+     */
+    @Transactional
+    public void remove(Contribution deleted) {
+        apply(Collections.singletonList(deleted), Collections.emptyList());
+    }
+
+    /**
+     * Apply many changes at once, with a single update per customer.
+     * The ledgers are updated in the order of the customer ids, so that concurrent calls cannot deadlock.
+     *
+     * @param removed the contributions removed from the ledgers.
+     * @param added the contributions added to the ledgers.
+     */
+    @Transactional
+    public void apply(Collection<Contribution> removed, Collection<Contribution> added) {
+        SortedMap<Long, Delta> deltas = new TreeMap<>();
+        removed.forEach(contribution -> deltas.computeIfAbsent(contribution.customerId, id -> new Delta()).remove(contribution));
+        added.forEach(contribution -> deltas.computeIfAbsent(contribution.customerId, id -> new Delta()).add(contribution));
+        deltas.forEach(this::applyDelta);
+    }
+
+    private void applyDelta(Long customerId, Delta delta) {
+        if (delta.isEmpty()) {
+            return;
+        }
+        if (customerLedgerRepository.applyDelta(customerId, delta.due, delta.paid, delta.count) == 0) {
+            // only a customer created without opening its ledger has none, e.g. by a direct insert
+            log.warn("The CustomerLedger of Customer {} is missing, rebuilding it", customerId);
+            rebuild(Collections.singletonList(customerId));
+            return;
+        }
+        if (
+            delta.removedLastDeliveryDate != null &&
+            (delta.addedLastDeliveryDate == null || delta.removedLastDeliveryDate.isAfter(delta.addedLastDeliveryDate))
+        ) {
+            // a removed delivery may have been the last one, which only the history can tell
+            customerLedgerRepository.setLastDeliveryDate(customerId, customerBoughtRepository.findLastDeliveryDate(customerId));
+        } else if (delta.addedLastDeliveryDate != null) {
+            customerLedgerRepository.advanceLastDeliveryDate(customerId, delta.addedLastDeliveryDate);
+        }
+    }
+
+    /**
+     * Recompute the ledgers of all the customers from their history, correcting the ones which drifted.
+     * <p>
+     * This is scheduled to run every night, at 03:30.
+     */
+    @Scheduled(cron = "0 30 3 * * ?")
+    public void rebuildAll() {
+        log.info("Rebuilding the CustomerLedgers");
+        Pageable page = PageRequest.of(0, REBUILD_PAGE_SIZE);
+        long rebuilt = 0;
+        long drifted = 0;
+        List<Long> customerIds = customerRepository.findIdsAfter(0L, page);
+        while (!customerIds.isEmpty()) {
+            List<Long> pageIds = customerIds;
+            Integer pageDrifted = transactionTemplate.execute(status -> rebuild(pageIds));
+            drifted += pageDrifted == null ? 0 : pageDrifted;
+            rebuilt += customerIds.size();
+            customerIds = customerRepository.findIdsAfter(customerIds.get(customerIds.size() - 1), page);
+        }
+        if (drifted > 0) {
+            log.warn("Rebuilt {} CustomerLedgers, {} of them had drifted", rebuilt, drifted);
+        } else {
+            log.info("Rebuilt {} CustomerLedgers", rebuilt);
+        }
+    }
+
+    /**
+     * Recompute the ledgers of the given customers from their history, opening the missing ones.
+     * The existing ledgers are locked first, so that no delta can be applied while they are recomputed.
+     *
+     * @return the number of ledgers which were missing or wrong.
+     */
+    private int rebuild(List<Long> customerIds) {
+        Map<Long, CustomerLedger> ledgers = byCustomerId(customerLedgerRepository.findAllForUpdate(customerIds));
+        Map<Long, CustomerLedger> expectedLedgers = byCustomerId(customerBoughtRepository.computeLedgers(customerIds));
+        int drifted = 0;
+        for (Long customerId : customerIds) {
+            CustomerLedger expected = expectedLedgers.getOrDefault(customerId, new CustomerLedger().customerId(customerId));
+            CustomerLedger ledger = ledgers.get(customerId);
+            if (ledger == null) {
+                customerLedgerRepository.save(expected);
+                drifted++;
+            } else if (!sameTotals(ledger, expected)) {
+                log.debug("Correcting {} to {}", ledger, expected);
+                ledger
+                    .totalDueCents(expected.getTotalDueCents())
+                    .totalPaidCents(expected.getTotalPaidCents())
+                    .orderCount(expected.getOrderCount())
+                    .lastDeliveryDate(expected.getLastDeliveryDate());
+                drifted++;
+            }
+        }
+        return drifted;
+    }
+
+    private static boolean sameTotals(CustomerLedger ledger, CustomerLedger expected) {
+        return (
+            ledger.getTotalDueCents() == expected.getTotalDueCents() &&
+            ledger.getTotalPaidCents() == expected.getTotalPaidCents() &&
+            ledger.getOrderCount().equals(expected.getOrderCount()) &&
+            Objects.equals(
+                ledger.getLastDeliveryDate() == null ? null : ledger.getLastDeliveryDate().toInstant(),
+                expected.getLastDeliveryDate() == null ? null : expected.getLastDeliveryDate().toInstant()
+            )
+        );
+    }
+
+    private static Map<Long, CustomerLedger> byCustomerId(List<CustomerLedger> ledgers) {
+        return ledgers.stream().collect(Collectors.toMap(CustomerLedger::getCustomerId, Function.identity()));
+    }
+
+    /**
+     * What a customerBought adds to its customer's ledger.
+     */
+    public static final class Contribution {
+
+        private final Long customerId;
+
+        private final long due;
+
+        private final long paid;
+
+        private final ZonedDateTime deliveryDate;
+
+        private Contribution(Long customerId, long due, long paid, ZonedDateTime deliveryDate) {
+            this.customerId = customerId;
+            this.due = due;
+            this.paid = paid;
+            this.deliveryDate = deliveryDate;
+        }
+
+        /**
+         * Snapshot the contribution of a customerBought.
+         *
+         * @param customerBought a valid customerBought.
+         * @return its contribution.
+         */
+        public static Contribution of(CustomerBought customerBought) {
+            long totalPrice = customerBought.getTotalPrice();
+            return new Contribution(
+                customerBought.getCustomer().getId(),
+                customerBought.getStatus() == paymentStatus.DUE ? totalPrice : 0,
+                customerBought.getStatus() == paymentStatus.PAID ? totalPrice : 0,
+                customerBought.getDeliveryDate()
+            );
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Contribution)) {
+                return false;
+            }
+            Contribution that = (Contribution) o;
+            return (
+                Objects.equals(customerId, that.customerId) &&
+                due == that.due &&
+                paid == that.paid &&
+                deliveryDate.isEqual(that.deliveryDate)
+            );
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(customerId, due, paid, deliveryDate.toInstant());
+        }
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "Contribution{" +
+                "customerId=" + customerId +
+                ", due=" + due +
+                ", paid=" + paid +
+                ", deliveryDate='" + deliveryDate + "'" +
+                "}";
+        }
+    }
+
+    /**
+     * The sum of the contributions added to and removed from a customer's ledger.
+     */
+    private static final class Delta {
+
+        private long due;
+
+        private long paid;
+
+        private long count;
+
+        private ZonedDateTime addedLastDeliveryDate;
+
+        private ZonedDateTime removedLastDeliveryDate;
+
+        void add(Contribution contribution) {
+            due += contribution.due;
+            paid += contribution.paid;
+            count++;
+            if (addedLastDeliveryDate == null || contribution.deliveryDate.isAfter(addedLastDeliveryDate)) {
+                addedLastDeliveryDate = contribution.deliveryDate;
+            }
+        }
+
+        void remove(Contribution contribution) {
+            due -= contribution.due;
+            paid -= contribution.paid;
+            count--;
+            if (removedLastDeliveryDate == null || contribution.deliveryDate.isAfter(removedLastDeliveryDate)) {
+                removedLastDeliveryDate = contribution.deliveryDate;
+            }
+        }
+
+        boolean isEmpty() {
+            return due == 0 && paid == 0 && count == 0 && addedLastDeliveryDate == null && removedLastDeliveryDate == null;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.green.firm.service;
+
+import com.green.firm.domain.Customer;
+import com.green.firm.repository.CustomerPhone;
+import com.green.firm.repository.CustomerRepository;
+import com.green.firm.service.dto.CustomerPhoneDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service class finding the {@link Customer} by the start of their phone number, without querying the database.
+ * <p>
+ * The phone numbers are kept in memory, in a {@link PhoneTrie}: it is built from the table when the application
+ * starts, then kept up to date by the {@link CustomerPhoneIndexListener} as the customers are saved and deleted.
+ * Its memory footprint is published as the {@code customer.phone.index.memory} gauge, and the time taken by the
+ * lookups as the {@code customer.phone.index.lookup} timer.
+ */
+@Service
+public class CustomerPhoneIndex {
+
+    private final Logger log = LoggerFactory.getLogger(CustomerPhoneIndex.class);
+
+    private final CustomerRepository customerRepository;
+
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Timer lookupTimer;
+
+    private PhoneTrie trie = new PhoneTrie();
+
+    public CustomerPhoneIndex(
+        CustomerRepository customerRepository,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry
+    ) {
+        this.customerRepository = customerRepository;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.lookupTimer = Timer
+            .builder("customer.phone.index.lookup")
+            .description("Time spent finding the customers by the start of their phone number")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        Gauge
+            .builder("customer.phone.index.memory", this, gauge(PhoneTrie::memoryBytes))
+            .description("Memory taken by the phone numbers of the customers")
+            .baseUnit(BaseUnits.BYTES)
+            .register(meterRegistry);
+        Gauge
+            .builder("customer.phone.index.size", this, gauge(PhoneTrie::size))
+            .description("Customers with a phone number in memory")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Build the index from the phone numbers in the database, replacing its content.
+     * <p>
+     * The changes to the customers wait for the end of the build, so that none of them is lost.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        log.debug("Request to build the index of the Customer phone numbers");
+        lock.writeLock().lock();
+        try {
+            PhoneTrie built = new PhoneTrie();
+            readOnlyTransactionTemplate.executeWithoutResult(
+                status -> {
+                    try (Stream<CustomerPhone> phones = customerRepository.streamPhonesBy()) {
+                        phones.forEach(phone -> built.add(phone.getId(), phone.getPhone()));
+                    }
+                }
+            );
+            trie = built;
+            log.info("Indexed the phone numbers of {} customers in {} bytes", built.size(), built.memoryBytes());
+        } catch (DataAccessException e) {
+            // e.g. the schema is still being created by the asynchronous Liquibase of the "dev" profile
+            log.error("Could not index the phone numbers of the customers, the autocomplete will miss them", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Find the customers whose phone number starts with the given digits, the shortest phone numbers first.
+     *
+     * @param phone the start of the phone number, only its digits are considered.
+     * @param limit the maximum number of customers to return.
+     * @return the customers found, with the digits of their phone number.
+     */
+    public List<CustomerPhoneDTO> autocomplete(String phone, int limit) {
+        if (PhoneTrie.normalize(phone).isEmpty()) {
+            return new ArrayList<>();
+        }
+        return lookupTimer.record(
+            () -> {
+                List<CustomerPhoneDTO> customers = new ArrayList<>();
+                lock.readLock().lock();
+                try {
+                    trie.find(phone, limit, (digits, id) -> customers.add(new CustomerPhoneDTO(id, digits)));
+                } finally {
+                    lock.readLock().unlock();
+                }
+                return customers;
+            }
+        );
+    }
+
+    /**
+     * Set the phone number of a customer, replacing the previous one.
+     *
+     * @param id the id of the customer.
+     * @param phone the phone number.
+     */
+    public void put(long id, String phone) {
+        lock.writeLock().lock();
+        try {
+            trie.put(id, phone);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove the phone number of a deleted customer.
+     *
+     * @param id the id of the customer.
+     */
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            trie.remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static ToDoubleFunction<CustomerPhoneIndex> gauge(ToLongFunction<PhoneTrie> value) {
+        return index -> {
+            index.lock.readLock().lock();
+            try {
+                return value.applyAsLong(index.trie);
+            } finally {
+                index.lock.readLock().unlock();
+            }
+        };
+    }
+}
@@ -0,0 +1,81 @@
+package com.green.firm.service;
+
+import com.green.firm.domain.Customer;
+import java.util.function.Consumer;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Hibernate event listener keeping the {@link CustomerPhoneIndex} up to date as the {@link Customer} are saved and deleted.
+ * <p>
+ * It is registered with Hibernate by the {@link com.green.firm.config.HibernateListenerConfiguration}, so that the
+ * entity does not know about it. The changes are applied once their transaction is committed, so that a rolled back
+ * change is not.
+ */
+@Component
+public class CustomerPhoneIndexListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private final CustomerPhoneIndex customerPhoneIndex;
+
+    public CustomerPhoneIndexListener(CustomerPhoneIndex customerPhoneIndex) {
+        this.customerPhoneIndex = customerPhoneIndex;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        onSave(event.getEntity());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        onSave(event.getEntity());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Customer) {
+            long id = ((Customer) event.getEntity()).getId();
+            afterCommit(index -> index.remove(id));
+        }
+    }
+
+    /**
+     * The index is updated after the commit, by this listener, rather than by Hibernate.
+     */
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+
+    private void onSave(Object entity) {
+        if (entity instanceof Customer) {
+            Customer customer = (Customer) entity;
+            long id = customer.getId();
+            String phone = customer.getPhone();
+            afterCommit(index -> index.put(id, phone));
+        }
+    }
+
+    private void afterCommit(Consumer<CustomerPhoneIndex> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.accept(customerPhoneIndex);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.accept(customerPhoneIndex);
+                }
+            }
+        );
+    }
+}
@@ -0,0 +1,138 @@
+package com.green.firm.service;
+
+import com.green.firm.domain.Customer;
+import com.green.firm.service.dto.CustomerDTO;
+import com.green.firm.service.mapper.CustomerMapper;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import org.hibernate.search.engine.search.predicate.dsl.BooleanPredicateClausesStep;
+import org.hibernate.search.engine.search.predicate.dsl.SearchPredicateFactory;
+import org.hibernate.search.engine.search.query.SearchResult;
+import org.hibernate.search.mapper.orm.Search;
+import org.hibernate.search.mapper.orm.session.SearchSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service class searching the {@link Customer} by partial name, phone, email or address.
+ * <p>
+ * The customers are indexed by Hibernate Search in a Lucene index on the local filesystem, as they are created,
+ * updated and deleted through JPA. Each word of the query must prefix a word of one of these fields, so that the
+ * search does not depend on the number of customers. The index can be rebuilt from the table by the mass indexer,
+ * which is started on its own when the application finds the index empty.
+ */
+@Service
+public class CustomerSearchService {
+
+    private final Logger log = LoggerFactory.getLogger(CustomerSearchService.class);
+
+    private static final String[] TEXT_FIELDS = { "name", "email", "address" };
+
+    private static final String PHONE_FIELD = "phone";
+
+    private final EntityManager entityManager;
+
+    private final CustomerMapper customerMapper;
+
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    public CustomerSearchService(EntityManager entityManager, CustomerMapper customerMapper, PlatformTransactionManager transactionManager) {
+        this.entityManager = entityManager;
+        this.customerMapper = customerMapper;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Search for the customers matching the query, the best matches first.
+     *
+     * @param query the words to search for, separated by spaces.
+     * @param pageable the pagination information, the sort is ignored.
+     * @return the customers matching all the words of the query.
+     */
+    @Transactional(readOnly = true)
+    public Page<CustomerDTO> search(String query, Pageable pageable) {
+        log.debug("Request to search for a page of Customers for query {}", query);
+        String[] terms = query.trim().split("\\s+");
+        if (terms[0].isEmpty()) {
+            return Page.empty(pageable);
+        }
+        SearchResult<Customer> result = searchSession()
+            .search(Customer.class)
+            .where(f -> allTerms(f, terms))
+            .fetch(Math.toIntExact(pageable.getOffset()), pageable.getPageSize());
+        return new PageImpl<>(
+            result.hits().stream().map(customerMapper::toDto).collect(Collectors.toList()),
+            pageable,
+            result.total().hitCount()
+        );
+    }
+
+    /**
+     * Rebuild the index of the customers from the table, in the background.
+     *
+     * @return the completion of the rebuild.
+     */
+    @Transactional(readOnly = true)
+    public CompletionStage<?> reindex() {
+        log.info("Request to rebuild the index of Customers");
+        return startMassIndexer(true);
+    }
+
+    /**
+     * Build the index of the customers when it is empty, e.g. on a new host, as it is not shared between hosts.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reindexIfEmpty() {
+        readOnlyTransactionTemplate.executeWithoutResult(
+            status -> {
+                if (searchSession().search(Customer.class).where(SearchPredicateFactory::matchAll).fetchTotalHitCount() == 0) {
+                    log.info("The index of Customers is empty, building it");
+                    startMassIndexer(false);
+                }
+            }
+        );
+    }
+
+    private CompletionStage<?> startMassIndexer(boolean purgeAllOnStart) {
+        return searchSession()
+            .massIndexer(Customer.class)
+            .purgeAllOnStart(purgeAllOnStart)
+            .start()
+            .whenComplete(
+                (result, e) -> {
+                    if (e == null) {
+                        log.info("The index of Customers is built");
+                    } else {
+                        log.error("Could not build the index of Customers", e);
+                    }
+                }
+            );
+    }
+
+    private static BooleanPredicateClausesStep<?> allTerms(SearchPredicateFactory f, String[] terms) {
+        BooleanPredicateClausesStep<?> predicate = f.bool();
+        for (String term : terms) {
+            BooleanPredicateClausesStep<?> anyField = f.bool().should(f.match().fields(TEXT_FIELDS).matching(term));
+            if (term.chars().anyMatch(Character::isDigit)) {
+                anyField = anyField.should(f.match().field(PHONE_FIELD).matching(term));
+            }
+            predicate = predicate.must(anyField);
+        }
+        return predicate;
+    }
+
+    private SearchSession searchSession() {
+        return Search.session(entityManager);
+    }
+}
@@ -0,0 +1,139 @@
+package com.green.firm.service;
+
+import com.green.firm.config.ApplicationProperties;
+import com.green.firm.domain.Customer;
+import com.green.firm.domain.CustomerBought;
+import com.green.firm.domain.enumeration.paymentStatus;
+import com.green.firm.domain.enumeration.weightTypes;
+import com.green.firm.service.dto.CustomerBoughtDTO;
+import com.green.firm.service.dto.CustomerDTO;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Row;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+/**
+ * Service class streaming {@link Customer} and {@link CustomerBought} without blocking, for the read-only stream API.
+ * <p>
+ * The rows are read over R2DBC, from the same schema as the one managed by Liquibase for JPA, and emitted as they
+ * arrive, as fast as the client consumes them: neither a thread nor a JDBC connection is held meanwhile.
+ * They are mapped straight to the DTOs of the REST API.
+ */
+@Service
+public class CustomerStreamService {
+
+    private final Logger log = LoggerFactory.getLogger(CustomerStreamService.class);
+
+    private static final String CUSTOMER_SELECT = "select id, version, name, email, phone, address from customer";
+
+    private static final String CUSTOMER_BOUGHT_SELECT =
+        "select customer_bought.id, customer_bought.version, customer_bought.weight_type, customer_bought.unit_price_cents," +
+        " customer_bought.total_price_cents, customer_bought.delivery_date, customer_bought.remarks, customer_bought.status," +
+        " customer_bought.total_weight, product_type.id as product_type_id, product_type.name as product_type_name," +
+        " customer.id as customer_id, customer.name as customer_name" +
+        " from customer_bought" +
+        " join product_type on product_type.id = customer_bought.product_type_id" +
+        " join customer on customer.id = customer_bought.customer_id";
+
+    private final DatabaseClient databaseClient;
+
+    private final int fetchSize;
+
+    public CustomerStreamService(ConnectionFactory connectionFactory, ApplicationProperties applicationProperties) {
+        this.databaseClient = DatabaseClient.create(connectionFactory);
+        this.fetchSize = applicationProperties.getExport().getFetchSize();
+    }
+
+    /**
+     * Stream all the customers, ordered by id.
+     *
+     * @return the customers.
+     */
+    public Flux<CustomerDTO> streamCustomers() {
+        log.debug("Request to stream Customers");
+        return databaseClient
+            .sql(CUSTOMER_SELECT + " order by id")
+            .filter((statement, next) -> next.execute(statement.fetchSize(fetchSize)))
+            .map((row, metadata) -> toCustomerDTO(row))
+            .all();
+    }
+
+    /**
+     * Stream the customerBoughts delivered in the given period, ordered by id.
+     *
+     * @param customerId the customer who bought them, or {@code null} for all the customers.
+     * @param from the start of the period, inclusive, or {@code null} for no lower bound.
+     * @param to the end of the period, exclusive, or {@code null} for no upper bound.
+     * @return the customerBoughts.
+     */
+    public Flux<CustomerBoughtDTO> streamCustomerBoughts(Long customerId, ZonedDateTime from, ZonedDateTime to) {
+        log.debug("Request to stream CustomerBoughts of Customer {} from {} to {}", customerId, from, to);
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        if (customerId != null) {
+            conditions.add("customer_bought.customer_id = :customerId");
+            parameters.put("customerId", customerId);
+        }
+        // the dates are stored in UTC, as configured by hibernate.jdbc.time_zone
+        if (from != null) {
+            conditions.add("customer_bought.delivery_date >= :from");
+            parameters.put("from", from.withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime());
+        }
+        if (to != null) {
+            conditions.add("customer_bought.delivery_date < :to");
+            parameters.put("to", to.withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime());
+        }
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(
+            CUSTOMER_BOUGHT_SELECT +
+            (conditions.isEmpty() ? "" : " where " + String.join(" and ", conditions)) +
+            " order by customer_bought.id"
+        );
+        for (Map.Entry<String, Object> parameter : parameters.entrySet()) {
+            spec = spec.bind(parameter.getKey(), parameter.getValue());
+        }
+        return spec
+            .filter((statement, next) -> next.execute(statement.fetchSize(fetchSize)))
+            .map((row, metadata) -> toCustomerBoughtDTO(row))
+            .all();
+    }
+
+    private static CustomerDTO toCustomerDTO(Row row) {
+        CustomerDTO customerDTO = new CustomerDTO(row.get("id", Long.class), row.get("name", String.class));
+        customerDTO.setVersion(row.get("version", Long.class));
+        customerDTO.setEmail(row.get("email", String.class));
+        customerDTO.setPhone(row.get("phone", String.class));
+        customerDTO.setAddress(row.get("address", String.class));
+        return customerDTO;
+    }
+
+    private static CustomerBoughtDTO toCustomerBoughtDTO(Row row) {
+        String weightType = row.get("weight_type", String.class);
+        String status = row.get("status", String.class);
+        LocalDateTime deliveryDate = row.get("delivery_date", LocalDateTime.class);
+        return new CustomerBoughtDTO(
+            row.get("id", Long.class),
+            row.get("version", Long.class),
+            weightType == null ? null : weightTypes.valueOf(weightType),
+            row.get("unit_price_cents", Long.class),
+            row.get("total_price_cents", Long.class),
+            deliveryDate == null ? null : deliveryDate.atZone(ZoneOffset.UTC),
+            row.get("remarks", String.class),
+            status == null ? null : paymentStatus.valueOf(status),
+            row.get("total_weight", Integer.class),
+            row.get("product_type_id", Long.class),
+            row.get("product_type_name", String.class),
+            row.get("customer_id", Long.class),
+            row.get("customer_name", String.class)
+        );
+    }
+}
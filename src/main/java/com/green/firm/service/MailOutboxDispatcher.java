@@ -0,0 +1,238 @@
+package com.green.firm.service;
+
+import com.green.firm.config.ApplicationProperties;
+import com.green.firm.domain.OutboxMessage;
+import com.green.firm.domain.enumeration.OutboxStatus;
+import com.green.firm.repository.OutboxMessageRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Service sending the emails queued in the outbox by the {@link MailService}.
+ * <p>
+ * The outbox is polled regularly, and drained by the workers of the {@code mailTaskExecutor}. Each worker claims
+ * a batch of due emails and sends it over a single SMTP connection. The failed emails are retried later, with
+ * an exponential backoff, until they are given up. An email is sent at least once: should a worker die while
+ * sending a batch, the batch is sent again when its lease expires.
+ */
+@Service
+public class MailOutboxDispatcher {
+
+    private final Logger log = LoggerFactory.getLogger(MailOutboxDispatcher.class);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxMessageRepository outboxMessageRepository;
+
+    private final JavaMailSender javaMailSender;
+
+    private final JHipsterProperties jHipsterProperties;
+
+    private final ApplicationProperties.Mail mailProperties;
+
+    private final ThreadPoolTaskExecutor mailTaskExecutor;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter sentCounter;
+
+    private final Counter retriedCounter;
+
+    private final Counter failedCounter;
+
+    private final Timer batchTimer;
+
+    /**
+     * The due emails found by the last poll of the outbox, at most a batch of them: the gauge reads it, so that a
+     * scrape of the metrics does not query the outbox.
+     */
+    private final AtomicLong pending = new AtomicLong();
+
+    public MailOutboxDispatcher(
+        OutboxMessageRepository outboxMessageRepository,
+        JavaMailSender javaMailSender,
+        JHipsterProperties jHipsterProperties,
+        ApplicationProperties applicationProperties,
+        @Qualifier("mailTaskExecutor") ThreadPoolTaskExecutor mailTaskExecutor,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry
+    ) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.javaMailSender = javaMailSender;
+        this.jHipsterProperties = jHipsterProperties;
+        this.mailProperties = applicationProperties.getMail();
+        this.mailTaskExecutor = mailTaskExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sentCounter = meterRegistry.counter("mail.outbox.messages", "outcome", "sent");
+        this.retriedCounter = meterRegistry.counter("mail.outbox.messages", "outcome", "retried");
+        this.failedCounter = meterRegistry.counter("mail.outbox.messages", "outcome", "failed");
+        this.batchTimer = Timer.builder("mail.outbox.batch").description("Time spent sending a batch over SMTP").register(meterRegistry);
+        Gauge
+            .builder("mail.outbox.pending", pending, AtomicLong::get)
+            .description("Emails due to be sent, up to a batch, as found by the last poll of the outbox")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Start draining the outbox on each idle worker.
+     * <p>
+     * This is scheduled to run every {@code application.mail.poll-interval}.
+     */
+    @Scheduled(fixedDelayString = "${application.mail.poll-interval}", initialDelayString = "${application.mail.poll-interval}")
+    public void dispatch() {
+        for (int i = 0; i < mailProperties.getWorkers(); i++) {
+            try {
+                mailTaskExecutor.execute(this::drain);
+            } catch (TaskRejectedException e) {
+                // all the workers are busy: they are still draining the outbox
+                return;
+            }
+        }
+    }
+
+    /**
+     * Send the due emails, batch by batch, until there is none left.
+     *
+     * @return the number of emails handled, sent or not.
+     */
+    public int drain() {
+        int handled = 0;
+        List<OutboxMessage> batch = claimBatch();
+        while (!batch.isEmpty()) {
+            sendBatch(batch);
+            handled += batch.size();
+            if (Thread.currentThread().isInterrupted()) {
+                // shutting down: the remaining emails are left to the next start
+                break;
+            }
+            batch = claimBatch();
+        }
+        return handled;
+    }
+
+    /**
+     * Delete the emails sent for longer than the retention period.
+     * <p>
+     * This is scheduled to run every day, at 04:00.
+     */
+    @Scheduled(cron = "0 0 4 * * ?")
+    public void purgeSentMessages() {
+        Integer deleted = transactionTemplate.execute(
+            status -> outboxMessageRepository.deleteSentBefore(OutboxStatus.SENT, Instant.now().minus(mailProperties.getRetention()))
+        );
+        log.debug("Deleted {} sent emails from the outbox", deleted);
+    }
+
+    private List<OutboxMessage> claimBatch() {
+        List<OutboxMessage> batch = transactionTemplate.execute(
+            status -> {
+                Instant now = Instant.now();
+                List<Long> ids = outboxMessageRepository.findDueIds(OutboxStatus.PENDING, now, PageRequest.of(0, mailProperties.getBatchSize()));
+                pending.set(ids.size());
+                if (ids.isEmpty()) {
+                    return Collections.emptyList();
+                }
+                String claimToken = UUID.randomUUID().toString();
+                outboxMessageRepository.claim(ids, OutboxStatus.PENDING, now, claimToken, now.plus(mailProperties.getLease()));
+                return outboxMessageRepository.findByClaimToken(claimToken);
+            }
+        );
+        return batch == null ? Collections.emptyList() : batch;
+    }
+
+    private void sendBatch(List<OutboxMessage> batch) {
+        log.debug("Sending a batch of {} emails", batch.size());
+        Map<Long, String> errors = new HashMap<>();
+        // MimeMessage does not override equals: the messages are mapped by identity
+        Map<MimeMessage, OutboxMessage> mimeMessages = new IdentityHashMap<>();
+        for (OutboxMessage message : batch) {
+            try {
+                mimeMessages.put(toMimeMessage(message), message);
+            } catch (MessagingException e) {
+                errors.put(message.getId(), e.getMessage());
+            }
+        }
+        if (!mimeMessages.isEmpty()) {
+            try {
+                batchTimer.record(() -> javaMailSender.send(mimeMessages.keySet().toArray(new MimeMessage[0])));
+            } catch (MailSendException e) {
+                // the messages which failed, or all of them if the connection failed
+                e.getFailedMessages().forEach((mimeMessage, exception) -> errors.put(mimeMessages.get(mimeMessage).getId(), exception.getMessage()));
+                if (e.getFailedMessages().isEmpty()) {
+                    mimeMessages.values().forEach(message -> errors.put(message.getId(), e.getMessage()));
+                }
+            } catch (MailException e) {
+                mimeMessages.values().forEach(message -> errors.put(message.getId(), e.getMessage()));
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> recordOutcome(batch, errors));
+    }
+
+    private MimeMessage toMimeMessage(OutboxMessage message) throws MessagingException {
+        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, message.isMultipart(), StandardCharsets.UTF_8.name());
+        helper.setTo(message.getRecipient());
+        helper.setFrom(jHipsterProperties.getMail().getFrom());
+        helper.setSubject(message.getSubject());
+        helper.setText(message.getContent(), message.isHtml());
+        return mimeMessage;
+    }
+
+    private void recordOutcome(List<OutboxMessage> batch, Map<Long, String> errors) {
+        Instant now = Instant.now();
+        List<Long> sentIds = batch.stream().map(OutboxMessage::getId).filter(id -> !errors.containsKey(id)).collect(Collectors.toList());
+        if (!sentIds.isEmpty()) {
+            outboxMessageRepository.markSent(sentIds, OutboxStatus.SENT, now);
+            sentCounter.increment(sentIds.size());
+        }
+        if (errors.isEmpty()) {
+            return;
+        }
+        for (OutboxMessage message : outboxMessageRepository.findAllById(errors.keySet())) {
+            String error = Objects.toString(errors.get(message.getId()), "unknown error");
+            message.lastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+            if (message.getAttempts() >= mailProperties.getMaxAttempts()) {
+                log.warn("Email to '{}' given up after {} attempts: {}", message.getRecipient(), message.getAttempts(), error);
+                message.status(OutboxStatus.FAILED);
+                failedCounter.increment();
+            } else {
+                log.info("Email to '{}' could not be sent, it will be retried: {}", message.getRecipient(), error);
+                message.nextAttemptAt(now.plus(backoff(message.getAttempts())));
+                retriedCounter.increment();
+            }
+        }
+    }
+
+    /**
+     * The delay before the next attempt: the initial backoff, doubled after each failed attempt, up to the maximum backoff.
+     */
+    private Duration backoff(int attempts) {
+        Duration backoff = mailProperties.getInitialBackoff().multipliedBy(1L << Math.min(Math.max(attempts - 1, 0), 30));
+        return backoff.compareTo(mailProperties.getMaxBackoff()) > 0 ? mailProperties.getMaxBackoff() : backoff;
+    }
+}
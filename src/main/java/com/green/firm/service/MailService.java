@@ -1,18 +1,17 @@
 package com.green.firm.service;
 
+import com.green.firm.domain.OutboxMessage;
 import com.green.firm.domain.User;
-import java.nio.charset.StandardCharsets;
-import java.util.Locale;
-import javax.mail.MessagingException;
-import javax.mail.internet.MimeMessage;
+import com.green.firm.domain.enumeration.OutboxStatus;
+import com.green.firm.repository.OutboxMessageRepository;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.MessageSource;
-import org.springframework.mail.MailException;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.thymeleaf.context.Context;
 import org.thymeleaf.spring5.SpringTemplateEngine;
 import tech.jhipster.config.JHipsterProperties;
@@ -20,9 +19,12 @@ import tech.jhipster.config.JHipsterProperties;
 /**
  * Service for sending emails.
  * <p>
- * We use the {@link Async} annotation to send emails asynchronously.
+ * The emails are not sent right away: they are queued in the outbox, in the transaction of the caller if there is one,
+ * so that they are neither lost when the SMTP server is down nor sent for a change which was rolled back.
+ * The {@link MailOutboxDispatcher} sends them in the background.
  */
 @Service
+@Transactional
 public class MailService {
 
     private final Logger log = LoggerFactory.getLogger(MailService.class);
@@ -33,78 +35,111 @@ public class MailService {
 
     private final JHipsterProperties jHipsterProperties;
 
-    private final JavaMailSender javaMailSender;
-
     private final MessageSource messageSource;
 
     private final SpringTemplateEngine templateEngine;
 
+    private final OutboxMessageRepository outboxMessageRepository;
+
+    private final Map<String, String> subjects = new ConcurrentHashMap<>();
+
     public MailService(
         JHipsterProperties jHipsterProperties,
-        JavaMailSender javaMailSender,
         MessageSource messageSource,
-        SpringTemplateEngine templateEngine
+        SpringTemplateEngine templateEngine,
+        OutboxMessageRepository outboxMessageRepository
     ) {
         this.jHipsterProperties = jHipsterProperties;
-        this.javaMailSender = javaMailSender;
         this.messageSource = messageSource;
         this.templateEngine = templateEngine;
+        this.outboxMessageRepository = outboxMessageRepository;
     }
 
-    @Async
     public void sendEmail(String to, String subject, String content, boolean isMultipart, boolean isHtml) {
         log.debug(
-            "Send email[multipart '{}' and html '{}'] to '{}' with subject '{}' and content={}",
+            "Queue email[multipart '{}' and html '{}'] to '{}' with subject '{}' and content={}",
             isMultipart,
             isHtml,
             to,
             subject,
             content
         );
-
-        // Prepare message using a Spring helper
-        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
-        try {
-            MimeMessageHelper message = new MimeMessageHelper(mimeMessage, isMultipart, StandardCharsets.UTF_8.name());
-            message.setTo(to);
-            message.setFrom(jHipsterProperties.getMail().getFrom());
-            message.setSubject(subject);
-            message.setText(content, isHtml);
-            javaMailSender.send(mimeMessage);
-            log.debug("Sent email to User '{}'", to);
-        } catch (MailException | MessagingException e) {
-            log.warn("Email could not be sent to user '{}'", to, e);
-        }
+        outboxMessageRepository.save(toOutboxMessage(to, subject, content, isMultipart, isHtml));
     }
 
-    @Async
     public void sendEmailFromTemplate(User user, String templateName, String titleKey) {
-        if (user.getEmail() == null) {
-            log.debug("Email doesn't exist for user '{}'", user.getLogin());
-            return;
+        sendEmailFromTemplate(Collections.singletonList(user), templateName, titleKey);
+    }
+
+    /**
+     * Queue the same templated email to many users.
+     * <p>
+     * The users are grouped by language: the subject is looked up and the Thymeleaf context is built once per
+     * language, and the emails are queued with a single {@code saveAll}.
+     *
+     * @param users the recipients.
+     * @param templateName the name of the Thymeleaf template.
+     * @param titleKey the message key of the subject.
+     */
+    public void sendEmailFromTemplate(Collection<User> users, String templateName, String titleKey) {
+        Map<String, List<User>> usersByLangKey = new LinkedHashMap<>();
+        for (User user : users) {
+            if (user.getEmail() == null) {
+                log.debug("Email doesn't exist for user '{}'", user.getLogin());
+                continue;
+            }
+            usersByLangKey.computeIfAbsent(user.getLangKey(), langKey -> new ArrayList<>()).add(user);
         }
-        Locale locale = Locale.forLanguageTag(user.getLangKey());
-        Context context = new Context(locale);
-        context.setVariable(USER, user);
-        context.setVariable(BASE_URL, jHipsterProperties.getMail().getBaseUrl());
-        String content = templateEngine.process(templateName, context);
-        String subject = messageSource.getMessage(titleKey, null, locale);
-        sendEmail(user.getEmail(), subject, content, false, true);
+        List<OutboxMessage> messages = new ArrayList<>();
+        usersByLangKey.forEach(
+            (langKey, langUsers) -> {
+                Locale locale = Locale.forLanguageTag(langKey);
+                String subject = getSubject(titleKey, locale);
+                Context context = new Context(locale);
+                context.setVariable(BASE_URL, jHipsterProperties.getMail().getBaseUrl());
+                for (User user : langUsers) {
+                    context.setVariable(USER, user);
+                    String content = templateEngine.process(templateName, context);
+                    messages.add(toOutboxMessage(user.getEmail(), subject, content, false, true));
+                }
+            }
+        );
+        if (!messages.isEmpty()) {
+            log.debug("Queue {} emails from template '{}'", messages.size(), templateName);
+            outboxMessageRepository.saveAll(messages);
+        }
+    }
+
+    /**
+     * The localized subjects never change while the application runs: they are only looked up once.
+     */
+    private String getSubject(String titleKey, Locale locale) {
+        return subjects.computeIfAbsent(titleKey + '|' + locale.toLanguageTag(), key -> messageSource.getMessage(titleKey, null, locale));
+    }
+
+    private static OutboxMessage toOutboxMessage(String to, String subject, String content, boolean isMultipart, boolean isHtml) {
+        Instant now = Instant.now();
+        return new OutboxMessage()
+            .recipient(to)
+            .subject(subject)
+            .content(content)
+            .multipart(isMultipart)
+            .html(isHtml)
+            .status(OutboxStatus.PENDING)
+            .nextAttemptAt(now)
+            .createdDate(now);
     }
 
-    @Async
     public void sendActivationEmail(User user) {
         log.debug("Sending activation email to '{}'", user.getEmail());
         sendEmailFromTemplate(user, "mail/activationEmail", "email.activation.title");
     }
 
-    @Async
     public void sendCreationEmail(User user) {
         log.debug("Sending creation email to '{}'", user.getEmail());
         sendEmailFromTemplate(user, "mail/creationEmail", "email.activation.title");
     }
 
-    @Async
     public void sendPasswordResetMail(User user) {
         log.debug("Sending password reset email to '{}'", user.getEmail());
         sendEmailFromTemplate(user, "mail/passwordResetEmail", "email.reset.title");
@@ -0,0 +1,215 @@
+package com.green.firm.service;
+
+import java.util.Arrays;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Trie of phone numbers, keeping the ids of the customers having each of them.
+ * <p>
+ * The phone numbers are reduced to their digits. The nodes and the ids are held in a few primitive arrays, grown by
+ * doubling, rather than in an object per node: the child of node {@code n} for a digit {@code d} is
+ * {@code children[n * 10 + d]}, 0 standing for none since the root, node 0, is no one's child. The ids of the phone
+ * numbers ending at a node are chained from {@code heads[n]} through {@code next}, from slot 1 so that 0 ends the
+ * chains; the slots of the removed ids are reused, while the nodes are kept.
+ * <p>
+ * It is not thread-safe.
+ */
+final class PhoneTrie {
+
+    private static final int RADIX = 10;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private static final int FREE = -1;
+
+    private int[] children = new int[INITIAL_CAPACITY * RADIX];
+
+    private int[] heads = new int[INITIAL_CAPACITY];
+
+    private int nodeCount = 1;
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+
+    private int[] next = new int[INITIAL_CAPACITY];
+
+    private int[] owners = new int[INITIAL_CAPACITY];
+
+    private int slotCount = 1;
+
+    private int freeSlots;
+
+    private int size;
+
+    /**
+     * @param phone a phone number, as typed.
+     * @return its digits, empty if it has none.
+     */
+    static String normalize(String phone) {
+        if (phone == null) {
+            return "";
+        }
+        StringBuilder digits = new StringBuilder(phone.length());
+        for (int i = 0; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+
+    /**
+     * Set the phone number of a customer, replacing the previous one.
+     *
+     * @param id the id of the customer.
+     * @param phone the phone number, ignored if it has no digits.
+     */
+    void put(long id, String phone) {
+        remove(id);
+        add(id, phone);
+    }
+
+    /**
+     * Add the phone number of a customer who has none in the trie yet, as when the trie is built.
+     *
+     * @param id the id of the customer.
+     * @param phone the phone number, ignored if it has no digits.
+     */
+    void add(long id, String phone) {
+        String digits = normalize(phone);
+        if (digits.isEmpty()) {
+            return;
+        }
+        int node = 0;
+        for (int i = 0; i < digits.length(); i++) {
+            int edge = node * RADIX + digits.charAt(i) - '0';
+            if (children[edge] == 0) {
+                // the arrays may be replaced by newNode
+                int child = newNode();
+                children[edge] = child;
+            }
+            node = children[edge];
+        }
+        int slot = newSlot();
+        ids[slot] = id;
+        owners[slot] = node;
+        next[slot] = heads[node];
+        heads[node] = slot;
+        size++;
+    }
+
+    /**
+     * Remove the phone number of a customer.
+     * <p>
+     * The ids are scanned, which is cheap enough for the occasional changes of the customers.
+     *
+     * @param id the id of the customer.
+     * @return whether the customer was in the trie.
+     */
+    boolean remove(long id) {
+        for (int slot = 1; slot < slotCount; slot++) {
+            if (ids[slot] == id && owners[slot] != FREE) {
+                unlink(slot);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Find the customers whose phone number starts with the given digits, the shortest phone numbers first,
+     * then in the order of their digits.
+     *
+     * @param prefix the start of the phone numbers, only its digits are considered.
+     * @param limit the maximum number of customers to find.
+     * @param consumer called with the digits of the phone number and the id of each customer found.
+     * @return the number of customers found.
+     */
+    int find(String prefix, int limit, ObjLongConsumer<String> consumer) {
+        String digits = normalize(prefix);
+        if (limit <= 0) {
+            return 0;
+        }
+        int node = 0;
+        for (int i = 0; i < digits.length(); i++) {
+            node = children[node * RADIX + digits.charAt(i) - '0'];
+            if (node == 0) {
+                return 0;
+            }
+        }
+        return collect(node, new StringBuilder(digits), limit, consumer);
+    }
+
+    /**
+     * @return the number of customers in the trie.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return the number of bytes taken by the arrays of the trie, which dominate its memory footprint.
+     */
+    long memoryBytes() {
+        return (long) Integer.BYTES * (children.length + heads.length + next.length + owners.length) + (long) Long.BYTES * ids.length;
+    }
+
+    private int collect(int node, StringBuilder digits, int limit, ObjLongConsumer<String> consumer) {
+        int found = 0;
+        if (heads[node] != 0) {
+            String phone = digits.toString();
+            for (int slot = heads[node]; slot != 0 && found < limit; slot = next[slot]) {
+                consumer.accept(phone, ids[slot]);
+                found++;
+            }
+        }
+        for (int digit = 0; digit < RADIX && found < limit; digit++) {
+            int child = children[node * RADIX + digit];
+            if (child != 0) {
+                digits.append((char) ('0' + digit));
+                found += collect(child, digits, limit - found, consumer);
+                digits.setLength(digits.length() - 1);
+            }
+        }
+        return found;
+    }
+
+    private void unlink(int slot) {
+        int node = owners[slot];
+        if (heads[node] == slot) {
+            heads[node] = next[slot];
+        } else {
+            int previous = heads[node];
+            while (next[previous] != slot) {
+                previous = next[previous];
+            }
+            next[previous] = next[slot];
+        }
+        owners[slot] = FREE;
+        next[slot] = freeSlots;
+        freeSlots = slot;
+        size--;
+    }
+
+    private int newNode() {
+        if (nodeCount == heads.length) {
+            heads = Arrays.copyOf(heads, heads.length * 2);
+            children = Arrays.copyOf(children, heads.length * RADIX);
+        }
+        return nodeCount++;
+    }
+
+    private int newSlot() {
+        if (freeSlots != 0) {
+            int slot = freeSlots;
+            freeSlots = next[slot];
+            return slot;
+        }
+        if (slotCount == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+            next = Arrays.copyOf(next, ids.length);
+            owners = Arrays.copyOf(owners, ids.length);
+        }
+        return slotCount++;
+    }
+}
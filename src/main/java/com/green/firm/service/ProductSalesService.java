@@ -0,0 +1,228 @@
+package com.green.firm.service;
+
+import com.green.firm.domain.CustomerBought;
+import com.green.firm.domain.Money;
+import com.green.firm.domain.ProductSales;
+import com.green.firm.domain.ProductType;
+import com.green.firm.domain.RollupWatermark;
+import com.green.firm.domain.enumeration.weightTypes;
+import com.green.firm.repository.CustomerBoughtRepository;
+import com.green.firm.repository.CustomerBoughtRepository.CustomerBoughtSale;
+import com.green.firm.repository.ProductSalesRepository;
+import com.green.firm.repository.ProductTypeRepository;
+import com.green.firm.repository.RollupWatermarkRepository;
+import com.green.firm.service.dto.ProductSalesDTO;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service class maintaining the {@link ProductSales}, the daily sales of each product type, and reading them.
+ * <p>
+ * The {@link CustomerBought} are rolled up in the order of their ids, batch by batch, after the id of the last one
+ * rolled up, which is kept as a {@link RollupWatermark}. As the ids are allocated by blocks, a customerBought may be
+ * committed after others with greater ids, and be passed over; the changes and deletions of the customerBoughts
+ * already rolled up are not followed either. So the sales of every product type are also rolled up again from their
+ * whole history every night, to repair them.
+ */
+@Service
+public class ProductSalesService {
+
+    private final Logger log = LoggerFactory.getLogger(ProductSalesService.class);
+
+    private static final String WATERMARK = "product_sales";
+
+    /**
+     * Number of customerBoughts rolled up in a single transaction.
+     */
+    private static final int BATCH_SIZE = 1000;
+
+    /**
+     * The periods the daily sales can be rolled up to.
+     */
+    public enum Granularity {
+        DAY,
+        WEEK,
+        MONTH;
+
+        /**
+         * @param day a day.
+         * @return the first day of the period it belongs to; the weeks start on Monday.
+         */
+        public LocalDate periodOf(LocalDate day) {
+            switch (this) {
+                case WEEK:
+                    return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTH:
+                    return day.withDayOfMonth(1);
+                default:
+                    return day;
+            }
+        }
+    }
+
+    private final ProductSalesRepository productSalesRepository;
+
+    private final RollupWatermarkRepository rollupWatermarkRepository;
+
+    private final CustomerBoughtRepository customerBoughtRepository;
+
+    private final ProductTypeRepository productTypeRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public ProductSalesService(
+        ProductSalesRepository productSalesRepository,
+        RollupWatermarkRepository rollupWatermarkRepository,
+        CustomerBoughtRepository customerBoughtRepository,
+        ProductTypeRepository productTypeRepository,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.productSalesRepository = productSalesRepository;
+        this.rollupWatermarkRepository = rollupWatermarkRepository;
+        this.customerBoughtRepository = customerBoughtRepository;
+        this.productTypeRepository = productTypeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Get the sales of a product type over a period, by day, week or month, and by weight type.
+     *
+     * @param productTypeId the id of the product type.
+     * @param from the first day of the period.
+     * @param to the day ending the period, excluded.
+     * @param granularity the periods to roll the daily sales up to.
+     * @return the sales, in the order of the periods then of the weight types; the periods without sales are omitted.
+     */
+    @Transactional(readOnly = true)
+    public List<ProductSalesDTO> findSales(Long productTypeId, LocalDate from, LocalDate to, Granularity granularity) {
+        log.debug("Request to get the {} sales of ProductType {} from {} to {}", granularity, productTypeId, from, to);
+        Map<List<Object>, ProductSalesDTO> sales = new LinkedHashMap<>();
+        for (ProductSales dailySales : productSalesRepository.findDailySales(productTypeId, from, to)) {
+            LocalDate period = granularity.periodOf(dailySales.getSalesDate());
+            ProductSalesDTO periodSales = sales.computeIfAbsent(
+                List.of(period, dailySales.getWeightType()),
+                key -> new ProductSalesDTO(period, dailySales.getWeightType())
+            );
+            periodSales.setTotalWeight(periodSales.getTotalWeight() + dailySales.getTotalWeight());
+            periodSales.setRevenue(periodSales.getRevenue().add(Money.toAmount(dailySales.getRevenue())));
+            periodSales.setOrderCount(periodSales.getOrderCount() + dailySales.getOrderCount());
+        }
+        List<ProductSalesDTO> result = new ArrayList<>(sales.values());
+        result.sort(Comparator.comparing(ProductSalesDTO::getPeriod).thenComparing(ProductSalesDTO::getWeightType));
+        return result;
+    }
+
+    /**
+     * Roll up the customerBoughts created since the last run, batch by batch.
+     * <p>
+     * This is scheduled to run every {@code application.sales.rollup-interval}.
+     *
+     * @return the number of customerBoughts rolled up.
+     */
+    @Scheduled(fixedDelayString = "${application.sales.rollup-interval}", initialDelayString = "${application.sales.rollup-interval}")
+    public long rollUp() {
+        long rolledUp = 0;
+        int batch;
+        do {
+            batch = Objects.requireNonNull(transactionTemplate.execute(status -> rollUpBatch()));
+            rolledUp += batch;
+        } while (batch == BATCH_SIZE);
+        if (rolledUp > 0) {
+            log.debug("Rolled up {} CustomerBoughts into the ProductSales", rolledUp);
+        }
+        return rolledUp;
+    }
+
+    /**
+     * Roll up the sales of all the product types again, from their whole history.
+     * <p>
+     * This is scheduled to run every night, at 04:30.
+     */
+    @Scheduled(cron = "0 30 4 * * ?")
+    public void rebuildAll() {
+        log.info("Rebuilding the ProductSales");
+        for (ProductType productType : productTypeRepository.findAll()) {
+            transactionTemplate.executeWithoutResult(status -> rebuild(productType.getId()));
+        }
+        log.info("Rebuilt the ProductSales");
+    }
+
+    private int rollUpBatch() {
+        RollupWatermark watermark = lockWatermark();
+        List<CustomerBoughtSale> customerBoughts = customerBoughtRepository.findSalesAfter(
+            watermark.getLastId(),
+            PageRequest.of(0, BATCH_SIZE)
+        );
+        if (customerBoughts.isEmpty()) {
+            return 0;
+        }
+        for (ProductSales delta : aggregate(customerBoughts.stream())) {
+            int updated = productSalesRepository.applyDelta(
+                delta.getProductTypeId(),
+                delta.getSalesDate(),
+                delta.getWeightType(),
+                delta.getTotalWeight(),
+                delta.getRevenue(),
+                delta.getOrderCount()
+            );
+            if (updated == 0) {
+                productSalesRepository.save(delta);
+            }
+        }
+        watermark.setLastId(customerBoughts.get(customerBoughts.size() - 1).getId());
+        return customerBoughts.size();
+    }
+
+    /**
+     * Replace the sales of a product type by the ones rolled up from its customerBoughts, up to the watermark.
+     */
+    private void rebuild(Long productTypeId) {
+        RollupWatermark watermark = lockWatermark();
+        List<ProductSales> sales;
+        try (Stream<CustomerBoughtSale> customerBoughts = customerBoughtRepository.streamSales(productTypeId, watermark.getLastId())) {
+            sales = aggregate(customerBoughts);
+        }
+        productSalesRepository.deleteByProductTypeId(productTypeId);
+        productSalesRepository.saveAll(sales);
+    }
+
+    private RollupWatermark lockWatermark() {
+        return rollupWatermarkRepository
+            .findForUpdate(WATERMARK)
+            .orElseGet(() -> rollupWatermarkRepository.save(new RollupWatermark().name(WATERMARK).lastId(0L)));
+    }
+
+    private static List<ProductSales> aggregate(Stream<CustomerBoughtSale> customerBoughts) {
+        Map<List<Object>, ProductSales> sales = new LinkedHashMap<>();
+        customerBoughts.forEach(
+            customerBought -> {
+                LocalDate day = customerBought.getDeliveryDate().withZoneSameInstant(ZoneOffset.UTC).toLocalDate();
+                weightTypes weightType = customerBought.getWeightType();
+                sales
+                    .computeIfAbsent(
+                        List.of(customerBought.getProductTypeId(), day, weightType),
+                        key -> new ProductSales().productTypeId(customerBought.getProductTypeId()).salesDate(day).weightType(weightType)
+                    )
+                    .add(customerBought.getTotalWeight(), customerBought.getTotalPrice());
+            }
+        );
+        return new ArrayList<>(sales.values());
+    }
+}
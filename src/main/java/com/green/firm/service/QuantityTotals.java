@@ -0,0 +1,85 @@
+package com.green.firm.service;
+
+import com.green.firm.domain.enumeration.weightTypes;
+import com.green.firm.domain.enumeration.weightTypes.Dimension;
+
+/**
+ * Sums of quantities given in any {@link weightTypes}, kept exactly in grams and millilitres.
+ * <p>
+ * The sums are held in a {@code long} per dimension, so that adding a quantity does not box it nor round it, and the
+ * quantities of all the weight types are summed in a single pass. They are only converted back to a weight type,
+ * approximately, when read.
+ * <p>
+ * It is not thread-safe.
+ */
+public final class QuantityTotals {
+
+    private static final Dimension[] DIMENSIONS = Dimension.values();
+
+    private final long[] baseQuantities = new long[DIMENSIONS.length];
+
+    /**
+     * Add a quantity given in a weight type.
+     *
+     * @param weightType the weight type of the quantity.
+     * @param quantity the quantity.
+     * @return this.
+     * @throws ArithmeticException if the sum overflows a {@code long}.
+     */
+    public QuantityTotals add(weightTypes weightType, long quantity) {
+        return addBase(weightType.getDimension(), weightType.toBaseQuantity(quantity));
+    }
+
+    /**
+     * Add a quantity already in grams or millilitres, e.g. summed by the database.
+     *
+     * @param dimension the dimension of the quantity.
+     * @param baseQuantity the quantity, in the base unit of its dimension.
+     * @return this.
+     * @throws ArithmeticException if the sum overflows a {@code long}.
+     */
+    public QuantityTotals addBase(Dimension dimension, long baseQuantity) {
+        int index = dimension.ordinal();
+        baseQuantities[index] = Math.addExact(baseQuantities[index], baseQuantity);
+        return this;
+    }
+
+    /**
+     * Add the sums of other totals, e.g. computed in parallel.
+     *
+     * @param other the other totals.
+     * @return this.
+     * @throws ArithmeticException if a sum overflows a {@code long}.
+     */
+    public QuantityTotals addAll(QuantityTotals other) {
+        for (int i = 0; i < baseQuantities.length; i++) {
+            baseQuantities[i] = Math.addExact(baseQuantities[i], other.baseQuantities[i]);
+        }
+        return this;
+    }
+
+    /**
+     * @param dimension a dimension.
+     * @return the sum of the quantities of this dimension, in grams or millilitres.
+     */
+    public long getBaseQuantity(Dimension dimension) {
+        return baseQuantities[dimension.ordinal()];
+    }
+
+    /**
+     * @param weightType a weight type.
+     * @return the sum of the quantities of its dimension, converted to this weight type.
+     */
+    public double in(weightTypes weightType) {
+        return (double) getBaseQuantity(weightType.getDimension()) / weightType.getBaseUnits();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "QuantityTotals{" +
+            "grams=" + getBaseQuantity(Dimension.MASS) +
+            ", millilitres=" + getBaseQuantity(Dimension.VOLUME) +
+            "}";
+    }
+}
@@ -15,6 +15,7 @@ import java.util.*;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -38,10 +39,18 @@ public class UserService {
 
     private final AuthorityRepository authorityRepository;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, AuthorityRepository authorityRepository) {
+    private final CacheManager cacheManager;
+
+    public UserService(
+        UserRepository userRepository,
+        PasswordEncoder passwordEncoder,
+        AuthorityRepository authorityRepository,
+        CacheManager cacheManager
+    ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authorityRepository = authorityRepository;
+        this.cacheManager = cacheManager;
     }
 
     public Optional<User> activateRegistration(String key) {
@@ -53,6 +62,7 @@ public class UserService {
                     // activate given user for the registration key.
                     user.setActivated(true);
                     user.setActivationKey(null);
+                    this.clearUserCaches(user);
                     log.debug("Activated user: {}", user);
                     return user;
                 }
@@ -69,6 +79,7 @@ public class UserService {
                     user.setPassword(passwordEncoder.encode(newPassword));
                     user.setResetKey(null);
                     user.setResetDate(null);
+                    this.clearUserCaches(user);
                     return user;
                 }
             );
@@ -82,6 +93,7 @@ public class UserService {
                 user -> {
                     user.setResetKey(RandomUtil.generateResetKey());
                     user.setResetDate(Instant.now());
+                    this.clearUserCaches(user);
                     return user;
                 }
             );
@@ -128,6 +140,7 @@ public class UserService {
         authorityRepository.findById(AuthoritiesConstants.USER).ifPresent(authorities::add);
         newUser.setAuthorities(authorities);
         userRepository.save(newUser);
+        this.clearUserCaches(newUser);
         log.debug("Created Information for User: {}", newUser);
         return newUser;
     }
@@ -138,6 +151,7 @@ public class UserService {
         }
         userRepository.delete(existingUser);
         userRepository.flush();
+        this.clearUserCaches(existingUser);
         return true;
     }
 
@@ -171,6 +185,7 @@ public class UserService {
             user.setAuthorities(authorities);
         }
         userRepository.save(user);
+        this.clearUserCaches(user);
         log.debug("Created Information for User: {}", user);
         return user;
     }
@@ -188,6 +203,7 @@ public class UserService {
             .map(Optional::get)
             .map(
                 user -> {
+                    this.clearUserCaches(user);
                     user.setLogin(userDTO.getLogin().toLowerCase());
                     user.setFirstName(userDTO.getFirstName());
                     user.setLastName(userDTO.getLastName());
@@ -206,6 +222,7 @@ public class UserService {
                         .filter(Optional::isPresent)
                         .map(Optional::get)
                         .forEach(managedAuthorities::add);
+                    this.clearUserCaches(user);
                     log.debug("Changed Information for User: {}", user);
                     return user;
                 }
@@ -219,6 +236,7 @@ public class UserService {
             .ifPresent(
                 user -> {
                     userRepository.delete(user);
+                    this.clearUserCaches(user);
                     log.debug("Deleted User: {}", user);
                 }
             );
@@ -239,6 +257,7 @@ public class UserService {
             .flatMap(userRepository::findOneByLogin)
             .ifPresent(
                 user -> {
+                    this.clearUserCaches(user);
                     user.setFirstName(firstName);
                     user.setLastName(lastName);
                     if (email != null) {
@@ -246,6 +265,7 @@ public class UserService {
                     }
                     user.setLangKey(langKey);
                     user.setImageUrl(imageUrl);
+                    this.clearUserCaches(user);
                     log.debug("Changed Information for User: {}", user);
                 }
             );
@@ -264,6 +284,7 @@ public class UserService {
                     }
                     String encryptedPassword = passwordEncoder.encode(newPassword);
                     user.setPassword(encryptedPassword);
+                    this.clearUserCaches(user);
                     log.debug("Changed password for User: {}", user);
                 }
             );
@@ -302,6 +323,7 @@ public class UserService {
                 user -> {
                     log.debug("Deleting not activated user {}", user.getLogin());
                     userRepository.delete(user);
+                    this.clearUserCaches(user);
                 }
             );
     }
@@ -314,4 +336,17 @@ public class UserService {
     public List<String> getAuthorities() {
         return authorityRepository.findAll().stream().map(Authority::getName).collect(Collectors.toList());
     }
+
+    /**
+     * Evicts the given user from the {@link UserRepository#USERS_BY_LOGIN_CACHE} and
+     * {@link UserRepository#USERS_BY_EMAIL_CACHE} caches.
+     * <p>
+     * When the login or the email of a user changes, this must be called both before and after the change.
+     */
+    private void clearUserCaches(User user) {
+        Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE)).evict(user.getLogin());
+        if (user.getEmail() != null) {
+            Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE)).evict(user.getEmail());
+        }
+    }
 }
@@ -0,0 +1,296 @@
+package com.green.firm.service.criteria;
+
+import com.green.firm.domain.enumeration.paymentStatus;
+import com.green.firm.domain.enumeration.weightTypes;
+import java.io.Serializable;
+import java.util.Objects;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.BigDecimalFilter;
+import tech.jhipster.service.filter.Filter;
+import tech.jhipster.service.filter.IntegerFilter;
+import tech.jhipster.service.filter.LongFilter;
+import tech.jhipster.service.filter.StringFilter;
+import tech.jhipster.service.filter.ZonedDateTimeFilter;
+
+/**
+ * Criteria class for the {@link com.green.firm.domain.CustomerBought} entity. This class is used
+ * in {@link com.green.firm.web.rest.CustomerBoughtResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /customer-boughts?customerId.equals=5&status.equals=DUE&deliveryDate.greaterThanOrEqual=2021-08-01T00:00:00Z}
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ */
+public class CustomerBoughtCriteria implements Serializable, Criteria {
+
+    /**
+     * Class for filtering weightTypes
+     */
+    public static class weightTypesFilter extends Filter<weightTypes> {
+
+        public weightTypesFilter() {}
+
+        public weightTypesFilter(weightTypesFilter filter) {
+            super(filter);
+        }
+
+        @Override
+        public weightTypesFilter copy() {
+            return new weightTypesFilter(this);
+        }
+    }
+
+    /**
+     * Class for filtering paymentStatus
+     */
+    public static class paymentStatusFilter extends Filter<paymentStatus> {
+
+        public paymentStatusFilter() {}
+
+        public paymentStatusFilter(paymentStatusFilter filter) {
+            super(filter);
+        }
+
+        @Override
+        public paymentStatusFilter copy() {
+            return new paymentStatusFilter(this);
+        }
+    }
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private weightTypesFilter weightType;
+
+    private BigDecimalFilter unitPrice;
+
+    private BigDecimalFilter totalPrice;
+
+    private ZonedDateTimeFilter deliveryDate;
+
+    private StringFilter remarks;
+
+    private paymentStatusFilter status;
+
+    private IntegerFilter totalWeight;
+
+    private LongFilter productTypeId;
+
+    private LongFilter customerId;
+
+    public CustomerBoughtCriteria() {}
+
+    public CustomerBoughtCriteria(CustomerBoughtCriteria other) {
+        this.id = other.id == null ? null : other.id.copy();
+        this.weightType = other.weightType == null ? null : other.weightType.copy();
+        this.unitPrice = other.unitPrice == null ? null : other.unitPrice.copy();
+        this.totalPrice = other.totalPrice == null ? null : other.totalPrice.copy();
+        this.deliveryDate = other.deliveryDate == null ? null : other.deliveryDate.copy();
+        this.remarks = other.remarks == null ? null : other.remarks.copy();
+        this.status = other.status == null ? null : other.status.copy();
+        this.totalWeight = other.totalWeight == null ? null : other.totalWeight.copy();
+        this.productTypeId = other.productTypeId == null ? null : other.productTypeId.copy();
+        this.customerId = other.customerId == null ? null : other.customerId.copy();
+    }
+
+    @Override
+    public CustomerBoughtCriteria copy() {
+        return new CustomerBoughtCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            id = new LongFilter();
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public weightTypesFilter getWeightType() {
+        return weightType;
+    }
+
+    public weightTypesFilter weightType() {
+        if (weightType == null) {
+            weightType = new weightTypesFilter();
+        }
+        return weightType;
+    }
+
+    public void setWeightType(weightTypesFilter weightType) {
+        this.weightType = weightType;
+    }
+
+    public BigDecimalFilter getUnitPrice() {
+        return unitPrice;
+    }
+
+    public BigDecimalFilter unitPrice() {
+        if (unitPrice == null) {
+            unitPrice = new BigDecimalFilter();
+        }
+        return unitPrice;
+    }
+
+    public void setUnitPrice(BigDecimalFilter unitPrice) {
+        this.unitPrice = unitPrice;
+    }
+
+    public BigDecimalFilter getTotalPrice() {
+        return totalPrice;
+    }
+
+    public BigDecimalFilter totalPrice() {
+        if (totalPrice == null) {
+            totalPrice = new BigDecimalFilter();
+        }
+        return totalPrice;
+    }
+
+    public void setTotalPrice(BigDecimalFilter totalPrice) {
+        this.totalPrice = totalPrice;
+    }
+
+    public ZonedDateTimeFilter getDeliveryDate() {
+        return deliveryDate;
+    }
+
+    public ZonedDateTimeFilter deliveryDate() {
+        if (deliveryDate == null) {
+            deliveryDate = new ZonedDateTimeFilter();
+        }
+        return deliveryDate;
+    }
+
+    public void setDeliveryDate(ZonedDateTimeFilter deliveryDate) {
+        this.deliveryDate = deliveryDate;
+    }
+
+    public StringFilter getRemarks() {
+        return remarks;
+    }
+
+    public StringFilter remarks() {
+        if (remarks == null) {
+            remarks = new StringFilter();
+        }
+        return remarks;
+    }
+
+    public void setRemarks(StringFilter remarks) {
+        this.remarks = remarks;
+    }
+
+    public paymentStatusFilter getStatus() {
+        return status;
+    }
+
+    public paymentStatusFilter status() {
+        if (status == null) {
+            status = new paymentStatusFilter();
+        }
+        return status;
+    }
+
+    public void setStatus(paymentStatusFilter status) {
+        this.status = status;
+    }
+
+    public IntegerFilter getTotalWeight() {
+        return totalWeight;
+    }
+
+    public IntegerFilter totalWeight() {
+        if (totalWeight == null) {
+            totalWeight = new IntegerFilter();
+        }
+        return totalWeight;
+    }
+
+    public void setTotalWeight(IntegerFilter totalWeight) {
+        this.totalWeight = totalWeight;
+    }
+
+    public LongFilter getProductTypeId() {
+        return productTypeId;
+    }
+
+    public LongFilter productTypeId() {
+        if (productTypeId == null) {
+            productTypeId = new LongFilter();
+        }
+        return productTypeId;
+    }
+
+    public void setProductTypeId(LongFilter productTypeId) {
+        this.productTypeId = productTypeId;
+    }
+
+    public LongFilter getCustomerId() {
+        return customerId;
+    }
+
+    public LongFilter customerId() {
+        if (customerId == null) {
+            customerId = new LongFilter();
+        }
+        return customerId;
+    }
+
+    public void setCustomerId(LongFilter customerId) {
+        this.customerId = customerId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final CustomerBoughtCriteria that = (CustomerBoughtCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(weightType, that.weightType) &&
+            Objects.equals(unitPrice, that.unitPrice) &&
+            Objects.equals(totalPrice, that.totalPrice) &&
+            Objects.equals(deliveryDate, that.deliveryDate) &&
+            Objects.equals(remarks, that.remarks) &&
+            Objects.equals(status, that.status) &&
+            Objects.equals(totalWeight, that.totalWeight) &&
+            Objects.equals(productTypeId, that.productTypeId) &&
+            Objects.equals(customerId, that.customerId)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, weightType, unitPrice, totalPrice, deliveryDate, remarks, status, totalWeight, productTypeId, customerId);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CustomerBoughtCriteria{" +
+            (id != null ? "id=" + id + ", " : "") +
+            (weightType != null ? "weightType=" + weightType + ", " : "") +
+            (unitPrice != null ? "unitPrice=" + unitPrice + ", " : "") +
+            (totalPrice != null ? "totalPrice=" + totalPrice + ", " : "") +
+            (deliveryDate != null ? "deliveryDate=" + deliveryDate + ", " : "") +
+            (remarks != null ? "remarks=" + remarks + ", " : "") +
+            (status != null ? "status=" + status + ", " : "") +
+            (totalWeight != null ? "totalWeight=" + totalWeight + ", " : "") +
+            (productTypeId != null ? "productTypeId=" + productTypeId + ", " : "") +
+            (customerId != null ? "customerId=" + customerId + ", " : "") +
+            "}";
+    }
+}
@@ -0,0 +1,136 @@
+package com.green.firm.service.dto;
+
+import com.green.firm.domain.Money;
+import com.green.firm.domain.enumeration.paymentStatus;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing what a customer bought with a given payment status, aggregated by the database.
+ */
+public class CustomerBalanceDTO {
+
+    private Long customerId;
+
+    private String customerName;
+
+    private paymentStatus status;
+
+    private long count;
+
+    private BigDecimal totalPrice = BigDecimal.ZERO;
+
+    private long totalGrams;
+
+    private long totalMillilitres;
+
+    private List<WeightTypeTotalDTO> weights = new ArrayList<>();
+
+    public CustomerBalanceDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    /**
+     * Constructor used by the JPQL constructor expressions, the total price being given in cents.
+     */
+    public CustomerBalanceDTO(Long customerId, String customerName, Long count, Long totalPrice) {
+        this.customerId = customerId;
+        this.customerName = customerName;
+        this.count = count == null ? 0 : count;
+        this.totalPrice = Money.toAmount(totalPrice == null ? 0 : totalPrice);
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public void setCustomerName(String customerName) {
+        this.customerName = customerName;
+    }
+
+    public paymentStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(paymentStatus status) {
+        this.status = status;
+    }
+
+    /**
+     * @return the number of customerBoughts.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    /**
+     * @return the sum of the customerBoughts total prices.
+     */
+    public BigDecimal getTotalPrice() {
+        return totalPrice;
+    }
+
+    public void setTotalPrice(BigDecimal totalPrice) {
+        this.totalPrice = totalPrice;
+    }
+
+    /**
+     * @return the sum of the customerBoughts sold by mass, in grams.
+     */
+    public long getTotalGrams() {
+        return totalGrams;
+    }
+
+    public void setTotalGrams(long totalGrams) {
+        this.totalGrams = totalGrams;
+    }
+
+    /**
+     * @return the sum of the customerBoughts sold by volume, in millilitres.
+     */
+    public long getTotalMillilitres() {
+        return totalMillilitres;
+    }
+
+    public void setTotalMillilitres(long totalMillilitres) {
+        this.totalMillilitres = totalMillilitres;
+    }
+
+    /**
+     * @return the totals by weight type.
+     */
+    public List<WeightTypeTotalDTO> getWeights() {
+        return weights;
+    }
+
+    public void setWeights(List<WeightTypeTotalDTO> weights) {
+        this.weights = weights;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CustomerBalanceDTO{" +
+            "customerId=" + customerId +
+            ", status='" + status + "'" +
+            ", count=" + count +
+            ", totalPrice=" + totalPrice +
+            ", totalGrams=" + totalGrams +
+            ", totalMillilitres=" + totalMillilitres +
+            ", weights=" + weights +
+            "}";
+    }
+}
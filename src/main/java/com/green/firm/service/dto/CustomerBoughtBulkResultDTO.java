@@ -0,0 +1,159 @@
+package com.green.firm.service.dto;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A DTO representing the outcome of a bulk save of customerBoughts.
+ * <p>
+ * Rows are designated by their zero-based position in the request.
+ */
+public class CustomerBoughtBulkResultDTO {
+
+    private int received;
+
+    private int created;
+
+    private int updated;
+
+    private List<Long> ids;
+
+    private List<RowError> errors = new ArrayList<>();
+
+    public CustomerBoughtBulkResultDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public CustomerBoughtBulkResultDTO(int received) {
+        this.received = received;
+        this.ids = new ArrayList<>(Collections.nCopies(received, null));
+    }
+
+    public void addCreated(int row, Long id) {
+        ids.set(row, id);
+        created++;
+    }
+
+    public void addUpdated(int row, Long id) {
+        ids.set(row, id);
+        updated++;
+    }
+
+    public void addError(int row, String field, String message) {
+        errors.add(new RowError(row, field, message));
+    }
+
+    public int getReceived() {
+        return received;
+    }
+
+    public void setReceived(int received) {
+        this.received = received;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(int updated) {
+        this.updated = updated;
+    }
+
+    /**
+     * @return the id of the customerBought saved for each row, or {@code null} for the rows in error.
+     */
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<RowError> errors) {
+        this.errors = errors;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CustomerBoughtBulkResultDTO{" +
+            "received=" + received +
+            ", created=" + created +
+            ", updated=" + updated +
+            ", errors=" + errors.size() +
+            "}";
+    }
+
+    /**
+     * A row which was not saved, with the reason why.
+     */
+    public static class RowError {
+
+        private int row;
+
+        private String field;
+
+        private String message;
+
+        public RowError() {
+            // Empty constructor needed for Jackson.
+        }
+
+        public RowError(int row, String field, String message) {
+            this.row = row;
+            this.field = field;
+            this.message = message;
+        }
+
+        public int getRow() {
+            return row;
+        }
+
+        public void setRow(int row) {
+            this.row = row;
+        }
+
+        /**
+         * @return the field in error, or {@code null} if the whole row is in error.
+         */
+        public String getField() {
+            return field;
+        }
+
+        public void setField(String field) {
+            this.field = field;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "RowError{" +
+                "row=" + row +
+                ", field='" + field + "'" +
+                ", message='" + message + "'" +
+                "}";
+        }
+    }
+}
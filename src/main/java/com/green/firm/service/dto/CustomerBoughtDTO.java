@@ -0,0 +1,214 @@
+package com.green.firm.service.dto;
+
+import com.green.firm.domain.Money;
+import com.green.firm.domain.enumeration.paymentStatus;
+import com.green.firm.domain.enumeration.weightTypes;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+import javax.validation.constraints.*;
+
+/**
+ * A DTO for the {@link com.green.firm.domain.CustomerBought} entity.
+ */
+public class CustomerBoughtDTO implements Serializable {
+
+    private Long id;
+
+    private Long version;
+
+    @NotNull
+    private weightTypes weightType;
+
+    @NotNull
+    @DecimalMin("0")
+    @DecimalMax("42949672.95")
+    @Digits(integer = 8, fraction = Money.SCALE)
+    private BigDecimal unitPrice;
+
+    /**
+     * Computed from the unit price and the total weight, the value sent by the client is ignored.
+     */
+    private BigDecimal totalPrice;
+
+    @NotNull
+    private ZonedDateTime deliveryDate;
+
+    private String remarks;
+
+    @NotNull
+    private paymentStatus status;
+
+    @NotNull
+    private Integer totalWeight;
+
+    @NotNull
+    private ProductTypeDTO productType;
+
+    @NotNull
+    private CustomerDTO customer;
+
+    public CustomerBoughtDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    /**
+     * Constructor used by the projections, which select only the columns of the DTO instead of whole entities.
+     * The prices are given in cents, as they are stored.
+     */
+    public CustomerBoughtDTO(
+        Long id,
+        Long version,
+        weightTypes weightType,
+        Long unitPrice,
+        Long totalPrice,
+        ZonedDateTime deliveryDate,
+        String remarks,
+        paymentStatus status,
+        Integer totalWeight,
+        Long productTypeId,
+        String productTypeName,
+        Long customerId,
+        String customerName
+    ) {
+        this.id = id;
+        this.version = version;
+        this.weightType = weightType;
+        this.unitPrice = unitPrice == null ? null : Money.toAmount(unitPrice);
+        this.totalPrice = totalPrice == null ? null : Money.toAmount(totalPrice);
+        this.deliveryDate = deliveryDate;
+        this.remarks = remarks;
+        this.status = status;
+        this.totalWeight = totalWeight;
+        this.productType = new ProductTypeDTO(productTypeId, productTypeName);
+        this.customer = new CustomerDTO(customerId, customerName);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public weightTypes getWeightType() {
+        return weightType;
+    }
+
+    public void setWeightType(weightTypes weightType) {
+        this.weightType = weightType;
+    }
+
+    public BigDecimal getUnitPrice() {
+        return unitPrice;
+    }
+
+    public void setUnitPrice(BigDecimal unitPrice) {
+        this.unitPrice = unitPrice;
+    }
+
+    public BigDecimal getTotalPrice() {
+        return totalPrice;
+    }
+
+    public void setTotalPrice(BigDecimal totalPrice) {
+        this.totalPrice = totalPrice;
+    }
+
+    public ZonedDateTime getDeliveryDate() {
+        return deliveryDate;
+    }
+
+    public void setDeliveryDate(ZonedDateTime deliveryDate) {
+        this.deliveryDate = deliveryDate;
+    }
+
+    public String getRemarks() {
+        return remarks;
+    }
+
+    public void setRemarks(String remarks) {
+        this.remarks = remarks;
+    }
+
+    public paymentStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(paymentStatus status) {
+        this.status = status;
+    }
+
+    public Integer getTotalWeight() {
+        return totalWeight;
+    }
+
+    public void setTotalWeight(Integer totalWeight) {
+        this.totalWeight = totalWeight;
+    }
+
+    public ProductTypeDTO getProductType() {
+        return productType;
+    }
+
+    public void setProductType(ProductTypeDTO productType) {
+        this.productType = productType;
+    }
+
+    public CustomerDTO getCustomer() {
+        return customer;
+    }
+
+    public void setCustomer(CustomerDTO customer) {
+        this.customer = customer;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CustomerBoughtDTO)) {
+            return false;
+        }
+
+        CustomerBoughtDTO customerBoughtDTO = (CustomerBoughtDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, customerBoughtDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CustomerBoughtDTO{" +
+            "id=" + getId() +
+            ", version=" + getVersion() +
+            ", weightType='" + getWeightType() + "'" +
+            ", unitPrice=" + getUnitPrice() +
+            ", totalPrice=" + getTotalPrice() +
+            ", deliveryDate='" + getDeliveryDate() + "'" +
+            ", remarks='" + getRemarks() + "'" +
+            ", status='" + getStatus() + "'" +
+            ", totalWeight=" + getTotalWeight() +
+            ", productType=" + getProductType() +
+            ", customer=" + getCustomer() +
+            "}";
+    }
+}
@@ -0,0 +1,119 @@
+package com.green.firm.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+import javax.validation.constraints.*;
+
+/**
+ * A DTO for the {@link com.green.firm.domain.Customer} entity.
+ * <p>
+ * When referenced by another DTO, only its id and name are set.
+ */
+public class CustomerDTO implements Serializable {
+
+    private Long id;
+
+    private Long version;
+
+    @NotNull
+    private String name;
+
+    private String email;
+
+    @NotNull
+    private String phone;
+
+    @NotNull
+    private String address;
+
+    public CustomerDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public CustomerDTO(Long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public void setPhone(String phone) {
+        this.phone = phone;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public void setAddress(String address) {
+        this.address = address;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CustomerDTO)) {
+            return false;
+        }
+
+        CustomerDTO customerDTO = (CustomerDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, customerDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CustomerDTO{" +
+            "id=" + getId() +
+            ", version=" + getVersion() +
+            ", name='" + getName() + "'" +
+            ", email='" + getEmail() + "'" +
+            ", phone='" + getPhone() + "'" +
+            ", address='" + getAddress() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,95 @@
+package com.green.firm.service.dto;
+
+import com.green.firm.domain.CustomerLedger;
+import com.green.firm.domain.Money;
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+
+/**
+ * A DTO representing the totals of what a customer bought, read from its {@link CustomerLedger}.
+ */
+public class CustomerLedgerDTO {
+
+    private Long customerId;
+
+    private BigDecimal totalDue = BigDecimal.ZERO;
+
+    private BigDecimal totalPaid = BigDecimal.ZERO;
+
+    private long orderCount;
+
+    private ZonedDateTime lastDeliveryDate;
+
+    public CustomerLedgerDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public CustomerLedgerDTO(CustomerLedger ledger) {
+        this.customerId = ledger.getCustomerId();
+        this.totalDue = Money.toAmount(ledger.getTotalDueCents());
+        this.totalPaid = Money.toAmount(ledger.getTotalPaidCents());
+        this.orderCount = ledger.getOrderCount() == null ? 0 : ledger.getOrderCount();
+        this.lastDeliveryDate = ledger.getLastDeliveryDate();
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    /**
+     * @return the sum of the due customerBoughts total prices.
+     */
+    public BigDecimal getTotalDue() {
+        return totalDue;
+    }
+
+    public void setTotalDue(BigDecimal totalDue) {
+        this.totalDue = totalDue;
+    }
+
+    /**
+     * @return the sum of the paid customerBoughts total prices.
+     */
+    public BigDecimal getTotalPaid() {
+        return totalPaid;
+    }
+
+    public void setTotalPaid(BigDecimal totalPaid) {
+        this.totalPaid = totalPaid;
+    }
+
+    /**
+     * @return the number of customerBoughts.
+     */
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    public void setOrderCount(long orderCount) {
+        this.orderCount = orderCount;
+    }
+
+    public ZonedDateTime getLastDeliveryDate() {
+        return lastDeliveryDate;
+    }
+
+    public void setLastDeliveryDate(ZonedDateTime lastDeliveryDate) {
+        this.lastDeliveryDate = lastDeliveryDate;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CustomerLedgerDTO{" +
+            "customerId=" + customerId +
+            ", totalDue=" + totalDue +
+            ", totalPaid=" + totalPaid +
+            ", orderCount=" + orderCount +
+            ", lastDeliveryDate='" + lastDeliveryDate + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,48 @@
+package com.green.firm.service.dto;
+
+/**
+ * A DTO representing a customer found by the start of its phone number, with the digits of the phone number.
+ */
+public class CustomerPhoneDTO {
+
+    private Long id;
+
+    private String phone;
+
+    public CustomerPhoneDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public CustomerPhoneDTO(Long id, String phone) {
+        this.id = id;
+        this.phone = phone;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    /**
+     * @return the digits of the phone number, without any separator.
+     */
+    public String getPhone() {
+        return phone;
+    }
+
+    public void setPhone(String phone) {
+        this.phone = phone;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CustomerPhoneDTO{" +
+            "id=" + id +
+            ", phone='" + phone + "'" +
+            "}";
+    }
+}
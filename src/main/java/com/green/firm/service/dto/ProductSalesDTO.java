@@ -0,0 +1,94 @@
+package com.green.firm.service.dto;
+
+import com.green.firm.domain.enumeration.weightTypes;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * A DTO representing the totals sold of a product type in a weight type, over a day, a week or a month.
+ */
+public class ProductSalesDTO {
+
+    private LocalDate period;
+
+    private weightTypes weightType;
+
+    private long totalWeight;
+
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    private long orderCount;
+
+    public ProductSalesDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public ProductSalesDTO(LocalDate period, weightTypes weightType) {
+        this.period = period;
+        this.weightType = weightType;
+    }
+
+    /**
+     * @return the first day of the period.
+     */
+    public LocalDate getPeriod() {
+        return period;
+    }
+
+    public void setPeriod(LocalDate period) {
+        this.period = period;
+    }
+
+    public weightTypes getWeightType() {
+        return weightType;
+    }
+
+    public void setWeightType(weightTypes weightType) {
+        this.weightType = weightType;
+    }
+
+    /**
+     * @return the sum of the customerBoughts total weights, in the weight type.
+     */
+    public long getTotalWeight() {
+        return totalWeight;
+    }
+
+    public void setTotalWeight(long totalWeight) {
+        this.totalWeight = totalWeight;
+    }
+
+    /**
+     * @return the sum of the customerBoughts total prices.
+     */
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(BigDecimal revenue) {
+        this.revenue = revenue;
+    }
+
+    /**
+     * @return the number of customerBoughts.
+     */
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    public void setOrderCount(long orderCount) {
+        this.orderCount = orderCount;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ProductSalesDTO{" +
+            "period='" + period + "'" +
+            ", weightType='" + weightType + "'" +
+            ", totalWeight=" + totalWeight +
+            ", revenue=" + revenue +
+            ", orderCount=" + orderCount +
+            "}";
+    }
+}
@@ -0,0 +1,82 @@
+package com.green.firm.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+import javax.validation.constraints.*;
+
+/**
+ * A DTO for the {@link com.green.firm.domain.ProductType} entity.
+ */
+public class ProductTypeDTO implements Serializable {
+
+    private Long id;
+
+    private Long version;
+
+    @NotNull
+    private String name;
+
+    public ProductTypeDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public ProductTypeDTO(Long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ProductTypeDTO)) {
+            return false;
+        }
+
+        ProductTypeDTO productTypeDTO = (ProductTypeDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, productTypeDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ProductTypeDTO{" +
+            "id=" + getId() +
+            ", version=" + getVersion() +
+            ", name='" + getName() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,104 @@
+package com.green.firm.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.green.firm.domain.Money;
+import com.green.firm.domain.enumeration.weightTypes;
+import java.math.BigDecimal;
+
+/**
+ * A DTO representing the totals of what a customer bought in a given weight type, aggregated by the database.
+ */
+public class WeightTypeTotalDTO {
+
+    @JsonIgnore
+    private Long customerId;
+
+    private weightTypes weightType;
+
+    private long count;
+
+    private BigDecimal totalPrice = BigDecimal.ZERO;
+
+    private long totalWeight;
+
+    private long baseQuantity;
+
+    public WeightTypeTotalDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    /**
+     * Constructor used by the JPQL constructor expressions, the total price being given in cents.
+     */
+    public WeightTypeTotalDTO(Long customerId, weightTypes weightType, Long count, Long totalPrice, Long totalWeight, Long baseQuantity) {
+        this.customerId = customerId;
+        this.weightType = weightType;
+        this.count = count == null ? 0 : count;
+        this.totalPrice = Money.toAmount(totalPrice == null ? 0 : totalPrice);
+        this.totalWeight = totalWeight == null ? 0 : totalWeight;
+        this.baseQuantity = baseQuantity == null ? 0 : baseQuantity;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    public weightTypes getWeightType() {
+        return weightType;
+    }
+
+    public void setWeightType(weightTypes weightType) {
+        this.weightType = weightType;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public BigDecimal getTotalPrice() {
+        return totalPrice;
+    }
+
+    public void setTotalPrice(BigDecimal totalPrice) {
+        this.totalPrice = totalPrice;
+    }
+
+    public long getTotalWeight() {
+        return totalWeight;
+    }
+
+    public void setTotalWeight(long totalWeight) {
+        this.totalWeight = totalWeight;
+    }
+
+    /**
+     * @return the total weight in grams or millilitres.
+     */
+    public long getBaseQuantity() {
+        return baseQuantity;
+    }
+
+    public void setBaseQuantity(long baseQuantity) {
+        this.baseQuantity = baseQuantity;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "WeightTypeTotalDTO{" +
+            "weightType='" + weightType + "'" +
+            ", count=" + count +
+            ", totalPrice=" + totalPrice +
+            ", totalWeight=" + totalWeight +
+            ", baseQuantity=" + baseQuantity +
+            "}";
+    }
+}
@@ -0,0 +1,71 @@
+package com.green.firm.service.mapper;
+
+import com.green.firm.domain.*;
+import com.green.firm.service.AmountOutOfRangeException;
+import com.green.firm.service.dto.CustomerBoughtDTO;
+import java.math.BigDecimal;
+import org.mapstruct.*;
+
+/**
+ * Mapper for the entity {@link CustomerBought} and its DTO {@link CustomerBoughtDTO}.
+ * <p>
+ * The prices are held in cents by the entity and as amounts by the DTO. The total price is only mapped to the DTO:
+ * the entity computes it from the unit price and the total weight.
+ */
+@Mapper(componentModel = "spring", uses = { ProductTypeMapper.class, CustomerMapper.class })
+public interface CustomerBoughtMapper extends EntityMapper<CustomerBoughtDTO, CustomerBought> {
+    @Mapping(target = "productType", source = "productType", qualifiedByName = "name")
+    @Mapping(target = "customer", source = "customer", qualifiedByName = "name")
+    @Mapping(target = "totalPrice", expression = "java(com.green.firm.domain.Money.toAmount(s.getTotalPrice()))")
+    CustomerBoughtDTO toDto(CustomerBought s);
+
+    /**
+     * The product type and the customer of a customerBought are not changed by a partial update.
+     * Neither is its version: it is only checked against the current one.
+     */
+    @Override
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "productType", ignore = true)
+    @Mapping(target = "customer", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    void partialUpdate(@MappingTarget CustomerBought entity, CustomerBoughtDTO dto);
+
+    /**
+     * Copy all the fields of the dto onto a loaded customerBought, for a full update.
+     * Its identifier and version are left to the persistence provider, and its product type and customer
+     * must be replaced by managed entities when they change.
+     */
+    @Override
+    @Named("update")
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "productType", ignore = true)
+    @Mapping(target = "customer", ignore = true)
+    void update(@MappingTarget CustomerBought entity, CustomerBoughtDTO dto);
+
+    default BigDecimal toAmount(Long cents) {
+        return cents == null ? null : Money.toAmount(cents);
+    }
+
+    /**
+     * The unit price is the only amount mapped to the entity: it is bounded so that its total price fits in a {@code long}.
+     *
+     * @throws AmountOutOfRangeException if the amount exceeds {@link CustomerBought#MAX_UNIT_PRICE}.
+     */
+    default Long toCents(BigDecimal amount) {
+        if (amount == null) {
+            return null;
+        }
+        long cents;
+        try {
+            cents = Money.toCents(amount);
+        } catch (ArithmeticException e) {
+            throw new AmountOutOfRangeException(amount);
+        }
+        if (cents < -CustomerBought.MAX_UNIT_PRICE || cents > CustomerBought.MAX_UNIT_PRICE) {
+            throw new AmountOutOfRangeException(amount);
+        }
+        return cents;
+    }
+}
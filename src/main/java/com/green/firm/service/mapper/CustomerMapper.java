@@ -0,0 +1,39 @@
+package com.green.firm.service.mapper;
+
+import com.green.firm.domain.*;
+import com.green.firm.service.dto.CustomerDTO;
+import org.mapstruct.*;
+
+/**
+ * Mapper for the entity {@link Customer} and its DTO {@link CustomerDTO}.
+ */
+@Mapper(componentModel = "spring", uses = {})
+public interface CustomerMapper extends EntityMapper<CustomerDTO, Customer> {
+    /**
+     * Map only what identifies a customer, for the DTOs referencing it: its contact details are not repeated.
+     */
+    @Named("name")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    @Mapping(target = "name", source = "name")
+    CustomerDTO toDtoName(Customer customer);
+
+    /**
+     * The version of a customer is not changed by a partial update: it is only checked against the current one.
+     */
+    @Override
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "version", ignore = true)
+    void partialUpdate(@MappingTarget Customer entity, CustomerDTO dto);
+
+    /**
+     * Copy all the fields of the dto onto a loaded customer, for a full update.
+     * Its identifier and version are left to the persistence provider.
+     */
+    @Override
+    @Named("update")
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    void update(@MappingTarget Customer entity, CustomerDTO dto);
+}
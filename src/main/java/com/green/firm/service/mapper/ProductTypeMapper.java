@@ -0,0 +1,36 @@
+package com.green.firm.service.mapper;
+
+import com.green.firm.domain.*;
+import com.green.firm.service.dto.ProductTypeDTO;
+import org.mapstruct.*;
+
+/**
+ * Mapper for the entity {@link ProductType} and its DTO {@link ProductTypeDTO}.
+ */
+@Mapper(componentModel = "spring", uses = {})
+public interface ProductTypeMapper extends EntityMapper<ProductTypeDTO, ProductType> {
+    @Named("name")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    @Mapping(target = "name", source = "name")
+    ProductTypeDTO toDtoName(ProductType productType);
+
+    /**
+     * The version of a productType is not changed by a partial update: it is only checked against the current one.
+     */
+    @Override
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "version", ignore = true)
+    void partialUpdate(@MappingTarget ProductType entity, ProductTypeDTO dto);
+
+    /**
+     * Copy all the fields of the dto onto a loaded productType, for a full update.
+     * Its identifier and version are left to the persistence provider.
+     */
+    @Override
+    @Named("update")
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    void update(@MappingTarget ProductType entity, ProductTypeDTO dto);
+}
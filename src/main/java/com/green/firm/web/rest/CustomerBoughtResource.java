@@ -2,10 +2,32 @@ package com.green.firm.web.rest;
 
 import com.green.firm.domain.CustomerBought;
 import com.green.firm.repository.CustomerBoughtRepository;
+import com.green.firm.repository.CustomerBoughtRepository.CustomerBoughtVersion;
+import com.green.firm.repository.CustomerRepository;
+import com.green.firm.repository.ProductTypeRepository;
+import com.green.firm.service.CustomerBoughtBulkService;
+import com.green.firm.service.CustomerBoughtExportService;
+import com.green.firm.service.CustomerBoughtQueryService;
+import com.green.firm.service.CustomerLedgerService;
+import com.green.firm.service.CustomerLedgerService.Contribution;
+import com.green.firm.service.criteria.CustomerBoughtCriteria;
+import com.green.firm.service.dto.CustomerBoughtBulkResultDTO;
+import com.green.firm.service.dto.CustomerBoughtDTO;
+import com.green.firm.service.mapper.CustomerBoughtMapper;
 import com.green.firm.web.rest.errors.BadRequestAlertException;
+import com.green.firm.web.rest.util.CursorPaginationUtil;
+import com.green.firm.web.rest.util.EntityTagUtil;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
 import javax.validation.Valid;
@@ -15,11 +37,19 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -42,127 +72,183 @@ public class CustomerBoughtResource {
 
     private final CustomerBoughtRepository customerBoughtRepository;
 
-    public CustomerBoughtResource(CustomerBoughtRepository customerBoughtRepository) {
+    private final CustomerBoughtBulkService customerBoughtBulkService;
+
+    private final CustomerBoughtExportService customerBoughtExportService;
+
+    private final CustomerBoughtQueryService customerBoughtQueryService;
+
+    private final CustomerLedgerService customerLedgerService;
+
+    private final CustomerBoughtMapper customerBoughtMapper;
+
+    private final ProductTypeRepository productTypeRepository;
+
+    private final CustomerRepository customerRepository;
+
+    public CustomerBoughtResource(
+        CustomerBoughtRepository customerBoughtRepository,
+        CustomerBoughtBulkService customerBoughtBulkService,
+        CustomerBoughtExportService customerBoughtExportService,
+        CustomerBoughtQueryService customerBoughtQueryService,
+        CustomerLedgerService customerLedgerService,
+        CustomerBoughtMapper customerBoughtMapper,
+        ProductTypeRepository productTypeRepository,
+        CustomerRepository customerRepository
+    ) {
         this.customerBoughtRepository = customerBoughtRepository;
+        this.customerBoughtBulkService = customerBoughtBulkService;
+        this.customerBoughtExportService = customerBoughtExportService;
+        this.customerBoughtQueryService = customerBoughtQueryService;
+        this.customerLedgerService = customerLedgerService;
+        this.customerBoughtMapper = customerBoughtMapper;
+        this.productTypeRepository = productTypeRepository;
+        this.customerRepository = customerRepository;
     }
 
     /**
      * {@code POST  /customer-boughts} : Create a new customerBought.
      *
-     * @param customerBought the customerBought to create.
-     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new customerBought, or with status {@code 400 (Bad Request)} if the customerBought has already an ID.
+     * @param customerBoughtDTO the customerBoughtDTO to create.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new customerBoughtDTO, or with status {@code 400 (Bad Request)} if the customerBought has already an ID.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("/customer-boughts")
-    public ResponseEntity<CustomerBought> createCustomerBought(@Valid @RequestBody CustomerBought customerBought)
+    public ResponseEntity<CustomerBoughtDTO> createCustomerBought(@Valid @RequestBody CustomerBoughtDTO customerBoughtDTO)
         throws URISyntaxException {
-        log.debug("REST request to save CustomerBought : {}", customerBought);
-        if (customerBought.getId() != null) {
+        log.debug("REST request to save CustomerBought : {}", customerBoughtDTO);
+        if (customerBoughtDTO.getId() != null) {
             throw new BadRequestAlertException("A new customerBought cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        CustomerBought result = customerBoughtRepository.save(customerBought);
+        CustomerBought customerBought = customerBoughtRepository.save(customerBoughtMapper.toEntity(customerBoughtDTO));
+        customerLedgerService.add(Contribution.of(customerBought));
+        CustomerBoughtDTO result = customerBoughtMapper.toDto(customerBought);
         return ResponseEntity
             .created(new URI("/api/customer-boughts/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
             .body(result);
     }
 
+    /**
+     * {@code POST  /customer-boughts/bulk} : Create or update many customerBoughts at once.
+     * <p>
+     * The customerBoughts without an ID are created, the others are updated. Each customerBought is validated
+     * on its own: the invalid ones are reported in the body and do not prevent the others from being saved.
+     *
+     * @param customerBoughtDTOs the customerBoughts to save.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the outcome of each customerBought.
+     */
+    @PostMapping(value = "/customer-boughts/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<CustomerBoughtBulkResultDTO> saveCustomerBoughts(@RequestBody List<CustomerBoughtDTO> customerBoughtDTOs) {
+        log.debug("REST request to save {} CustomerBoughts", customerBoughtDTOs.size());
+        return ResponseEntity.ok(customerBoughtBulkService.saveAll(customerBoughtMapper.toEntity(customerBoughtDTOs)));
+    }
+
+    /**
+     * {@code POST  /customer-boughts/bulk} : Create or update many customerBoughts at once, streamed as newline
+     * delimited JSON, one customerBought per line.
+     * <p>
+     * Same as {@link #saveCustomerBoughts(List)}, malformed lines being reported as invalid customerBoughts.
+     *
+     * @param ndjson the customerBoughts to save.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the outcome of each customerBought.
+     * @throws IOException if the request body cannot be read.
+     */
+    @PostMapping(value = "/customer-boughts/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<CustomerBoughtBulkResultDTO> saveCustomerBoughtsStream(InputStream ndjson) throws IOException {
+        log.debug("REST request to save a stream of CustomerBoughts");
+        return ResponseEntity.ok(customerBoughtBulkService.saveAll(new InputStreamReader(ndjson, StandardCharsets.UTF_8)));
+    }
+
     /**
      * {@code PUT  /customer-boughts/:id} : Updates an existing customerBought.
      *
      * @param id the id of the customerBought to save.
-     * @param customerBought the customerBought to update.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated customerBought,
-     * or with status {@code 400 (Bad Request)} if the customerBought is not valid,
-     * or with status {@code 500 (Internal Server Error)} if the customerBought couldn't be updated.
+     * @param customerBoughtDTO the customerBoughtDTO to update.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated customerBoughtDTO,
+     * or with status {@code 400 (Bad Request)} if the customerBoughtDTO is not valid,
+     * or with status {@code 404 (Not Found)} if the customerBoughtDTO is not found,
+     * or with status {@code 409 (Conflict)} if the customerBought was updated since the version of the customerBoughtDTO,
+     * or with status {@code 500 (Internal Server Error)} if the customerBoughtDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/customer-boughts/{id}")
-    public ResponseEntity<CustomerBought> updateCustomerBought(
+    public ResponseEntity<CustomerBoughtDTO> updateCustomerBought(
         @PathVariable(value = "id", required = false) final Long id,
-        @Valid @RequestBody CustomerBought customerBought
+        @Valid @RequestBody CustomerBoughtDTO customerBoughtDTO
     ) throws URISyntaxException {
-        log.debug("REST request to update CustomerBought : {}, {}", id, customerBought);
-        if (customerBought.getId() == null) {
+        log.debug("REST request to update CustomerBought : {}, {}", id, customerBoughtDTO);
+        if (customerBoughtDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, customerBought.getId())) {
+        if (!Objects.equals(id, customerBoughtDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!customerBoughtRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        Optional<CustomerBoughtDTO> result = customerBoughtRepository
+            .findById(id)
+            .map(
+                existingCustomerBought -> {
+                    checkVersion(customerBoughtDTO, existingCustomerBought);
+                    Contribution before = Contribution.of(existingCustomerBought);
+                    customerBoughtMapper.update(existingCustomerBought, customerBoughtDTO);
+                    updateRelationships(existingCustomerBought, customerBoughtDTO);
+                    // the loaded customerBought is updated by dirty checking, a merge would select it again
+                    customerBoughtRepository.flush();
+                    customerLedgerService.replace(before, Contribution.of(existingCustomerBought));
+                    return customerBoughtMapper.toDto(existingCustomerBought);
+                }
+            );
 
-        CustomerBought result = customerBoughtRepository.save(customerBought);
-        return ResponseEntity
-            .ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, customerBought.getId().toString()))
-            .body(result);
+        return ResponseUtil.wrapOrNotFound(
+            result,
+            HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, customerBoughtDTO.getId().toString())
+        );
     }
 
     /**
      * {@code PATCH  /customer-boughts/:id} : Partial updates given fields of an existing customerBought, field will ignore if it is null
      *
-     * @param id the id of the customerBought to save.
-     * @param customerBought the customerBought to update.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated customerBought,
-     * or with status {@code 400 (Bad Request)} if the customerBought is not valid,
-     * or with status {@code 404 (Not Found)} if the customerBought is not found,
-     * or with status {@code 500 (Internal Server Error)} if the customerBought couldn't be updated.
+     * @param id the id of the customerBoughtDTO to save.
+     * @param customerBoughtDTO the customerBoughtDTO to update.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated customerBoughtDTO,
+     * or with status {@code 400 (Bad Request)} if the customerBoughtDTO is not valid,
+     * or with status {@code 404 (Not Found)} if the customerBoughtDTO is not found,
+     * or with status {@code 409 (Conflict)} if the customerBought was updated since the version of the customerBoughtDTO,
+     * or with status {@code 500 (Internal Server Error)} if the customerBoughtDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/customer-boughts/{id}", consumes = "application/merge-patch+json")
-    public ResponseEntity<CustomerBought> partialUpdateCustomerBought(
+    public ResponseEntity<CustomerBoughtDTO> partialUpdateCustomerBought(
         @PathVariable(value = "id", required = false) final Long id,
-        @NotNull @RequestBody CustomerBought customerBought
+        @NotNull @RequestBody CustomerBoughtDTO customerBoughtDTO
     ) throws URISyntaxException {
-        log.debug("REST request to partial update CustomerBought partially : {}, {}", id, customerBought);
-        if (customerBought.getId() == null) {
+        log.debug("REST request to partial update CustomerBought partially : {}, {}", id, customerBoughtDTO);
+        if (customerBoughtDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, customerBought.getId())) {
+        if (!Objects.equals(id, customerBoughtDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!customerBoughtRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Optional<CustomerBought> result = customerBoughtRepository
-            .findById(customerBought.getId())
+        Optional<CustomerBoughtDTO> result = customerBoughtRepository
+            .findById(id)
             .map(
                 existingCustomerBought -> {
-                    if (customerBought.getWeightType() != null) {
-                        existingCustomerBought.setWeightType(customerBought.getWeightType());
-                    }
-                    if (customerBought.getUnitPrice() != null) {
-                        existingCustomerBought.setUnitPrice(customerBought.getUnitPrice());
-                    }
-                    if (customerBought.getTotalPrice() != null) {
-                        existingCustomerBought.setTotalPrice(customerBought.getTotalPrice());
-                    }
-                    if (customerBought.getDeliveryDate() != null) {
-                        existingCustomerBought.setDeliveryDate(customerBought.getDeliveryDate());
-                    }
-                    if (customerBought.getRemarks() != null) {
-                        existingCustomerBought.setRemarks(customerBought.getRemarks());
-                    }
-                    if (customerBought.getStatus() != null) {
-                        existingCustomerBought.setStatus(customerBought.getStatus());
-                    }
-                    if (customerBought.getTotalWeight() != null) {
-                        existingCustomerBought.setTotalWeight(customerBought.getTotalWeight());
-                    }
-
-                    return existingCustomerBought;
+                    checkVersion(customerBoughtDTO, existingCustomerBought);
+                    Contribution before = Contribution.of(existingCustomerBought);
+                    customerBoughtMapper.partialUpdate(existingCustomerBought, customerBoughtDTO);
+                    customerBoughtRepository.flush();
+                    customerLedgerService.replace(before, Contribution.of(existingCustomerBought));
+                    return customerBoughtMapper.toDto(existingCustomerBought);
                 }
-            )
-            .map(customerBoughtRepository::save);
+            );
 
         return ResponseUtil.wrapOrNotFound(
             result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, customerBought.getId().toString())
+            HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, customerBoughtDTO.getId().toString())
         );
     }
 
@@ -170,27 +256,138 @@ public class CustomerBoughtResource {
      * {@code GET  /customer-boughts} : get all the customerBoughts.
      *
      * @param pageable the pagination information.
+     * @param criteria the criteria which the requested entities should match.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of customerBoughts in body.
      */
     @GetMapping("/customer-boughts")
-    public ResponseEntity<List<CustomerBought>> getAllCustomerBoughts(Pageable pageable) {
-        log.debug("REST request to get a page of CustomerBoughts");
-        Page<CustomerBought> page = customerBoughtRepository.findAll(pageable);
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<CustomerBoughtDTO>> getAllCustomerBoughts(CustomerBoughtCriteria criteria, Pageable pageable) {
+        log.debug("REST request to get CustomerBoughts by criteria: {}", criteria);
+        Page<CustomerBoughtDTO> page = customerBoughtQueryService.findByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /customer-boughts/count} : count all the customerBoughts.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the count in body.
+     */
+    @GetMapping("/customer-boughts/count")
+    @Transactional(readOnly = true)
+    public ResponseEntity<Long> countCustomerBoughts(CustomerBoughtCriteria criteria) {
+        log.debug("REST request to count CustomerBoughts by criteria: {}", criteria);
+        return ResponseEntity.ok().body(customerBoughtQueryService.countByCriteria(criteria));
+    }
+
+    /**
+     * {@code GET  /customer-boughts?cursor=} : get a slice of the customerBoughts using keyset pagination.
+     * <p>
+     * The slice is ordered by id and starts right after the element designated by the cursor, an empty cursor
+     * designating the first slice. The cursor of the next slice is returned in the {@code X-Next-Cursor} header,
+     * which is absent on the last slice. No total count is computed. The criteria filter the slices as they filter the
+     * pages.
+     *
+     * @param cursor the opaque cursor returned with the previous slice.
+     * @param criteria the criteria which the requested entities should match.
+     * @param pageable the pagination information, only the page size is used.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of customerBoughts in body,
+     * or with status {@code 400 (Bad Request)} if the cursor is not valid.
+     */
+    @GetMapping(value = "/customer-boughts", params = CursorPaginationUtil.CURSOR_PARAM)
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<CustomerBoughtDTO>> getCustomerBoughtsAfterCursor(
+        @RequestParam(CursorPaginationUtil.CURSOR_PARAM) String cursor,
+        CustomerBoughtCriteria criteria,
+        Pageable pageable
+    ) {
+        log.debug("REST request to get a slice of CustomerBoughts by criteria: {} after cursor : {}", criteria, cursor);
+        Optional<Long> after;
+        try {
+            after = CursorPaginationUtil.decodeCursor(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid");
+        }
+        Slice<CustomerBoughtDTO> slice = customerBoughtQueryService.findSliceByCriteria(criteria, after.orElse(null), pageable.getPageSize());
+        HttpHeaders headers = CursorPaginationUtil.generateCursorPaginationHttpHeaders(
+            ServletUriComponentsBuilder.fromCurrentRequest(),
+            slice,
+            CustomerBoughtDTO::getId
+        );
+        return ResponseEntity.ok().headers(headers).body(slice.getContent());
+    }
+
+    /**
+     * {@code GET  /customer-boughts/export} : export the customerBoughts delivered in a period, ordered by id.
+     * <p>
+     * The customerBoughts are streamed from the database to the response, so that the whole history can be
+     * exported at once.
+     *
+     * @param format the export format, {@code csv} or {@code ndjson}.
+     * @param from the first delivery day (UTC) to export, no lower bound if absent.
+     * @param to the delivery day (UTC) to stop the export at, excluded, no upper bound if absent.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the customerBoughts in body,
+     * or with status {@code 400 (Bad Request)} if the format is not supported.
+     */
+    @GetMapping("/customer-boughts/export")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<StreamingResponseBody> exportCustomerBoughts(
+        @RequestParam(defaultValue = "csv") String format,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        log.debug("REST request to export CustomerBoughts as {} from {} to {}", format, from, to);
+        CustomerBoughtExportService.Format exportFormat;
+        try {
+            exportFormat = CustomerBoughtExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid export format", ENTITY_NAME, "formatinvalid");
+        }
+        ZonedDateTime fromDate = from == null ? null : from.atStartOfDay(ZoneOffset.UTC);
+        ZonedDateTime toDate = to == null ? null : to.atStartOfDay(ZoneOffset.UTC);
+        StreamingResponseBody body = outputStream -> customerBoughtExportService.export(exportFormat, fromDate, toDate, outputStream);
+        return ResponseEntity
+            .ok()
+            .contentType(exportFormat.getMediaType())
+            .header(
+                HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("customer-boughts." + exportFormat.getExtension()).build().toString()
+            )
+            .body(body);
+    }
+
     /**
      * {@code GET  /customer-boughts/:id} : get the "id" customerBought.
      *
-     * @param id the id of the customerBought to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the customerBought, or with status {@code 404 (Not Found)}.
+     * <p>
+     * The entity tag covers the product type and the customer too, as their names are part of the customerBoughtDTO.
+     *
+     * @param id the id of the customerBoughtDTO to retrieve.
+     * @param webRequest the request, to check its {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the customerBoughtDTO,
+     * or with status {@code 304 (Not Modified)}, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/customer-boughts/{id}")
-    public ResponseEntity<CustomerBought> getCustomerBought(@PathVariable Long id) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<CustomerBoughtDTO> getCustomerBought(@PathVariable Long id, WebRequest webRequest) {
         log.debug("REST request to get CustomerBought : {}", id);
-        Optional<CustomerBought> customerBought = customerBoughtRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(customerBought);
+        Optional<CustomerBoughtVersion> version = customerBoughtRepository.findVersionById(id);
+        if (version.isEmpty()) {
+            return ResponseUtil.wrapOrNotFound(Optional.empty());
+        }
+        String eTag = EntityTagUtil.entityTag(
+            version.get().getVersion(),
+            version.get().getProductTypeVersion(),
+            version.get().getCustomerVersion()
+        );
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        Optional<CustomerBoughtDTO> customerBoughtDTO = customerBoughtRepository
+            .findOneWithEagerRelationships(id)
+            .map(customerBoughtMapper::toDto);
+        return ResponseUtil.wrapOrNotFound(customerBoughtDTO);
     }
 
     /**
@@ -202,10 +399,53 @@ public class CustomerBoughtResource {
     @DeleteMapping("/customer-boughts/{id}")
     public ResponseEntity<Void> deleteCustomerBought(@PathVariable Long id) {
         log.debug("REST request to delete CustomerBought : {}", id);
-        customerBoughtRepository.deleteById(id);
+        customerBoughtRepository
+            .findById(id)
+            .ifPresent(
+                customerBought -> {
+                    Contribution deleted = Contribution.of(customerBought);
+                    customerBoughtRepository.delete(customerBought);
+                    customerLedgerService.remove(deleted);
+                }
+            );
         return ResponseEntity
             .noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    /**
+     * Reject the update of a customerBought which changed since the client read it.
+     * Without a version in the customerBoughtDTO, the last write wins.
+     */
+    private static void checkVersion(CustomerBoughtDTO customerBoughtDTO, CustomerBought customerBought) {
+        if (customerBoughtDTO.getVersion() != null && customerBoughtDTO.getVersion() != customerBought.getVersion()) {
+            throw new ObjectOptimisticLockingFailureException(CustomerBought.class, customerBought.getId());
+        }
+    }
+
+    /**
+     * Point a loaded customerBought to the product type and the customer of the customerBoughtDTO,
+     * which are only loaded when they change.
+     */
+    private void updateRelationships(CustomerBought customerBought, CustomerBoughtDTO customerBoughtDTO) {
+        Long productTypeId = customerBoughtDTO.getProductType().getId();
+        if (!Objects.equals(customerBought.getProductType().getId(), productTypeId)) {
+            customerBought.setProductType(
+                Optional
+                    .ofNullable(productTypeId)
+                    .flatMap(productTypeRepository::findById)
+                    .orElseThrow(() -> new BadRequestAlertException("Entity not found", "productType", "idnotfound"))
+            );
+        }
+        Long customerId = customerBoughtDTO.getCustomer().getId();
+        if (!Objects.equals(customerBought.getCustomer().getId(), customerId)) {
+            customerBought.setCustomer(
+                Optional
+                    .ofNullable(customerId)
+                    .flatMap(customerRepository::findById)
+                    .orElseThrow(() -> new BadRequestAlertException("Entity not found", "customer", "idnotfound"))
+            );
+        }
+    }
 }
@@ -1,25 +1,49 @@
 package com.green.firm.web.rest;
 
 import com.green.firm.domain.Customer;
+import com.green.firm.domain.enumeration.paymentStatus;
 import com.green.firm.repository.CustomerRepository;
+import com.green.firm.repository.EntityVersion;
+import com.green.firm.security.AuthoritiesConstants;
+import com.green.firm.service.CustomerBalanceService;
+import com.green.firm.service.CustomerLedgerService;
+import com.green.firm.service.CustomerPhoneIndex;
+import com.green.firm.service.CustomerSearchService;
+import com.green.firm.service.dto.CustomerBalanceDTO;
+import com.green.firm.service.dto.CustomerDTO;
+import com.green.firm.service.dto.CustomerLedgerDTO;
+import com.green.firm.service.dto.CustomerPhoneDTO;
+import com.green.firm.service.mapper.CustomerMapper;
 import com.green.firm.web.rest.errors.BadRequestAlertException;
+import com.green.firm.web.rest.util.EntityTagUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -37,29 +61,57 @@ public class CustomerResource {
 
     private static final String ENTITY_NAME = "customer";
 
+    private static final int MAX_AUTOCOMPLETE_SIZE = 50;
+
+    private static final Map<String, String> LEDGER_SORT_PROPERTIES = Map.of("totalDue", "totalDueCents", "totalPaid", "totalPaidCents");
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final CustomerRepository customerRepository;
 
-    public CustomerResource(CustomerRepository customerRepository) {
+    private final CustomerMapper customerMapper;
+
+    private final CustomerBalanceService customerBalanceService;
+
+    private final CustomerLedgerService customerLedgerService;
+
+    private final CustomerSearchService customerSearchService;
+
+    private final CustomerPhoneIndex customerPhoneIndex;
+
+    public CustomerResource(
+        CustomerRepository customerRepository,
+        CustomerMapper customerMapper,
+        CustomerBalanceService customerBalanceService,
+        CustomerLedgerService customerLedgerService,
+        CustomerSearchService customerSearchService,
+        CustomerPhoneIndex customerPhoneIndex
+    ) {
         this.customerRepository = customerRepository;
+        this.customerMapper = customerMapper;
+        this.customerBalanceService = customerBalanceService;
+        this.customerLedgerService = customerLedgerService;
+        this.customerSearchService = customerSearchService;
+        this.customerPhoneIndex = customerPhoneIndex;
     }
 
     /**
      * {@code POST  /customers} : Create a new customer.
      *
-     * @param customer the customer to create.
-     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new customer, or with status {@code 400 (Bad Request)} if the customer has already an ID.
+     * @param customerDTO the customerDTO to create.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new customerDTO, or with status {@code 400 (Bad Request)} if the customer has already an ID.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("/customers")
-    public ResponseEntity<Customer> createCustomer(@Valid @RequestBody Customer customer) throws URISyntaxException {
-        log.debug("REST request to save Customer : {}", customer);
-        if (customer.getId() != null) {
+    public ResponseEntity<CustomerDTO> createCustomer(@Valid @RequestBody CustomerDTO customerDTO) throws URISyntaxException {
+        log.debug("REST request to save Customer : {}", customerDTO);
+        if (customerDTO.getId() != null) {
             throw new BadRequestAlertException("A new customer cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        Customer result = customerRepository.save(customer);
+        Customer customer = customerRepository.save(customerMapper.toEntity(customerDTO));
+        customerLedgerService.open(customer.getId());
+        CustomerDTO result = customerMapper.toDto(customer);
         return ResponseEntity
             .created(new URI("/api/customers/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
@@ -70,102 +122,116 @@ public class CustomerResource {
      * {@code PUT  /customers/:id} : Updates an existing customer.
      *
      * @param id the id of the customer to save.
-     * @param customer the customer to update.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated customer,
-     * or with status {@code 400 (Bad Request)} if the customer is not valid,
-     * or with status {@code 500 (Internal Server Error)} if the customer couldn't be updated.
+     * @param customerDTO the customerDTO to update.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated customerDTO,
+     * or with status {@code 400 (Bad Request)} if the customerDTO is not valid,
+     * or with status {@code 404 (Not Found)} if the customerDTO is not found,
+     * or with status {@code 409 (Conflict)} if the customer was updated since the version of the customerDTO,
+     * or with status {@code 500 (Internal Server Error)} if the customerDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/customers/{id}")
-    public ResponseEntity<Customer> updateCustomer(
+    public ResponseEntity<CustomerDTO> updateCustomer(
         @PathVariable(value = "id", required = false) final Long id,
-        @Valid @RequestBody Customer customer
+        @Valid @RequestBody CustomerDTO customerDTO
     ) throws URISyntaxException {
-        log.debug("REST request to update Customer : {}, {}", id, customer);
-        if (customer.getId() == null) {
+        log.debug("REST request to update Customer : {}, {}", id, customerDTO);
+        if (customerDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, customer.getId())) {
+        if (!Objects.equals(id, customerDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!customerRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        Optional<CustomerDTO> result = customerRepository
+            .findById(id)
+            .map(
+                existingCustomer -> {
+                    checkVersion(customerDTO, existingCustomer);
+                    customerMapper.update(existingCustomer, customerDTO);
+                    // the loaded customer is updated by dirty checking, a merge would select it again
+                    customerRepository.flush();
+                    return customerMapper.toDto(existingCustomer);
+                }
+            );
 
-        Customer result = customerRepository.save(customer);
-        return ResponseEntity
-            .ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, customer.getId().toString()))
-            .body(result);
+        return ResponseUtil.wrapOrNotFound(
+            result,
+            HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, customerDTO.getId().toString())
+        );
     }
 
     /**
      * {@code PATCH  /customers/:id} : Partial updates given fields of an existing customer, field will ignore if it is null
      *
      * @param id the id of the customer to save.
-     * @param customer the customer to update.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated customer,
-     * or with status {@code 400 (Bad Request)} if the customer is not valid,
-     * or with status {@code 404 (Not Found)} if the customer is not found,
-     * or with status {@code 500 (Internal Server Error)} if the customer couldn't be updated.
+     * @param customerDTO the customerDTO to update.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated customerDTO,
+     * or with status {@code 400 (Bad Request)} if the customerDTO is not valid,
+     * or with status {@code 404 (Not Found)} if the customerDTO is not found,
+     * or with status {@code 409 (Conflict)} if the customer was updated since the version of the customerDTO,
+     * or with status {@code 500 (Internal Server Error)} if the customerDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/customers/{id}", consumes = "application/merge-patch+json")
-    public ResponseEntity<Customer> partialUpdateCustomer(
+    public ResponseEntity<CustomerDTO> partialUpdateCustomer(
         @PathVariable(value = "id", required = false) final Long id,
-        @NotNull @RequestBody Customer customer
+        @NotNull @RequestBody CustomerDTO customerDTO
     ) throws URISyntaxException {
-        log.debug("REST request to partial update Customer partially : {}, {}", id, customer);
-        if (customer.getId() == null) {
+        log.debug("REST request to partial update Customer partially : {}, {}", id, customerDTO);
+        if (customerDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, customer.getId())) {
+        if (!Objects.equals(id, customerDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!customerRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Optional<Customer> result = customerRepository
-            .findById(customer.getId())
+        Optional<CustomerDTO> result = customerRepository
+            .findById(id)
             .map(
                 existingCustomer -> {
-                    if (customer.getName() != null) {
-                        existingCustomer.setName(customer.getName());
-                    }
-                    if (customer.getEmail() != null) {
-                        existingCustomer.setEmail(customer.getEmail());
-                    }
-                    if (customer.getPhone() != null) {
-                        existingCustomer.setPhone(customer.getPhone());
-                    }
-                    if (customer.getAddress() != null) {
-                        existingCustomer.setAddress(customer.getAddress());
-                    }
-
-                    return existingCustomer;
+                    checkVersion(customerDTO, existingCustomer);
+                    customerMapper.partialUpdate(existingCustomer, customerDTO);
+                    customerRepository.flush();
+                    return customerMapper.toDto(existingCustomer);
                 }
-            )
-            .map(customerRepository::save);
+            );
 
         return ResponseUtil.wrapOrNotFound(
             result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, customer.getId().toString())
+            HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, customerDTO.getId().toString())
         );
     }
 
     /**
      * {@code GET  /customers} : get all the customers.
+     * <p>
+     * Only the versions of the page are read when it matches the {@code If-None-Match} header of the request.
      *
      * @param pageable the pagination information.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of customers in body.
+     * @param webRequest the request, to check its {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of customers in body,
+     * or with status {@code 304 (Not Modified)}.
      */
     @GetMapping("/customers")
-    public ResponseEntity<List<Customer>> getAllCustomers(Pageable pageable) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<CustomerDTO>> getAllCustomers(Pageable pageable, WebRequest webRequest) {
         log.debug("REST request to get a page of Customers");
-        Page<Customer> page = customerRepository.findAll(pageable);
+        Page<EntityVersion> versions = customerRepository.findVersionsBy(pageable);
+        if (webRequest.checkNotModified(EntityTagUtil.pageTag(versions))) {
+            return null;
+        }
+        List<Long> ids = versions.map(EntityVersion::getId).getContent();
+        Map<Long, Customer> customers = customerRepository
+            .findAllById(ids)
+            .stream()
+            .collect(Collectors.toMap(Customer::getId, Function.identity()));
+        Page<CustomerDTO> page = new PageImpl<>(
+            // in the order of the page, without the customers deleted in the meantime
+            ids.stream().map(customers::get).filter(Objects::nonNull).map(customerMapper::toDto).collect(Collectors.toList()),
+            pageable,
+            versions.getTotalElements()
+        );
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
@@ -173,14 +239,137 @@ public class CustomerResource {
     /**
      * {@code GET  /customers/:id} : get the "id" customer.
      *
-     * @param id the id of the customer to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the customer, or with status {@code 404 (Not Found)}.
+     * @param id the id of the customerDTO to retrieve.
+     * @param webRequest the request, to check its {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the customerDTO,
+     * or with status {@code 304 (Not Modified)}, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/customers/{id}")
-    public ResponseEntity<Customer> getCustomer(@PathVariable Long id) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<CustomerDTO> getCustomer(@PathVariable Long id, WebRequest webRequest) {
         log.debug("REST request to get Customer : {}", id);
-        Optional<Customer> customer = customerRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(customer);
+        Optional<Long> version = customerRepository.findVersionById(id);
+        if (version.isEmpty()) {
+            return ResponseUtil.wrapOrNotFound(Optional.empty());
+        }
+        if (webRequest.checkNotModified(EntityTagUtil.entityTag(version.get()))) {
+            return null;
+        }
+        Optional<CustomerDTO> customerDTO = customerRepository.findById(id).map(customerMapper::toDto);
+        return ResponseUtil.wrapOrNotFound(customerDTO);
+    }
+
+    /**
+     * {@code GET  /customers/:id/balance} : get what the "id" customer bought with the given payment status.
+     *
+     * @param id the id of the customer.
+     * @param status the payment status of the customerBoughts to sum, {@code DUE} by default.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the balance, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/customers/{id}/balance")
+    @Transactional(readOnly = true)
+    public ResponseEntity<CustomerBalanceDTO> getCustomerBalance(
+        @PathVariable Long id,
+        @RequestParam(defaultValue = "DUE") paymentStatus status
+    ) {
+        log.debug("REST request to get the {} balance of Customer : {}", status, id);
+        return ResponseUtil.wrapOrNotFound(customerBalanceService.findBalance(id, status));
+    }
+
+    /**
+     * {@code GET  /customers/balances} : get what the customers bought with the given payment status,
+     * the customers who owe the most first.
+     *
+     * @param status the payment status of the customerBoughts to sum, {@code DUE} by default.
+     * @param pageable the pagination information, the sort is ignored.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of balances in body.
+     */
+    @GetMapping("/customers/balances")
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<CustomerBalanceDTO>> getCustomerBalances(
+        @RequestParam(defaultValue = "DUE") paymentStatus status,
+        Pageable pageable
+    ) {
+        log.debug("REST request to get a page of {} balances", status);
+        Page<CustomerBalanceDTO> page = customerBalanceService.findBalances(status, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /customers/:id/ledger} : get the totals of what the "id" customer bought.
+     *
+     * @param id the id of the customer.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the ledger, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/customers/{id}/ledger")
+    @Transactional(readOnly = true)
+    public ResponseEntity<CustomerLedgerDTO> getCustomerLedger(@PathVariable Long id) {
+        log.debug("REST request to get the CustomerLedger of Customer : {}", id);
+        return ResponseUtil.wrapOrNotFound(customerLedgerService.findOne(id).map(CustomerLedgerDTO::new));
+    }
+
+    /**
+     * {@code GET  /customers/ledgers} : get the ledgers of the customers who bought something,
+     * the customers who owe the most first unless another sort is requested.
+     *
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of ledgers in body.
+     */
+    @GetMapping("/customers/ledgers")
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<CustomerLedgerDTO>> getCustomerLedgers(
+        @PageableDefault(sort = { "totalDue", "customerId" }, direction = Sort.Direction.DESC) Pageable pageable
+    ) {
+        log.debug("REST request to get a page of CustomerLedgers");
+        Page<CustomerLedgerDTO> page = customerLedgerService.findAll(toLedgerPageable(pageable)).map(CustomerLedgerDTO::new);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /customers/_search?q=:q} : search for the customers by partial name, phone, email or address.
+     *
+     * @param q the words to search for, each of them prefixing a word of the customer.
+     * @param pageable the pagination information, the best matches come first whatever the sort.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of customers in body.
+     */
+    @GetMapping("/customers/_search")
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<CustomerDTO>> searchCustomers(@RequestParam String q, Pageable pageable) {
+        log.debug("REST request to search for a page of Customers for query {}", q);
+        Page<CustomerDTO> page = customerSearchService.search(q, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /customers/autocomplete?phone=:phone} : get the customers whose phone number starts with the given digits,
+     * from memory.
+     *
+     * @param phone the start of the phone number, only its digits are considered.
+     * @param size the maximum number of customers to return, at most 50.
+     * @return the customers found, the shortest phone numbers first.
+     */
+    @GetMapping("/customers/autocomplete")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<CustomerPhoneDTO> autocompleteCustomers(@RequestParam String phone, @RequestParam(defaultValue = "10") int size) {
+        log.debug("REST request to autocomplete the Customer phone : {}", phone);
+        return customerPhoneIndex.autocomplete(phone, Math.min(size, MAX_AUTOCOMPLETE_SIZE));
+    }
+
+    /**
+     * {@code POST  /customers/_search/reindex} : rebuild the search index of the customers from the table.
+     *
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)}, the index being rebuilt in the background.
+     */
+    @PostMapping("/customers/_search/reindex")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<Void> reindexCustomers() {
+        log.debug("REST request to rebuild the search index of Customers");
+        customerSearchService.reindex();
+        return ResponseEntity.accepted().build();
     }
 
     /**
@@ -198,4 +387,28 @@ public class CustomerResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    /**
+     * Reject the update of a customer which changed since the client read it.
+     * Without a version in the customerDTO, the last write wins.
+     */
+    private static void checkVersion(CustomerDTO customerDTO, Customer customer) {
+        if (customerDTO.getVersion() != null && customerDTO.getVersion() != customer.getVersion()) {
+            throw new ObjectOptimisticLockingFailureException(Customer.class, customer.getId());
+        }
+    }
+
+    /**
+     * The amounts of the ledgers are sorted by the cents they are stored in.
+     */
+    private static Pageable toLedgerPageable(Pageable pageable) {
+        Sort sort = Sort.by(
+            pageable
+                .getSort()
+                .stream()
+                .map(order -> order.withProperty(LEDGER_SORT_PROPERTIES.getOrDefault(order.getProperty(), order.getProperty())))
+                .collect(Collectors.toList())
+        );
+        return pageable.isPaged() ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort) : Pageable.unpaged();
+    }
 }
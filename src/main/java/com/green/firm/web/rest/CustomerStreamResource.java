@@ -0,0 +1,71 @@
+package com.green.firm.web.rest;
+
+import com.green.firm.service.CustomerStreamService;
+import com.green.firm.service.dto.CustomerBoughtDTO;
+import com.green.firm.service.dto.CustomerDTO;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+/**
+ * REST controller streaming {@link com.green.firm.domain.Customer} and {@link com.green.firm.domain.CustomerBought},
+ * one JSON document per line, as they are read from the database.
+ * <p>
+ * The request is processed asynchronously: the servlet thread is released as soon as the stream is returned,
+ * and the next element is only read once the previous one was written, so a slow client slows the query down
+ * instead of buffering the results. The entities are created and updated through the {@link CustomerResource} and
+ * the {@link CustomerBoughtResource}.
+ */
+@RestController
+@RequestMapping("/api/stream")
+public class CustomerStreamResource {
+
+    private final Logger log = LoggerFactory.getLogger(CustomerStreamResource.class);
+
+    private final CustomerStreamService customerStreamService;
+
+    public CustomerStreamResource(CustomerStreamService customerStreamService) {
+        this.customerStreamService = customerStreamService;
+    }
+
+    /**
+     * {@code GET  /stream/customers} : stream all the customers, ordered by id.
+     *
+     * @return the customers, as newline-delimited JSON.
+     */
+    @GetMapping(value = "/customers", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<CustomerDTO> streamCustomers() {
+        log.debug("REST request to stream Customers");
+        return customerStreamService.streamCustomers();
+    }
+
+    /**
+     * {@code GET  /stream/customer-boughts} : stream the customerBoughts delivered in a period, ordered by id.
+     *
+     * @param customerId the id of the customer who bought them, all the customers if absent.
+     * @param from the first delivery day (UTC) to stream, no lower bound if absent.
+     * @param to the delivery day (UTC) to stop the stream at, excluded, no upper bound if absent.
+     * @return the customerBoughts, as newline-delimited JSON.
+     */
+    @GetMapping(value = "/customer-boughts", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<CustomerBoughtDTO> streamCustomerBoughts(
+        @RequestParam(required = false) Long customerId,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        log.debug("REST request to stream CustomerBoughts of Customer {} from {} to {}", customerId, from, to);
+        return customerStreamService.streamCustomerBoughts(
+            customerId,
+            from == null ? null : from.atStartOfDay(ZoneOffset.UTC),
+            to == null ? null : to.atStartOfDay(ZoneOffset.UTC)
+        );
+    }
+}
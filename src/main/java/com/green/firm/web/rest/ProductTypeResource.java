@@ -1,25 +1,40 @@
 package com.green.firm.web.rest;
 
 import com.green.firm.domain.ProductType;
+import com.green.firm.repository.EntityVersion;
 import com.green.firm.repository.ProductTypeRepository;
+import com.green.firm.service.ProductSalesService;
+import com.green.firm.service.dto.ProductSalesDTO;
+import com.green.firm.service.dto.ProductTypeDTO;
+import com.green.firm.service.mapper.ProductTypeMapper;
 import com.green.firm.web.rest.errors.BadRequestAlertException;
+import com.green.firm.web.rest.util.EntityTagUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -42,24 +57,34 @@ public class ProductTypeResource {
 
     private final ProductTypeRepository productTypeRepository;
 
-    public ProductTypeResource(ProductTypeRepository productTypeRepository) {
+    private final ProductTypeMapper productTypeMapper;
+
+    private final ProductSalesService productSalesService;
+
+    public ProductTypeResource(
+        ProductTypeRepository productTypeRepository,
+        ProductTypeMapper productTypeMapper,
+        ProductSalesService productSalesService
+    ) {
         this.productTypeRepository = productTypeRepository;
+        this.productTypeMapper = productTypeMapper;
+        this.productSalesService = productSalesService;
     }
 
     /**
      * {@code POST  /product-types} : Create a new productType.
      *
-     * @param productType the productType to create.
-     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new productType, or with status {@code 400 (Bad Request)} if the productType has already an ID.
+     * @param productTypeDTO the productTypeDTO to create.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new productTypeDTO, or with status {@code 400 (Bad Request)} if the productType has already an ID.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("/product-types")
-    public ResponseEntity<ProductType> createProductType(@Valid @RequestBody ProductType productType) throws URISyntaxException {
-        log.debug("REST request to save ProductType : {}", productType);
-        if (productType.getId() != null) {
+    public ResponseEntity<ProductTypeDTO> createProductType(@Valid @RequestBody ProductTypeDTO productTypeDTO) throws URISyntaxException {
+        log.debug("REST request to save ProductType : {}", productTypeDTO);
+        if (productTypeDTO.getId() != null) {
             throw new BadRequestAlertException("A new productType cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        ProductType result = productTypeRepository.save(productType);
+        ProductTypeDTO result = productTypeMapper.toDto(productTypeRepository.save(productTypeMapper.toEntity(productTypeDTO)));
         return ResponseEntity
             .created(new URI("/api/product-types/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
@@ -70,93 +95,116 @@ public class ProductTypeResource {
      * {@code PUT  /product-types/:id} : Updates an existing productType.
      *
      * @param id the id of the productType to save.
-     * @param productType the productType to update.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated productType,
-     * or with status {@code 400 (Bad Request)} if the productType is not valid,
-     * or with status {@code 500 (Internal Server Error)} if the productType couldn't be updated.
+     * @param productTypeDTO the productTypeDTO to update.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated productTypeDTO,
+     * or with status {@code 400 (Bad Request)} if the productTypeDTO is not valid,
+     * or with status {@code 404 (Not Found)} if the productTypeDTO is not found,
+     * or with status {@code 409 (Conflict)} if the productType was updated since the version of the productTypeDTO,
+     * or with status {@code 500 (Internal Server Error)} if the productTypeDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/product-types/{id}")
-    public ResponseEntity<ProductType> updateProductType(
+    public ResponseEntity<ProductTypeDTO> updateProductType(
         @PathVariable(value = "id", required = false) final Long id,
-        @Valid @RequestBody ProductType productType
+        @Valid @RequestBody ProductTypeDTO productTypeDTO
     ) throws URISyntaxException {
-        log.debug("REST request to update ProductType : {}, {}", id, productType);
-        if (productType.getId() == null) {
+        log.debug("REST request to update ProductType : {}, {}", id, productTypeDTO);
+        if (productTypeDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, productType.getId())) {
+        if (!Objects.equals(id, productTypeDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!productTypeRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        Optional<ProductTypeDTO> result = productTypeRepository
+            .findById(id)
+            .map(
+                existingProductType -> {
+                    checkVersion(productTypeDTO, existingProductType);
+                    productTypeMapper.update(existingProductType, productTypeDTO);
+                    // the loaded productType is updated by dirty checking, a merge would select it again
+                    productTypeRepository.flush();
+                    return productTypeMapper.toDto(existingProductType);
+                }
+            );
 
-        ProductType result = productTypeRepository.save(productType);
-        return ResponseEntity
-            .ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, productType.getId().toString()))
-            .body(result);
+        return ResponseUtil.wrapOrNotFound(
+            result,
+            HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, productTypeDTO.getId().toString())
+        );
     }
 
     /**
      * {@code PATCH  /product-types/:id} : Partial updates given fields of an existing productType, field will ignore if it is null
      *
      * @param id the id of the productType to save.
-     * @param productType the productType to update.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated productType,
-     * or with status {@code 400 (Bad Request)} if the productType is not valid,
-     * or with status {@code 404 (Not Found)} if the productType is not found,
-     * or with status {@code 500 (Internal Server Error)} if the productType couldn't be updated.
+     * @param productTypeDTO the productTypeDTO to update.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated productTypeDTO,
+     * or with status {@code 400 (Bad Request)} if the productTypeDTO is not valid,
+     * or with status {@code 404 (Not Found)} if the productTypeDTO is not found,
+     * or with status {@code 409 (Conflict)} if the productType was updated since the version of the productTypeDTO,
+     * or with status {@code 500 (Internal Server Error)} if the productTypeDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/product-types/{id}", consumes = "application/merge-patch+json")
-    public ResponseEntity<ProductType> partialUpdateProductType(
+    public ResponseEntity<ProductTypeDTO> partialUpdateProductType(
         @PathVariable(value = "id", required = false) final Long id,
-        @NotNull @RequestBody ProductType productType
+        @NotNull @RequestBody ProductTypeDTO productTypeDTO
     ) throws URISyntaxException {
-        log.debug("REST request to partial update ProductType partially : {}, {}", id, productType);
-        if (productType.getId() == null) {
+        log.debug("REST request to partial update ProductType partially : {}, {}", id, productTypeDTO);
+        if (productTypeDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, productType.getId())) {
+        if (!Objects.equals(id, productTypeDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!productTypeRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Optional<ProductType> result = productTypeRepository
-            .findById(productType.getId())
+        Optional<ProductTypeDTO> result = productTypeRepository
+            .findById(id)
             .map(
                 existingProductType -> {
-                    if (productType.getName() != null) {
-                        existingProductType.setName(productType.getName());
-                    }
-
-                    return existingProductType;
+                    checkVersion(productTypeDTO, existingProductType);
+                    productTypeMapper.partialUpdate(existingProductType, productTypeDTO);
+                    productTypeRepository.flush();
+                    return productTypeMapper.toDto(existingProductType);
                 }
-            )
-            .map(productTypeRepository::save);
+            );
 
         return ResponseUtil.wrapOrNotFound(
             result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, productType.getId().toString())
+            HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, productTypeDTO.getId().toString())
         );
     }
 
     /**
      * {@code GET  /product-types} : get all the productTypes.
+     * <p>
+     * Only the versions of the page are read when it matches the {@code If-None-Match} header of the request.
      *
      * @param pageable the pagination information.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of productTypes in body.
+     * @param webRequest the request, to check its {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of productTypes in body,
+     * or with status {@code 304 (Not Modified)}.
      */
     @GetMapping("/product-types")
-    public ResponseEntity<List<ProductType>> getAllProductTypes(Pageable pageable) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<ProductTypeDTO>> getAllProductTypes(Pageable pageable, WebRequest webRequest) {
         log.debug("REST request to get a page of ProductTypes");
-        Page<ProductType> page = productTypeRepository.findAll(pageable);
+        Page<EntityVersion> versions = productTypeRepository.findVersionsBy(pageable);
+        if (webRequest.checkNotModified(EntityTagUtil.pageTag(versions))) {
+            return null;
+        }
+        List<Long> ids = versions.map(EntityVersion::getId).getContent();
+        Map<Long, ProductType> productTypes = productTypeRepository
+            .findAllById(ids)
+            .stream()
+            .collect(Collectors.toMap(ProductType::getId, Function.identity()));
+        Page<ProductTypeDTO> page = new PageImpl<>(
+            // in the order of the page, without the productTypes deleted in the meantime
+            ids.stream().map(productTypes::get).filter(Objects::nonNull).map(productTypeMapper::toDto).collect(Collectors.toList()),
+            pageable,
+            versions.getTotalElements()
+        );
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
@@ -164,14 +212,62 @@ public class ProductTypeResource {
     /**
      * {@code GET  /product-types/:id} : get the "id" productType.
      *
-     * @param id the id of the productType to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the productType, or with status {@code 404 (Not Found)}.
+     * @param id the id of the productTypeDTO to retrieve.
+     * @param webRequest the request, to check its {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the productTypeDTO,
+     * or with status {@code 304 (Not Modified)}, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/product-types/{id}")
-    public ResponseEntity<ProductType> getProductType(@PathVariable Long id) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<ProductTypeDTO> getProductType(@PathVariable Long id, WebRequest webRequest) {
         log.debug("REST request to get ProductType : {}", id);
-        Optional<ProductType> productType = productTypeRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(productType);
+        Optional<Long> version = productTypeRepository.findVersionById(id);
+        if (version.isEmpty()) {
+            return ResponseUtil.wrapOrNotFound(Optional.empty());
+        }
+        if (webRequest.checkNotModified(EntityTagUtil.entityTag(version.get()))) {
+            return null;
+        }
+        Optional<ProductTypeDTO> productTypeDTO = productTypeRepository.findById(id).map(productTypeMapper::toDto);
+        return ResponseUtil.wrapOrNotFound(productTypeDTO);
+    }
+
+    /**
+     * {@code GET  /product-types/:id/sales} : get the sales of the "id" productType over a period.
+     * <p>
+     * The sales are read from the daily rollup of the customerBoughts, which lags their creation by up to
+     * {@code application.sales.rollup-interval}.
+     *
+     * @param id the id of the productType.
+     * @param from the first delivery day (UTC) of the period.
+     * @param to the delivery day (UTC) ending the period, excluded.
+     * @param granularity the periods to sum the sales by, {@code day}, {@code week} or {@code month}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the sales by period and weight type in body,
+     * or with status {@code 400 (Bad Request)} if the period or the granularity is invalid,
+     * or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/product-types/{id}/sales")
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<ProductSalesDTO>> getProductTypeSales(
+        @PathVariable Long id,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+        @RequestParam(defaultValue = "day") String granularity
+    ) {
+        log.debug("REST request to get the {} sales of ProductType {} from {} to {}", granularity, id, from, to);
+        ProductSalesService.Granularity salesGranularity;
+        try {
+            salesGranularity = ProductSalesService.Granularity.valueOf(granularity.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid granularity", ENTITY_NAME, "granularityinvalid");
+        }
+        if (!from.isBefore(to)) {
+            throw new BadRequestAlertException("Invalid period", ENTITY_NAME, "periodinvalid");
+        }
+        if (!productTypeRepository.existsById(id)) {
+            return ResponseUtil.wrapOrNotFound(Optional.empty());
+        }
+        return ResponseEntity.ok(productSalesService.findSales(id, from, to, salesGranularity));
     }
 
     /**
@@ -189,4 +285,14 @@ public class ProductTypeResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    /**
+     * Reject the update of a productType which changed since the client read it.
+     * Without a version in the productTypeDTO, the last write wins.
+     */
+    private static void checkVersion(ProductTypeDTO productTypeDTO, ProductType productType) {
+        if (productTypeDTO.getVersion() != null && productTypeDTO.getVersion() != productType.getVersion()) {
+            throw new ObjectOptimisticLockingFailureException(ProductType.class, productType.getId());
+        }
+    }
 }
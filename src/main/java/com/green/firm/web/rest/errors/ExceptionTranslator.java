@@ -150,6 +150,14 @@ public class ExceptionTranslator implements ProblemHandling, SecurityAdviceTrait
         return create(new InvalidPasswordException(), request);
     }
 
+    @ExceptionHandler
+    public ResponseEntity<Problem> handleAmountOutOfRangeException(
+        com.green.firm.service.AmountOutOfRangeException ex,
+        NativeWebRequest request
+    ) {
+        return handleBadRequestAlertException(new BadRequestAlertException(ex.getMessage(), "customerBought", "amountoutofrange"), request);
+    }
+
     @ExceptionHandler
     public ResponseEntity<Problem> handleBadRequestAlertException(BadRequestAlertException ex, NativeWebRequest request) {
         return create(
@@ -0,0 +1,90 @@
+package com.green.firm.web.rest.util;
+
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling keyset (cursor) pagination.
+ * <p>
+ * Unlike offset pagination, a cursor page is addressed by the identifier of the last element of the previous page,
+ * so that neither an OFFSET scan nor a {@code count(*)} query is needed to serve it.
+ * The cursor is opaque to clients: they must only pass back the value found in the {@value #NEXT_CURSOR_HEADER} header.
+ */
+public final class CursorPaginationUtil {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    public static final String CURSOR_PARAM = "cursor";
+
+    private static final String HEADER_LINK_FORMAT = "<{0}>; rel=\"{1}\"";
+
+    private CursorPaginationUtil() {}
+
+    /**
+     * Encodes the given identifier into an opaque cursor.
+     *
+     * @param id the identifier of the last element returned.
+     * @return the opaque cursor.
+     */
+    public static String encodeCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes an opaque cursor into the identifier it points after.
+     *
+     * @param cursor the cursor sent by the client, an empty cursor designates the first page.
+     * @return the decoded identifier, or an empty {@link Optional} for the first page.
+     * @throws IllegalArgumentException if the cursor is not a valid cursor.
+     */
+    public static Optional<Long> decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    /**
+     * Generate cursor pagination headers for a Spring Data {@link Slice} object.
+     * <p>
+     * When there is a next slice, the opaque cursor is returned in the {@value #NEXT_CURSOR_HEADER} header,
+     * and the corresponding URL is returned as a {@code next} Link header.
+     *
+     * @param uriBuilder The URI builder.
+     * @param slice The slice.
+     * @param idExtractor The function giving the identifier of an element of the slice.
+     * @param <T> The type of object.
+     * @return http header.
+     */
+    public static <T> HttpHeaders generateCursorPaginationHttpHeaders(
+        UriComponentsBuilder uriBuilder,
+        Slice<T> slice,
+        Function<T, Long> idExtractor
+    ) {
+        HttpHeaders headers = new HttpHeaders();
+        List<T> content = slice.getContent();
+        if (slice.hasNext() && !content.isEmpty()) {
+            String nextCursor = encodeCursor(idExtractor.apply(content.get(content.size() - 1)));
+            headers.add(NEXT_CURSOR_HEADER, nextCursor);
+            String nextLink = uriBuilder
+                .replaceQueryParam(CURSOR_PARAM, nextCursor)
+                .replaceQueryParam("size", slice.getSize())
+                .replaceQueryParam("page")
+                .replaceQueryParam("sort")
+                .toUriString();
+            headers.add(HttpHeaders.LINK, MessageFormat.format(HEADER_LINK_FORMAT, nextLink, "next"));
+        }
+        return headers;
+    }
+}
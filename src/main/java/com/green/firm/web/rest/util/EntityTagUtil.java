@@ -0,0 +1,43 @@
+package com.green.firm.web.rest.util;
+
+import com.green.firm.repository.EntityVersion;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import org.springframework.data.domain.Page;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Utility class computing the strong entity tags of the REST resources, for conditional GETs.
+ * <p>
+ * The tags are derived from the {@code @Version} of the entities, so that they can be compared with the
+ * {@code If-None-Match} header of a request before the entities are loaded and serialized.
+ */
+public final class EntityTagUtil {
+
+    private EntityTagUtil() {}
+
+    /**
+     * Entity tag of a single resource.
+     *
+     * @param versions the version of the entity, followed by the versions of the related entities it is served with.
+     * @return the quoted entity tag.
+     */
+    public static String entityTag(long... versions) {
+        return Arrays.stream(versions).mapToObj(Long::toString).collect(Collectors.joining("-", "\"", "\""));
+    }
+
+    /**
+     * Entity tag of a page of resources: it changes when an entity of the page is added, removed or updated,
+     * and when the total number of entities changes, as it is sent in the pagination headers.
+     *
+     * @param page the versions of the entities of the page.
+     * @return the quoted entity tag.
+     */
+    public static String pageTag(Page<? extends EntityVersion> page) {
+        StringBuilder fingerprint = new StringBuilder();
+        page.forEach(entity -> fingerprint.append(entity.getId()).append(':').append(entity.getVersion()).append(','));
+        fingerprint.append(page.getTotalElements());
+        return "\"" + DigestUtils.md5DigestAsHex(fingerprint.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
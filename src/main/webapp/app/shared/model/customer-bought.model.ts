@@ -6,6 +6,7 @@ import { paymentStatus } from 'app/shared/model/enumerations/payment-status.mode
 
 export interface ICustomerBought {
   id?: number;
+  version?: number;
   weightType?: weightTypes;
   unitPrice?: number;
   totalPrice?: number;
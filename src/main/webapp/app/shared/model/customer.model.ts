@@ -1,5 +1,6 @@
 export interface ICustomer {
   id?: number;
+  version?: number;
   name?: string;
   email?: string | null;
   phone?: string;
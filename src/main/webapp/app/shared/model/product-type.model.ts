@@ -1,5 +1,6 @@
 export interface IProductType {
   id?: number;
+  version?: number;
   name?: string;
 }
 
@@ -26,4 +26,20 @@ class ArchTest {
             .because("Services and repositories should not depend on web layer")
             .check(importedClasses);
     }
+
+    @Test
+    void domainShouldNotDependOnServiceOrWebLayer() {
+        JavaClasses importedClasses = new ClassFileImporter()
+            .withImportOption(ImportOption.Predefined.DO_NOT_INCLUDE_TESTS)
+            .importPackages("com.green.firm");
+
+        noClasses()
+            .that()
+            .resideInAnyPackage("com.green.firm.domain..")
+            .should()
+            .dependOnClassesThat()
+            .resideInAnyPackage("com.green.firm.service..", "com.green.firm.web..")
+            .because("Entities should not depend on the service or web layers")
+            .check(importedClasses);
+    }
 }
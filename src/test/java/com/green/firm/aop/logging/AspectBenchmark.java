@@ -0,0 +1,102 @@
+package com.green.firm.aop.logging;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import com.green.firm.repository.OutboxMessageRepository;
+import com.green.firm.service.MailService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.context.support.StaticMessageSource;
+import org.springframework.core.env.StandardEnvironment;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Compares the cost of the advices around a service call which does next to nothing: without any aspect, which
+ * is the case when {@code application.aspects.timing.enabled} is off outside of dev, with the {@link LoggingAspect}
+ * at the INFO level, and with the {@link TimingAspect} timing a sample or all of the calls.
+ * <p>
+ * It is not run by the test suite: run its {@link #main(String[])} method after {@code ./mvnw test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AspectBenchmark {
+
+    private MailService noAspect;
+
+    private MailService loggingAspect;
+
+    private MailService sampledTimingAspect;
+
+    private MailService timingAspect;
+
+    @Setup
+    public void setup() {
+        MailService target = new MailService(
+            new JHipsterProperties(),
+            new StaticMessageSource(),
+            new SpringTemplateEngine(),
+            mock(OutboxMessageRepository.class, withSettings().stubOnly())
+        );
+        noAspect = proxy(target, null);
+        // the com.green.firm loggers are at the INFO level in the tests' logback.xml
+        loggingAspect = proxy(target, new LoggingAspect(new StandardEnvironment(), 200));
+        sampledTimingAspect = proxy(target, new TimingAspect(new SimpleMeterRegistry(), 0.1, Duration.ofSeconds(1), 200));
+        timingAspect = proxy(target, new TimingAspect(new SimpleMeterRegistry(), 1, Duration.ofSeconds(1), 200));
+    }
+
+    private static MailService proxy(MailService target, Object aspect) {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        if (aspect != null) {
+            proxyFactory.addAspect(aspect);
+        }
+        return proxyFactory.getProxy();
+    }
+
+    @Benchmark
+    public void noAspect() {
+        noAspect.sendEmailFromTemplate(Collections.emptyList(), "mail/activationEmail", "email.activation.title");
+    }
+
+    @Benchmark
+    public void loggingAspect() {
+        loggingAspect.sendEmailFromTemplate(Collections.emptyList(), "mail/activationEmail", "email.activation.title");
+    }
+
+    @Benchmark
+    public void sampledTimingAspect() {
+        sampledTimingAspect.sendEmailFromTemplate(Collections.emptyList(), "mail/activationEmail", "email.activation.title");
+    }
+
+    @Benchmark
+    public void timingAspect() {
+        timingAspect.sendEmailFromTemplate(Collections.emptyList(), "mail/activationEmail", "email.activation.title");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AspectBenchmark.class.getSimpleName()).addProfiler(GCProfiler.class).build()).run();
+    }
+}
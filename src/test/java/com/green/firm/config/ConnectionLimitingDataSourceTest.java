@@ -0,0 +1,88 @@
+package com.green.firm.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ConnectionLimitingDataSource}.
+ */
+class ConnectionLimitingDataSourceTest {
+
+    private DataSource targetDataSource;
+
+    private ConnectionLimitingDataSource dataSource;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        targetDataSource = mock(DataSource.class);
+        when(targetDataSource.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        dataSource = new ConnectionLimitingDataSource(targetDataSource, 2, Duration.ofMillis(10));
+    }
+
+    @Test
+    void shouldNotHandOutMoreConnectionsThanPermitted() throws SQLException {
+        dataSource.getConnection();
+        Connection connection = dataSource.getConnection();
+
+        assertThat(dataSource.getAvailableConnections()).isZero();
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+
+        connection.close();
+        assertThat(dataSource.getAvailableConnections()).isEqualTo(1);
+        assertThat(dataSource.getConnection()).isNotNull();
+    }
+
+    @Test
+    void shouldReleaseThePermitOnce() throws SQLException {
+        Connection connection = dataSource.getConnection();
+
+        connection.close();
+        connection.close();
+
+        assertThat(dataSource.getAvailableConnections()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldDelegateToTheTargetConnection() throws SQLException {
+        Connection target = mock(Connection.class);
+        when(targetDataSource.getConnection()).thenReturn(target);
+        Connection connection = dataSource.getConnection();
+
+        connection.setAutoCommit(false);
+        connection.close();
+
+        verify(target).setAutoCommit(false);
+        verify(target).close();
+        assertThat(connection).isEqualTo(connection).isNotEqualTo(target);
+    }
+
+    @Test
+    void shouldReleaseThePermitWhenTheTargetFails() throws SQLException {
+        when(targetDataSource.getConnection()).thenThrow(new SQLException("database down"));
+
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLException.class).hasMessage("database down");
+        assertThat(dataSource.getAvailableConnections()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldBeSizedFromItsPool() {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setMaximumPoolSize(3);
+        pool.setConnectionTimeout(250);
+
+        ConnectionLimitingDataSource limited = ConnectionLimitingDataSource.of(pool);
+
+        assertThat(limited.getAvailableConnections()).isEqualTo(3);
+        assertThat(limited.getTargetDataSource()).isSameAs(pool);
+    }
+}
@@ -0,0 +1,145 @@
+package com.green.firm.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.hibernate5.Hibernate5Module;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import com.green.firm.domain.Customer;
+import com.green.firm.domain.CustomerBought;
+import com.green.firm.domain.ProductType;
+import com.green.firm.domain.enumeration.paymentStatus;
+import com.green.firm.domain.enumeration.weightTypes;
+import com.green.firm.service.dto.CustomerBoughtDTO;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Compares the cost of serializing a page of customerBoughts, as returned by {@code GET /api/customer-boughts}:
+ * the entities as they used to be returned, and the DTOs with and without the {@link AfterburnerModule}.
+ * <p>
+ * It is not run by the test suite: run its {@link #main(String[])} method after {@code ./mvnw test-compile}.
+ * The allocation rate is reported by the GC profiler ({@code gc.alloc.rate.norm}, in bytes per page).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JacksonSerializationBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private ObjectWriter reflectionWriter;
+
+    private ObjectWriter afterburnerWriter;
+
+    private List<CustomerBought> entities;
+
+    private List<CustomerBoughtDTO> dtos;
+
+    @Setup
+    public void setup() {
+        // same modules and defaults as the ObjectMapper built by Spring Boot from the JacksonConfiguration beans
+        reflectionWriter = objectMapper(false).writer();
+        afterburnerWriter = objectMapper(true).writer();
+        entities = new ArrayList<>();
+        dtos = new ArrayList<>();
+        ZonedDateTime deliveryDate = ZonedDateTime.of(2021, 8, 8, 16, 47, 43, 0, ZoneOffset.UTC);
+        for (long i = 0; i < PAGE_SIZE; i++) {
+            ProductType productType = new ProductType().id(i % 5).name("product type " + i % 5);
+            Customer customer = new Customer()
+                .id(i)
+                .name("customer " + i)
+                .email("customer" + i + "@localhost")
+                .phone("01234567" + i)
+                .address(i + " Green Street, Green City");
+            entities.add(
+                new CustomerBought()
+                    .id(i)
+                    .version(0L)
+                    .weightType(weightTypes.KG)
+                    .unitPrice(250L)
+                    .deliveryDate(deliveryDate.plusDays(i))
+                    .remarks("delivered at the back door")
+                    .status(i % 2 == 0 ? paymentStatus.DUE : paymentStatus.PAID)
+                    .totalWeight(10 * (int) i)
+                    .productType(productType)
+                    .customer(customer)
+            );
+            dtos.add(
+                new CustomerBoughtDTO(
+                    i,
+                    0L,
+                    weightTypes.KG,
+                    250L,
+                    2500L * i,
+                    deliveryDate.plusDays(i),
+                    "delivered at the back door",
+                    i % 2 == 0 ? paymentStatus.DUE : paymentStatus.PAID,
+                    10 * (int) i,
+                    productType.getId(),
+                    productType.getName(),
+                    customer.getId(),
+                    customer.getName()
+                )
+            );
+        }
+    }
+
+    private static ObjectMapper objectMapper(boolean afterburner) {
+        List<Module> modules = new ArrayList<>(Arrays.asList(new JavaTimeModule(), new Jdk8Module(), new Hibernate5Module()));
+        if (afterburner) {
+            modules.add(new AfterburnerModule());
+        }
+        return Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).modules(modules).build();
+    }
+
+    /**
+     * The previous payload: the entities, with the whole customer and product type.
+     */
+    @Benchmark
+    public byte[] entities() throws Exception {
+        return reflectionWriter.writeValueAsBytes(entities);
+    }
+
+    @Benchmark
+    public byte[] dtos() throws Exception {
+        return reflectionWriter.writeValueAsBytes(dtos);
+    }
+
+    @Benchmark
+    public byte[] dtosWithAfterburner() throws Exception {
+        return afterburnerWriter.writeValueAsBytes(dtos);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(
+            new OptionsBuilder().include(JacksonSerializationBenchmark.class.getSimpleName()).addProfiler(GCProfiler.class).build()
+        )
+            .run();
+    }
+}
@@ -0,0 +1,72 @@
+package com.green.firm.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Unit tests for {@link ReplicaRoutingDataSource}, with two in-memory H2 databases standing in for the primary and the
+ * replica.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private static final String QUERY = "select name from routing_target";
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate transactionTemplate;
+
+    private TransactionTemplate readOnlyTransactionTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(
+            new ReplicaRoutingDataSource(h2DataSource("routing-primary", "primary"), h2DataSource("routing-replica", "replica"))
+        );
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    @Test
+    void shouldSendReadOnlyTransactionsToTheReplica() {
+        assertThat(readOnlyTransactionTemplate.execute(status -> jdbcTemplate.queryForObject(QUERY, String.class))).isEqualTo("replica");
+    }
+
+    @Test
+    void shouldSendReadWriteTransactionsToThePrimary() {
+        assertThat(transactionTemplate.execute(status -> jdbcTemplate.queryForObject(QUERY, String.class))).isEqualTo("primary");
+    }
+
+    @Test
+    void shouldSendNonTransactionalWorkToThePrimary() {
+        assertThat(jdbcTemplate.queryForObject(QUERY, String.class)).isEqualTo("primary");
+    }
+
+    @Test
+    void shouldKeepTheReadOnlyWorkOfAReadWriteTransactionOnThePrimary() {
+        String name = transactionTemplate.execute(
+            status -> readOnlyTransactionTemplate.execute(nested -> jdbcTemplate.queryForObject(QUERY, String.class))
+        );
+
+        assertThat(name).isEqualTo("primary");
+    }
+
+    private static DataSource h2DataSource(String database, String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists routing_target (name varchar(16))");
+        jdbcTemplate.update("delete from routing_target");
+        jdbcTemplate.update("insert into routing_target (name) values (?)", name);
+        return dataSource;
+    }
+}
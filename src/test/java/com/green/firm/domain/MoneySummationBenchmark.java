@@ -0,0 +1,80 @@
+package com.green.firm.domain;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the cost of summing a large batch of prices: as boxed {@link Double}s, as the customerBoughts used to hold
+ * them, and as a {@code long} number of cents, as {@link Money} does now.
+ * <p>
+ * It is not run by the test suite: run its {@link #main(String[])} method after {@code ./mvnw test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoneySummationBenchmark {
+
+    @Param({ "10000", "1000000" })
+    private int size;
+
+    private List<Double> boxedPrices;
+
+    private long[] centPrices;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        boxedPrices = new ArrayList<>(size);
+        centPrices = new long[size];
+        for (int i = 0; i < size; i++) {
+            long cents = 1 + random.nextInt(100_000);
+            centPrices[i] = cents;
+            boxedPrices.add(cents / 100D);
+        }
+        // the boxes of the loaded entities are not laid out in the order they are summed
+        Collections.shuffle(boxedPrices, random);
+    }
+
+    @Benchmark
+    public double boxedDoubles() {
+        double sum = 0;
+        for (Double price : boxedPrices) {
+            sum += price;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long longCents() {
+        long sum = 0;
+        for (long price : centPrices) {
+            sum += price;
+        }
+        return sum;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MoneySummationBenchmark.class.getSimpleName()).addProfiler(GCProfiler.class).build()).run();
+    }
+}
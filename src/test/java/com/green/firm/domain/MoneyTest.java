@@ -0,0 +1,37 @@
+package com.green.firm.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link Money}.
+ */
+class MoneyTest {
+
+    @Test
+    void shouldConvertAmountsToCentsRoundedHalfUp() {
+        assertThat(Money.toCents(new BigDecimal("12.34"))).isEqualTo(1234L);
+        assertThat(Money.toCents(new BigDecimal("2"))).isEqualTo(200L);
+        assertThat(Money.toCents(new BigDecimal("0.125"))).isEqualTo(13L);
+        assertThat(Money.toCents(new BigDecimal("-0.125"))).isEqualTo(-13L);
+        assertThat(Money.toAmount(1234L)).isEqualTo(new BigDecimal("12.34"));
+    }
+
+    @Test
+    void shouldComputeTheTotalPriceOfACustomerBoughtInCents() {
+        CustomerBought customerBought = new CustomerBought().unitPrice(199L).totalWeight(3);
+        assertThat(customerBought.getTotalPrice()).isEqualTo(597L);
+
+        customerBought.totalWeight(4);
+        assertThat(customerBought.getTotalPrice()).isEqualTo(796L);
+    }
+
+    @Test
+    void shouldNotOverflowSilently() {
+        assertThatThrownBy(() -> Money.toCents(new BigDecimal("1e17"))).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.times(Long.MAX_VALUE, 2)).isInstanceOf(ArithmeticException.class);
+    }
+}
@@ -0,0 +1,71 @@
+package com.green.firm.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.green.firm.IntegrationTest;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests checking that the CustomerBought filters are resolved with the customer_bought indexes,
+ * by asking H2 for the plan of the statements generated by the
+ * {@link com.green.firm.service.CustomerBoughtQueryService} filters.
+ */
+@IntegrationTest
+@Transactional
+class CustomerBoughtQueryPlanIT {
+
+    private static final String SELECT = "select * from customer_bought where ";
+
+    private static final String DELIVERY_DATE_RANGE =
+        "delivery_date >= timestamp '2021-08-01 00:00:00' and delivery_date < timestamp '2021-09-01 00:00:00'";
+
+    @Autowired
+    private EntityManager em;
+
+    @Test
+    void filterByCustomerUsesAnIndex() {
+        assertThat(explain(SELECT + "customer_id = 1")).doesNotContain("tableScan");
+    }
+
+    @Test
+    void filterByCustomerAndDeliveryDateUsesTheCompositeIndex() {
+        assertThat(explain(SELECT + "customer_id = 1 and " + DELIVERY_DATE_RANGE))
+            .containsIgnoringCase("idx_customer_bought__customer_id_delivery_date");
+    }
+
+    @Test
+    void filterByProductTypeUsesAnIndex() {
+        assertThat(explain(SELECT + "product_type_id = 1")).doesNotContain("tableScan");
+    }
+
+    @Test
+    void filterByProductTypeAndDeliveryDateUsesTheCompositeIndex() {
+        assertThat(explain(SELECT + "product_type_id = 1 and " + DELIVERY_DATE_RANGE))
+            .containsIgnoringCase("idx_customer_bought__product_type_id_delivery_date");
+    }
+
+    @Test
+    void filterByStatusUsesTheStatusIndex() {
+        assertThat(explain(SELECT + "status = 'DUE'")).containsIgnoringCase("idx_customer_bought__status_delivery_date");
+    }
+
+    @Test
+    void filterByStatusAndDeliveryDateUsesTheStatusIndex() {
+        assertThat(explain(SELECT + "status = 'DUE' and " + DELIVERY_DATE_RANGE))
+            .containsIgnoringCase("idx_customer_bought__status_delivery_date");
+    }
+
+    @Test
+    void filterByDeliveryDateUsesTheDeliveryDateIndex() {
+        assertThat(explain(SELECT + DELIVERY_DATE_RANGE)).containsIgnoringCase("idx_customer_bought__delivery_date");
+    }
+
+    private String explain(String sql) {
+        String plan = String.valueOf(em.createNativeQuery("explain " + sql).getSingleResult());
+        assertThat(plan).as("plan of %s", sql).isNotBlank();
+        return plan;
+    }
+}
@@ -0,0 +1,98 @@
+package com.green.firm.security.jwt;
+
+import com.green.firm.security.AuthoritiesConstants;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Compares the per-request cost of the JWT authentication, before and after caching verified tokens.
+ * <p>
+ * It is not run by the test suite: run its {@link #main(String[])} method after {@code ./mvnw test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JWTFilterBenchmark {
+
+    private TokenProvider tokenProvider;
+
+    private JWTFilter jwtFilter;
+
+    private String jwt;
+
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setup() {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties
+            .getSecurity()
+            .getAuthentication()
+            .getJwt()
+            .setBase64Secret("fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8");
+        tokenProvider = new TokenProvider(jHipsterProperties);
+        jwtFilter = new JWTFilter(tokenProvider);
+        jwt =
+            tokenProvider.createToken(
+                new UsernamePasswordAuthenticationToken(
+                    "benchmark-user",
+                    "benchmark-password",
+                    Arrays.asList(new SimpleGrantedAuthority(AuthoritiesConstants.USER), new SimpleGrantedAuthority(AuthoritiesConstants.ADMIN))
+                ),
+                false
+            );
+        request = new MockHttpServletRequest();
+        request.addHeader(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + jwt);
+        request.setRequestURI("/api/customer-boughts");
+    }
+
+    /**
+     * The previous filter logic: the token is parsed and verified twice, and the authorities are rebuilt.
+     */
+    @Benchmark
+    public void validateThenGetAuthentication(Blackhole blackhole) {
+        if (tokenProvider.validateToken(jwt)) {
+            blackhole.consume(tokenProvider.getAuthentication(jwt));
+        }
+    }
+
+    @Benchmark
+    public void resolveAuthentication(Blackhole blackhole) {
+        blackhole.consume(tokenProvider.resolveAuthentication(jwt));
+    }
+
+    @Benchmark
+    public void filter(Blackhole blackhole) throws Exception {
+        jwtFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JWTFilterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -107,6 +107,32 @@ class TokenProviderTest {
         assertThat(key).isNotNull().isEqualTo(Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret)));
     }
 
+    @Test
+    void testResolveAuthenticationReturnsCachedAuthentication() {
+        String token = tokenProvider.createToken(createAuthentication(), false);
+
+        Optional<Authentication> authentication = tokenProvider.resolveAuthentication(token);
+
+        assertThat(authentication).isPresent();
+        assertThat(authentication.get().getName()).isEqualTo("anonymous");
+        assertThat(authentication.get().getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly(AuthoritiesConstants.ANONYMOUS);
+        assertThat(tokenProvider.resolveAuthentication(token)).containsSame(authentication.get());
+    }
+
+    @Test
+    void testResolveAuthenticationReturnsEmptyWhenJWTisInvalid() {
+        assertThat(tokenProvider.resolveAuthentication(createTokenWithDifferentSignature())).isEmpty();
+        assertThat(tokenProvider.resolveAuthentication("")).isEmpty();
+    }
+
+    @Test
+    void testResolveAuthenticationReturnsEmptyWhenJWTisExpired() {
+        ReflectionTestUtils.setField(tokenProvider, "tokenValidityInMilliseconds", -ONE_MINUTE);
+        String token = tokenProvider.createToken(createAuthentication(), false);
+
+        assertThat(tokenProvider.resolveAuthentication(token)).isEmpty();
+    }
+
     private Authentication createAuthentication() {
         Collection<GrantedAuthority> authorities = new ArrayList<>();
         authorities.add(new SimpleGrantedAuthority(AuthoritiesConstants.ANONYMOUS));
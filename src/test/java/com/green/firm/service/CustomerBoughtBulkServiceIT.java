@@ -0,0 +1,160 @@
+package com.green.firm.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.green.firm.IntegrationTest;
+import com.green.firm.domain.Customer;
+import com.green.firm.domain.CustomerBought;
+import com.green.firm.domain.ProductType;
+import com.green.firm.domain.enumeration.paymentStatus;
+import com.green.firm.domain.enumeration.weightTypes;
+import com.green.firm.repository.CustomerBoughtRepository;
+import com.green.firm.repository.CustomerRepository;
+import com.green.firm.repository.ProductTypeRepository;
+import com.green.firm.service.dto.CustomerBoughtBulkResultDTO;
+import java.io.StringReader;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for {@link CustomerBoughtBulkService}.
+ * <p>
+ * The service commits its own transactions, so the tests are not transactional and clean up after themselves.
+ */
+@IntegrationTest
+class CustomerBoughtBulkServiceIT {
+
+    private static final ZonedDateTime DEFAULT_DELIVERY_DATE = ZonedDateTime.ofInstant(Instant.ofEpochMilli(0L), ZoneOffset.UTC);
+
+    @Autowired
+    private CustomerBoughtBulkService customerBoughtBulkService;
+
+    @Autowired
+    private CustomerBoughtRepository customerBoughtRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductTypeRepository productTypeRepository;
+
+    private ProductType productType;
+
+    private Customer customer;
+
+    private final List<Long> savedIds = new ArrayList<>();
+
+    @BeforeEach
+    public void init() {
+        productType = productTypeRepository.saveAndFlush(new ProductType().name("AAAAAAAAAA"));
+        customer = customerRepository.saveAndFlush(new Customer().name("AAAAAAAAAA").phone("0123456789").address("AAAAAAAAAA"));
+    }
+
+    @AfterEach
+    public void cleanup() {
+        customerBoughtRepository.deleteAll(customerBoughtRepository.findAllById(savedIds));
+        customerRepository.delete(customer);
+        productTypeRepository.delete(productType);
+    }
+
+    @Test
+    void assertThatValidRowsAreCreatedAndInvalidRowsReported() {
+        CustomerBought valid = createCustomerBought();
+        CustomerBought missingWeight = createCustomerBought().totalWeight(null);
+        CustomerBought unknownCustomer = createCustomerBought().customer(new Customer().id(Long.MAX_VALUE));
+
+        CustomerBoughtBulkResultDTO result = save(Arrays.asList(valid, missingWeight, unknownCustomer));
+
+        assertThat(result.getReceived()).isEqualTo(3);
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getIds().get(0)).isNotNull();
+        assertThat(result.getIds().subList(1, 3)).containsOnlyNulls();
+        assertThat(result.getErrors())
+            .extracting(CustomerBoughtBulkResultDTO.RowError::getRow, CustomerBoughtBulkResultDTO.RowError::getField)
+            .containsExactly(tuple(1, "totalWeight"), tuple(2, "customer"));
+        assertThat(customerBoughtRepository.findById(result.getIds().get(0))).isPresent();
+    }
+
+    @Test
+    void assertThatRowsWithAnIdAreUpdated() {
+        Long id = save(Arrays.asList(createCustomerBought())).getIds().get(0);
+
+        CustomerBought update = createCustomerBought().id(id).remarks("BBBBBBBBBB").status(paymentStatus.PAID);
+        CustomerBought unknown = createCustomerBought().id(Long.MAX_VALUE);
+        CustomerBoughtBulkResultDTO result = save(Arrays.asList(update, unknown));
+
+        assertThat(result.getCreated()).isZero();
+        assertThat(result.getUpdated()).isEqualTo(1);
+        assertThat(result.getIds()).containsExactly(id, null);
+        assertThat(result.getErrors()).extracting(CustomerBoughtBulkResultDTO.RowError::getField).containsExactly("id");
+        CustomerBought updated = customerBoughtRepository.findById(id).orElseThrow();
+        assertThat(updated.getRemarks()).isEqualTo("BBBBBBBBBB");
+        assertThat(updated.getStatus()).isEqualTo(paymentStatus.PAID);
+    }
+
+    @Test
+    void assertThatRowsAreSavedAcrossBatches() {
+        List<CustomerBought> customerBoughts = new ArrayList<>();
+        for (int i = 0; i < 1234; i++) {
+            customerBoughts.add(createCustomerBought().totalWeight(i));
+        }
+
+        CustomerBoughtBulkResultDTO result = save(customerBoughts);
+
+        assertThat(result.getCreated()).isEqualTo(1234);
+        assertThat(result.getErrors()).isEmpty();
+        assertThat(result.getIds()).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(customerBoughtRepository.findAllById(result.getIds())).hasSize(1234);
+    }
+
+    @Test
+    void assertThatNdjsonIsRead() throws Exception {
+        String row =
+            "{\"weightType\":\"KG\",\"unitPrice\":2.5,\"totalPrice\":99,\"deliveryDate\":\"1970-01-01T00:00:00Z\"," +
+            "\"status\":\"DUE\",\"totalWeight\":10,\"productType\":{\"id\":" +
+            productType.getId() +
+            "},\"customer\":{\"id\":" +
+            customer.getId() +
+            "}}";
+        String ndjson = row + "\n\n{\"weightType\":\n" + row + "\n";
+
+        CustomerBoughtBulkResultDTO result = customerBoughtBulkService.saveAll(new StringReader(ndjson));
+        result.getIds().stream().filter(Objects::nonNull).forEach(savedIds::add);
+
+        assertThat(result.getReceived()).isEqualTo(3);
+        assertThat(result.getCreated()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(CustomerBoughtBulkResultDTO.RowError::getRow).containsExactly(1);
+        // the amounts are read as such, and the total price is computed
+        assertThat(customerBoughtRepository.findAllById(savedIds))
+            .extracting(CustomerBought::getUnitPrice, CustomerBought::getTotalPrice)
+            .containsOnly(tuple(250L, 2500L));
+    }
+
+    private CustomerBoughtBulkResultDTO save(List<CustomerBought> customerBoughts) {
+        CustomerBoughtBulkResultDTO result = customerBoughtBulkService.saveAll(customerBoughts);
+        savedIds.addAll(result.getIds().stream().filter(Objects::nonNull).collect(Collectors.toList()));
+        return result;
+    }
+
+    private CustomerBought createCustomerBought() {
+        return new CustomerBought()
+            .weightType(weightTypes.KG)
+            .unitPrice(200L)
+            .deliveryDate(DEFAULT_DELIVERY_DATE)
+            .status(paymentStatus.DUE)
+            .totalWeight(10)
+            .productType(new ProductType().id(productType.getId()))
+            .customer(new Customer().id(customer.getId()));
+    }
+}
@@ -0,0 +1,73 @@
+package com.green.firm.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.green.firm.IntegrationTest;
+import com.green.firm.domain.CustomerBought;
+import com.green.firm.repository.CustomerBoughtRepository;
+import com.green.firm.web.rest.CustomerBoughtResourceIT;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link CustomerBoughtExportService}.
+ */
+@IntegrationTest
+@Transactional
+class CustomerBoughtExportServiceIT {
+
+    @Autowired
+    private CustomerBoughtExportService customerBoughtExportService;
+
+    @Autowired
+    private CustomerBoughtRepository customerBoughtRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    private CustomerBought first;
+
+    private CustomerBought second;
+
+    @BeforeEach
+    public void init() {
+        first = CustomerBoughtResourceIT.createEntity(em).remarks("first, \"quoted\"");
+        customerBoughtRepository.saveAndFlush(first);
+        second = CustomerBoughtResourceIT.createEntity(em).deliveryDate(first.getDeliveryDate().plusDays(1)).unitPrice(123456785L);
+        customerBoughtRepository.saveAndFlush(second);
+        em.clear();
+    }
+
+    @Test
+    void assertThatCsvIsExported() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long count = customerBoughtExportService.export(CustomerBoughtExportService.Format.CSV, null, null, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(count).isGreaterThanOrEqualTo(2);
+        assertThat(lines).hasSize((int) count + 1);
+        assertThat(lines[0])
+            .isEqualTo("id,weightType,unitPrice,totalPrice,deliveryDate,remarks,status,totalWeight,productTypeId,productType,customerId,customer");
+        assertThat(lines).anyMatch(line -> line.startsWith(first.getId() + ",KG,2.00,20.00,1970-01-01T00:00:00Z,\"first, \"\"quoted\"\"\",DUE,10,"));
+        assertThat(lines).anyMatch(line -> line.startsWith(second.getId() + ",KG,1234567.85,12345678.50,1970-01-02T00:00:00Z,"));
+    }
+
+    @Test
+    void assertThatNdjsonIsExportedForThePeriod() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ZonedDateTime from = second.getDeliveryDate();
+
+        long count = customerBoughtExportService.export(CustomerBoughtExportService.Format.NDJSON, from, from.plusDays(1), output);
+
+        assertThat(count).isEqualTo(1);
+        String ndjson = output.toString(StandardCharsets.UTF_8);
+        assertThat(ndjson).startsWith("{\"id\":" + second.getId() + ",").endsWith("}\n").containsOnlyOnce("\n");
+    }
+}
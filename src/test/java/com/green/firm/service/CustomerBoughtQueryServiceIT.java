@@ -0,0 +1,112 @@
+package com.green.firm.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.green.firm.IntegrationTest;
+import com.green.firm.domain.Customer;
+import com.green.firm.domain.CustomerBought;
+import com.green.firm.domain.ProductType;
+import com.green.firm.domain.enumeration.paymentStatus;
+import com.green.firm.domain.enumeration.weightTypes;
+import com.green.firm.service.criteria.CustomerBoughtCriteria;
+import com.green.firm.service.dto.CustomerBoughtDTO;
+import java.time.ZonedDateTime;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests counting the statements issued by the {@link CustomerBoughtQueryService} queries,
+ * which list the customerBoughts of the REST API.
+ */
+@IntegrationTest
+@Transactional
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class CustomerBoughtQueryServiceIT {
+
+    private static final int NUMBER_OF_CUSTOMERS = 5;
+
+    @Autowired
+    private CustomerBoughtQueryService customerBoughtQueryService;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private CustomerBoughtCriteria criteria;
+
+    @BeforeEach
+    public void init() {
+        // Each order references a distinct customer and a distinct product type
+        for (int i = 0; i < NUMBER_OF_CUSTOMERS; i++) {
+            ProductType productType = new ProductType().name("product" + i);
+            em.persist(productType);
+            Customer customer = new Customer().name("customer" + i).phone("012345678" + i).address("address" + i);
+            em.persist(customer);
+            em.persist(
+                new CustomerBought()
+                    .weightType(weightTypes.KG)
+                    .unitPrice(100L)
+                    .deliveryDate(ZonedDateTime.now())
+                    .status(paymentStatus.DUE)
+                    .totalWeight(1)
+                    .productType(productType)
+                    .customer(customer)
+            );
+        }
+        em.flush();
+        em.clear();
+        criteria = new CustomerBoughtCriteria();
+        criteria.status().setEquals(paymentStatus.DUE);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void assertThatAPageIsProjectedWithASelectAndACount() {
+        Page<CustomerBoughtDTO> page = customerBoughtQueryService.findByCriteria(
+            criteria,
+            PageRequest.of(0, NUMBER_OF_CUSTOMERS - 1, Sort.by("id"))
+        );
+
+        assertThat(page.getContent()).hasSize(NUMBER_OF_CUSTOMERS - 1);
+        assertThat(page.getTotalElements()).isGreaterThanOrEqualTo(NUMBER_OF_CUSTOMERS);
+        assertThat(page.getContent()).allMatch(customerBought -> customerBought.getCustomer().getName() != null);
+        assertThat(page.getContent()).allMatch(customerBought -> customerBought.getProductType().getName() != null);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void assertThatEachSliceIsProjectedWithASingleSelect() {
+        Slice<CustomerBoughtDTO> first = customerBoughtQueryService.findSliceByCriteria(criteria, null, NUMBER_OF_CUSTOMERS - 1);
+
+        assertThat(first.getContent()).hasSize(NUMBER_OF_CUSTOMERS - 1);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(first.getContent().get(0).getCustomer().getName()).startsWith("customer");
+        assertThat(first.getContent().get(0).getCustomer().getAddress()).isNull();
+        assertThat(first.getContent().get(0).getProductType().getName()).startsWith("product");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        Long after = first.getContent().get(NUMBER_OF_CUSTOMERS - 2).getId();
+        Slice<CustomerBoughtDTO> next = customerBoughtQueryService.findSliceByCriteria(criteria, after, NUMBER_OF_CUSTOMERS - 1);
+
+        assertThat(next.getContent()).isNotEmpty().allMatch(customerBought -> customerBought.getId() > after);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+}
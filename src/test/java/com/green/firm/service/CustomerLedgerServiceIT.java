@@ -0,0 +1,246 @@
+package com.green.firm.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.green.firm.IntegrationTest;
+import com.green.firm.domain.Customer;
+import com.green.firm.domain.CustomerBought;
+import com.green.firm.domain.CustomerLedger;
+import com.green.firm.domain.ProductType;
+import com.green.firm.domain.enumeration.paymentStatus;
+import com.green.firm.domain.enumeration.weightTypes;
+import com.green.firm.repository.CustomerBoughtRepository;
+import com.green.firm.repository.CustomerLedgerRepository;
+import com.green.firm.repository.CustomerRepository;
+import com.green.firm.repository.ProductTypeRepository;
+import com.green.firm.service.CustomerLedgerService.Contribution;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link CustomerLedgerService}.
+ */
+@IntegrationTest
+@Transactional
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class CustomerLedgerServiceIT {
+
+    private static final ZonedDateTime FIRST_DELIVERY_DATE = ZonedDateTime.ofInstant(Instant.ofEpochMilli(0L), ZoneOffset.UTC);
+
+    private static final ZonedDateTime SECOND_DELIVERY_DATE = FIRST_DELIVERY_DATE.plusDays(1);
+
+    @Autowired
+    private CustomerLedgerService customerLedgerService;
+
+    @Autowired
+    private CustomerLedgerRepository customerLedgerRepository;
+
+    @Autowired
+    private CustomerBoughtRepository customerBoughtRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductTypeRepository productTypeRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private ProductType productType;
+
+    private Customer customer;
+
+    @BeforeEach
+    public void init() {
+        productType = productTypeRepository.saveAndFlush(new ProductType().name("AAAAAAAAAA"));
+        customer = customerRepository.saveAndFlush(new Customer().name("AAAAAAAAAA").phone("0123456789").address("AAAAAAAAAA"));
+    }
+
+    @Test
+    void assertThatTheLedgerOfACustomerWithoutPurchasesIsEmpty() {
+        CustomerLedger ledger = customerLedgerService.findOne(customer.getId()).orElseThrow();
+
+        assertThat(ledger.getTotalDueCents()).isZero();
+        assertThat(ledger.getTotalPaidCents()).isZero();
+        assertThat(ledger.getOrderCount()).isZero();
+        assertThat(ledger.getLastDeliveryDate()).isNull();
+        assertThat(customerLedgerService.findOne(Long.MAX_VALUE)).isEmpty();
+    }
+
+    @Test
+    void assertThatOpeningALedgerIssuesASingleInsert() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        customerLedgerService.open(customer.getId());
+        em.flush();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+        assertThat(customerLedgerService.findOne(customer.getId()).orElseThrow().isNew()).isFalse();
+    }
+
+    @Test
+    void assertThatCreatedCustomerBoughtsAreAdded() {
+        add(createCustomerBought(200L, paymentStatus.DUE, FIRST_DELIVERY_DATE));
+        add(createCustomerBought(50L, paymentStatus.PAID, SECOND_DELIVERY_DATE));
+
+        CustomerLedger ledger = customerLedgerService.findOne(customer.getId()).orElseThrow();
+        assertThat(ledger.getTotalDueCents()).isEqualTo(2000L);
+        assertThat(ledger.getTotalPaidCents()).isEqualTo(500L);
+        assertThat(ledger.getOrderCount()).isEqualTo(2L);
+        assertThat(ledger.getLastDeliveryDate().toInstant()).isEqualTo(SECOND_DELIVERY_DATE.toInstant());
+    }
+
+    @Test
+    void assertThatUpdatedCustomerBoughtsAreReplaced() {
+        CustomerBought customerBought = add(createCustomerBought(200L, paymentStatus.DUE, FIRST_DELIVERY_DATE));
+
+        Contribution before = Contribution.of(customerBought);
+        customerBought.status(paymentStatus.PAID);
+        customerLedgerService.replace(before, Contribution.of(customerBoughtRepository.saveAndFlush(customerBought)));
+
+        CustomerLedger ledger = customerLedgerService.findOne(customer.getId()).orElseThrow();
+        assertThat(ledger.getTotalDueCents()).isZero();
+        assertThat(ledger.getTotalPaidCents()).isEqualTo(2000L);
+        assertThat(ledger.getOrderCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void assertThatRemovingTheLastDeliveryRestoresThePreviousOne() {
+        add(createCustomerBought(200L, paymentStatus.DUE, FIRST_DELIVERY_DATE));
+        CustomerBought last = add(createCustomerBought(100L, paymentStatus.DUE, SECOND_DELIVERY_DATE));
+
+        Contribution deleted = Contribution.of(last);
+        customerBoughtRepository.delete(last);
+        customerLedgerService.remove(deleted);
+
+        CustomerLedger ledger = customerLedgerService.findOne(customer.getId()).orElseThrow();
+        assertThat(ledger.getTotalDueCents()).isEqualTo(2000L);
+        assertThat(ledger.getOrderCount()).isEqualTo(1L);
+        assertThat(ledger.getLastDeliveryDate().toInstant()).isEqualTo(FIRST_DELIVERY_DATE.toInstant());
+    }
+
+    @Test
+    void assertThatRebuildCorrectsDriftedLedgers() {
+        add(createCustomerBought(200L, paymentStatus.DUE, FIRST_DELIVERY_DATE));
+        customerLedgerRepository.applyDelta(customer.getId(), 10000L, 0L, 3L);
+
+        customerLedgerService.rebuildAll();
+
+        CustomerLedger ledger = customerLedgerService.findOne(customer.getId()).orElseThrow();
+        assertThat(ledger.getTotalDueCents()).isEqualTo(2000L);
+        assertThat(ledger.getOrderCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void assertThatOpenedLedgersAreEmptyAndNotListed() {
+        customerLedgerService.open(customer.getId());
+
+        CustomerLedger ledger = customerLedgerRepository.findById(customer.getId()).orElseThrow();
+        assertThat(ledger.getTotalDueCents()).isZero();
+        assertThat(ledger.getOrderCount()).isZero();
+        assertThat(customerLedgerService.findAll(PageRequest.of(0, Integer.MAX_VALUE)))
+            .extracting(CustomerLedger::getCustomerId)
+            .doesNotContain(customer.getId());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void assertThatConcurrentFirstPurchasesOfANewCustomerAreBothAdded() throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        List<Long> savedIds = new CopyOnWriteArrayList<>();
+        try {
+            // the customer is created as by its resource
+            transactionTemplate.executeWithoutResult(status -> customerLedgerService.open(customer.getId()));
+            // both purchases are saved before either of them is applied to the ledger
+            CyclicBarrier saved = new CyclicBarrier(2);
+            List<Future<?>> purchases = new ArrayList<>();
+            for (ZonedDateTime deliveryDate : List.of(FIRST_DELIVERY_DATE, SECOND_DELIVERY_DATE)) {
+                purchases.add(
+                    executor.submit(
+                        () ->
+                            transactionTemplate.executeWithoutResult(
+                                status -> {
+                                    CustomerBought customerBought = customerBoughtRepository.saveAndFlush(
+                                        createCustomerBought(200L, paymentStatus.DUE, deliveryDate)
+                                    );
+                                    savedIds.add(customerBought.getId());
+                                    await(saved);
+                                    customerLedgerService.add(Contribution.of(customerBought));
+                                }
+                            )
+                    )
+                );
+            }
+            for (Future<?> purchase : purchases) {
+                purchase.get(30, TimeUnit.SECONDS);
+            }
+
+            CustomerLedger ledger = customerLedgerService.findOne(customer.getId()).orElseThrow();
+            assertThat(ledger.getTotalDueCents()).isEqualTo(4000L);
+            assertThat(ledger.getOrderCount()).isEqualTo(2L);
+            assertThat(ledger.getLastDeliveryDate().toInstant()).isEqualTo(SECOND_DELIVERY_DATE.toInstant());
+        } finally {
+            executor.shutdownNow();
+            customerBoughtRepository.deleteAll(customerBoughtRepository.findAllById(savedIds));
+            customerRepository.delete(customer);
+            productTypeRepository.delete(productType);
+        }
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await(30, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private CustomerBought add(CustomerBought customerBought) {
+        CustomerBought saved = customerBoughtRepository.saveAndFlush(customerBought);
+        customerLedgerService.add(Contribution.of(saved));
+        return saved;
+    }
+
+    private CustomerBought createCustomerBought(long unitPrice, paymentStatus status, ZonedDateTime deliveryDate) {
+        return new CustomerBought()
+            .weightType(weightTypes.KG)
+            .unitPrice(unitPrice)
+            .deliveryDate(deliveryDate)
+            .status(status)
+            .totalWeight(10)
+            .productType(productType)
+            .customer(customer);
+    }
+}
@@ -0,0 +1,91 @@
+package com.green.firm.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.green.firm.IntegrationTest;
+import com.green.firm.domain.Customer;
+import com.green.firm.repository.CustomerRepository;
+import com.green.firm.service.dto.CustomerPhoneDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Integration tests for {@link CustomerPhoneIndex}.
+ * <p>
+ * The customers are committed, rather than rolled back at the end of each test, since the index only follows the
+ * committed changes.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class CustomerPhoneIndexIT {
+
+    @Autowired
+    private CustomerPhoneIndex customerPhoneIndex;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private MockMvc restCustomerMockMvc;
+
+    private Customer customer;
+
+    @BeforeEach
+    public void initTest() {
+        customer = customerRepository.saveAndFlush(new Customer().name("AAAAAAAAAA").phone("+1 555 0100 42").address("AAAAAAAAAA"));
+    }
+
+    @AfterEach
+    public void cleanup() {
+        customerRepository.findById(customer.getId()).ifPresent(customerRepository::delete);
+    }
+
+    @Test
+    void shouldIndexTheSavedCustomers() {
+        assertThat(customerPhoneIndex.autocomplete("1-555-0100", 10))
+            .extracting(CustomerPhoneDTO::getId, CustomerPhoneDTO::getPhone)
+            .containsExactly(tuple(customer.getId(), "1555010042"));
+    }
+
+    @Test
+    void shouldFollowThePhoneNumberChanges() {
+        customer = customerRepository.saveAndFlush(customer.phone("+1 555 0199 42"));
+
+        assertThat(customerPhoneIndex.autocomplete("15550100", 10)).isEmpty();
+        assertThat(customerPhoneIndex.autocomplete("15550199", 10)).extracting(CustomerPhoneDTO::getId).containsExactly(customer.getId());
+    }
+
+    @Test
+    void shouldForgetTheDeletedCustomers() {
+        customerRepository.deleteById(customer.getId());
+
+        assertThat(customerPhoneIndex.autocomplete("15550100", 10)).isEmpty();
+    }
+
+    @Test
+    void shouldRebuildTheIndexFromTheDatabase() {
+        customerPhoneIndex.build();
+
+        assertThat(customerPhoneIndex.autocomplete("15550100", 10)).extracting(CustomerPhoneDTO::getId).containsExactly(customer.getId());
+    }
+
+    @Test
+    void autocompleteCustomers() throws Exception {
+        restCustomerMockMvc
+            .perform(get("/api/customers/autocomplete?phone=1555 01"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(customer.getId().intValue())))
+            .andExpect(jsonPath("$.[*].phone").value(hasItem("1555010042")));
+    }
+}
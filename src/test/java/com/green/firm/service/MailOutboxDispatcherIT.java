@@ -0,0 +1,152 @@
+package com.green.firm.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.green.firm.IntegrationTest;
+import com.green.firm.config.ApplicationProperties;
+import com.green.firm.domain.OutboxMessage;
+import com.green.firm.domain.enumeration.OutboxStatus;
+import com.green.firm.repository.OutboxMessageRepository;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.util.Arrays;
+import javax.mail.Multipart;
+import javax.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Integration tests for {@link MailOutboxDispatcher}, sending the emails to an in-memory SMTP server.
+ */
+@IntegrationTest
+@TestPropertySource(properties = "spring.mail.port=3025")
+class MailOutboxDispatcherIT {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private MailOutboxDispatcher mailOutboxDispatcher;
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    private JHipsterProperties jHipsterProperties;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    public void cleanup() {
+        outboxMessageRepository.deleteAll();
+    }
+
+    @Test
+    void assertThatQueuedEmailsAreSent() throws Exception {
+        OutboxMessage plain = queue(createMessage("john.doe@example.com", false, false));
+        OutboxMessage multipartHtml = queue(createMessage("jane.doe@example.com", true, true));
+
+        assertThat(mailOutboxDispatcher.drain()).isEqualTo(2);
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(2);
+        for (MimeMessage message : received) {
+            assertThat(message.getSubject()).isEqualTo("testSubject");
+            assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
+            if (message.getAllRecipients()[0].toString().equals(plain.getRecipient())) {
+                assertThat(message.getContent()).isInstanceOf(String.class);
+                assertThat(message.getContentType()).startsWith("text/plain");
+            } else {
+                assertThat(message.getContent()).isInstanceOf(Multipart.class);
+            }
+        }
+        for (OutboxMessage message : outboxMessageRepository.findAllById(Arrays.asList(plain.getId(), multipartHtml.getId()))) {
+            assertThat(message.getStatus()).isEqualTo(OutboxStatus.SENT);
+            assertThat(message.getAttempts()).isEqualTo(1);
+            assertThat(message.getSentDate()).isNotNull();
+        }
+        assertThat(mailOutboxDispatcher.drain()).isZero();
+    }
+
+    @Test
+    void assertThatThePendingGaugeIsUpdatedByThePolls() {
+        queue(createMessage("john.doe@example.com", false, false));
+        queue(createMessage("jane.doe@example.com", false, false));
+        int batchSize = applicationProperties.getMail().getBatchSize();
+        applicationProperties.getMail().setBatchSize(1);
+        try {
+            // interrupted, the worker stops after its first batch, as when shutting down
+            Thread.currentThread().interrupt();
+            assertThat(mailOutboxDispatcher.drain()).isEqualTo(1);
+            Thread.interrupted();
+            assertThat(pendingGauge()).isEqualTo(1);
+
+            assertThat(mailOutboxDispatcher.drain()).isEqualTo(1);
+            assertThat(pendingGauge()).isZero();
+        } finally {
+            Thread.interrupted();
+            applicationProperties.getMail().setBatchSize(batchSize);
+        }
+    }
+
+    @Test
+    void assertThatUnsentEmailsAreRetriedLater() {
+        OutboxMessage queued = queue(createMessage("john.doe@example.com", false, false));
+        greenMail.stop();
+
+        assertThat(mailOutboxDispatcher.drain()).isEqualTo(1);
+
+        OutboxMessage message = outboxMessageRepository.findById(queued.getId()).orElseThrow();
+        assertThat(message.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(message.getAttempts()).isEqualTo(1);
+        assertThat(message.getNextAttemptAt()).isAfter(Instant.now());
+        assertThat(message.getLastError()).isNotEmpty();
+        // not due yet
+        assertThat(mailOutboxDispatcher.drain()).isZero();
+    }
+
+    @Test
+    void assertThatEmailsAreGivenUpAfterTheLastAttempt() {
+        OutboxMessage queued = queue(
+            createMessage("john.doe@example.com", false, false).attempts(applicationProperties.getMail().getMaxAttempts() - 1)
+        );
+        greenMail.stop();
+
+        mailOutboxDispatcher.drain();
+
+        OutboxMessage message = outboxMessageRepository.findById(queued.getId()).orElseThrow();
+        assertThat(message.getStatus()).isEqualTo(OutboxStatus.FAILED);
+        assertThat(message.getAttempts()).isEqualTo(applicationProperties.getMail().getMaxAttempts());
+    }
+
+    private double pendingGauge() {
+        return meterRegistry.get("mail.outbox.pending").gauge().value();
+    }
+
+    private OutboxMessage queue(OutboxMessage message) {
+        return outboxMessageRepository.saveAndFlush(message);
+    }
+
+    private static OutboxMessage createMessage(String recipient, boolean multipart, boolean html) {
+        Instant now = Instant.now();
+        return new OutboxMessage()
+            .recipient(recipient)
+            .subject("testSubject")
+            .content("testContent")
+            .multipart(multipart)
+            .html(html)
+            .status(OutboxStatus.PENDING)
+            .nextAttemptAt(now)
+            .createdDate(now);
+    }
+}
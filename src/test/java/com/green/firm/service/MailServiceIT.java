@@ -6,31 +6,29 @@ import static org.mockito.Mockito.*;
 
 import com.green.firm.IntegrationTest;
 import com.green.firm.config.Constants;
+import com.green.firm.domain.OutboxMessage;
 import com.green.firm.domain.User;
-import java.io.ByteArrayOutputStream;
+import com.green.firm.domain.enumeration.OutboxStatus;
+import com.green.firm.repository.OutboxMessageRepository;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.InputStreamReader;
 import java.net.URI;
 import java.net.URL;
 import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Properties;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import javax.mail.Multipart;
-import javax.mail.internet.MimeBodyPart;
-import javax.mail.internet.MimeMessage;
-import javax.mail.internet.MimeMultipart;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.mockito.Spy;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
-import org.springframework.mail.MailSendException;
-import org.springframework.mail.javamail.JavaMailSenderImpl;
 import org.thymeleaf.spring5.SpringTemplateEngine;
 import tech.jhipster.config.JHipsterProperties;
 
@@ -55,150 +53,129 @@ class MailServiceIT {
     @Autowired
     private SpringTemplateEngine templateEngine;
 
-    @Spy
-    private JavaMailSenderImpl javaMailSender;
+    @Mock
+    private OutboxMessageRepository outboxMessageRepository;
 
     @Captor
-    private ArgumentCaptor<MimeMessage> messageCaptor;
+    private ArgumentCaptor<OutboxMessage> messageCaptor;
+
+    @Captor
+    private ArgumentCaptor<List<OutboxMessage>> messagesCaptor;
 
     private MailService mailService;
 
     @BeforeEach
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        doNothing().when(javaMailSender).send(any(MimeMessage.class));
-        mailService = new MailService(jHipsterProperties, javaMailSender, messageSource, templateEngine);
+        when(outboxMessageRepository.save(any(OutboxMessage.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        mailService = new MailService(jHipsterProperties, messageSource, templateEngine, outboxMessageRepository);
     }
 
     @Test
-    void testSendEmail() throws Exception {
+    void testSendEmail() {
         mailService.sendEmail("john.doe@example.com", "testSubject", "testContent", false, false);
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
-        assertThat(message.getSubject()).isEqualTo("testSubject");
-        assertThat(message.getAllRecipients()[0]).hasToString("john.doe@example.com");
-        assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
-        assertThat(message.getContent()).isInstanceOf(String.class);
-        assertThat(message.getContent()).hasToString("testContent");
-        assertThat(message.getDataHandler().getContentType()).isEqualTo("text/plain; charset=UTF-8");
-    }
-
-    @Test
-    void testSendHtmlEmail() throws Exception {
-        mailService.sendEmail("john.doe@example.com", "testSubject", "testContent", false, true);
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
-        assertThat(message.getSubject()).isEqualTo("testSubject");
-        assertThat(message.getAllRecipients()[0]).hasToString("john.doe@example.com");
-        assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
-        assertThat(message.getContent()).isInstanceOf(String.class);
-        assertThat(message.getContent()).hasToString("testContent");
-        assertThat(message.getDataHandler().getContentType()).isEqualTo("text/html;charset=UTF-8");
-    }
-
-    @Test
-    void testSendMultipartEmail() throws Exception {
-        mailService.sendEmail("john.doe@example.com", "testSubject", "testContent", true, false);
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
-        MimeMultipart mp = (MimeMultipart) message.getContent();
-        MimeBodyPart part = (MimeBodyPart) ((MimeMultipart) mp.getBodyPart(0).getContent()).getBodyPart(0);
-        ByteArrayOutputStream aos = new ByteArrayOutputStream();
-        part.writeTo(aos);
+        verify(outboxMessageRepository).save(messageCaptor.capture());
+        OutboxMessage message = messageCaptor.getValue();
         assertThat(message.getSubject()).isEqualTo("testSubject");
-        assertThat(message.getAllRecipients()[0]).hasToString("john.doe@example.com");
-        assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
-        assertThat(message.getContent()).isInstanceOf(Multipart.class);
-        assertThat(aos).hasToString("\r\ntestContent");
-        assertThat(part.getDataHandler().getContentType()).isEqualTo("text/plain; charset=UTF-8");
+        assertThat(message.getRecipient()).isEqualTo("john.doe@example.com");
+        assertThat(message.getContent()).isEqualTo("testContent");
+        assertThat(message.isMultipart()).isFalse();
+        assertThat(message.isHtml()).isFalse();
+        assertThat(message.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(message.getAttempts()).isZero();
+        assertThat(message.getNextAttemptAt()).isNotNull();
     }
 
     @Test
-    void testSendMultipartHtmlEmail() throws Exception {
+    void testSendMultipartHtmlEmail() {
         mailService.sendEmail("john.doe@example.com", "testSubject", "testContent", true, true);
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
-        MimeMultipart mp = (MimeMultipart) message.getContent();
-        MimeBodyPart part = (MimeBodyPart) ((MimeMultipart) mp.getBodyPart(0).getContent()).getBodyPart(0);
-        ByteArrayOutputStream aos = new ByteArrayOutputStream();
-        part.writeTo(aos);
-        assertThat(message.getSubject()).isEqualTo("testSubject");
-        assertThat(message.getAllRecipients()[0]).hasToString("john.doe@example.com");
-        assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
-        assertThat(message.getContent()).isInstanceOf(Multipart.class);
-        assertThat(aos).hasToString("\r\ntestContent");
-        assertThat(part.getDataHandler().getContentType()).isEqualTo("text/html;charset=UTF-8");
+        verify(outboxMessageRepository).save(messageCaptor.capture());
+        OutboxMessage message = messageCaptor.getValue();
+        assertThat(message.isMultipart()).isTrue();
+        assertThat(message.isHtml()).isTrue();
     }
 
     @Test
-    void testSendEmailFromTemplate() throws Exception {
+    void testSendEmailFromTemplate() {
         User user = new User();
         user.setLogin("john");
         user.setEmail("john.doe@example.com");
         user.setLangKey("en");
         mailService.sendEmailFromTemplate(user, "mail/testEmail", "email.test.title");
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
+        OutboxMessage message = getQueuedMessages().get(0);
         assertThat(message.getSubject()).isEqualTo("test title");
-        assertThat(message.getAllRecipients()[0]).hasToString(user.getEmail());
-        assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
-        assertThat(message.getContent().toString()).isEqualToNormalizingNewlines("<html>test title, http://127.0.0.1:8080, john</html>\n");
-        assertThat(message.getDataHandler().getContentType()).isEqualTo("text/html;charset=UTF-8");
+        assertThat(message.getRecipient()).isEqualTo(user.getEmail());
+        assertThat(message.getContent()).isEqualToNormalizingNewlines("<html>test title, http://127.0.0.1:8080, john</html>\n");
+        assertThat(message.isHtml()).isTrue();
     }
 
     @Test
-    void testSendActivationEmail() throws Exception {
+    void testSendEmailFromTemplateWithoutEmail() {
+        User user = new User();
+        user.setLogin("john");
+        user.setLangKey("en");
+        mailService.sendEmailFromTemplate(user, "mail/testEmail", "email.test.title");
+        verifyNoInteractions(outboxMessageRepository);
+    }
+
+    @Test
+    void testSendEmailFromTemplateToManyUsers() {
+        User john = new User();
+        john.setLogin("john");
+        john.setEmail("john.doe@example.com");
+        john.setLangKey("en");
+        User jane = new User();
+        jane.setLogin("jane");
+        jane.setEmail("jane.doe@example.com");
+        jane.setLangKey("en");
+        User noEmail = new User();
+        noEmail.setLogin("anonymous");
+        noEmail.setLangKey("en");
+        mailService.sendEmailFromTemplate(Arrays.asList(john, noEmail, jane), "mail/testEmail", "email.test.title");
+        List<OutboxMessage> messages = getQueuedMessages();
+        assertThat(messages).extracting(OutboxMessage::getRecipient).containsExactly(john.getEmail(), jane.getEmail());
+        assertThat(messages).extracting(OutboxMessage::getSubject).containsOnly("test title");
+        assertThat(messages.get(0).getContent()).isEqualToNormalizingNewlines("<html>test title, http://127.0.0.1:8080, john</html>\n");
+        assertThat(messages.get(1).getContent()).isEqualToNormalizingNewlines("<html>test title, http://127.0.0.1:8080, jane</html>\n");
+    }
+
+    @Test
+    void testSendActivationEmail() {
         User user = new User();
         user.setLangKey(Constants.DEFAULT_LANGUAGE);
         user.setLogin("john");
         user.setEmail("john.doe@example.com");
         mailService.sendActivationEmail(user);
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
-        assertThat(message.getAllRecipients()[0]).hasToString(user.getEmail());
-        assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
-        assertThat(message.getContent().toString()).isNotEmpty();
-        assertThat(message.getDataHandler().getContentType()).isEqualTo("text/html;charset=UTF-8");
+        OutboxMessage message = getQueuedMessages().get(0);
+        assertThat(message.getRecipient()).isEqualTo(user.getEmail());
+        assertThat(message.getContent()).isNotEmpty();
+        assertThat(message.isHtml()).isTrue();
     }
 
     @Test
-    void testCreationEmail() throws Exception {
+    void testCreationEmail() {
         User user = new User();
         user.setLangKey(Constants.DEFAULT_LANGUAGE);
         user.setLogin("john");
         user.setEmail("john.doe@example.com");
         mailService.sendCreationEmail(user);
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
-        assertThat(message.getAllRecipients()[0]).hasToString(user.getEmail());
-        assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
-        assertThat(message.getContent().toString()).isNotEmpty();
-        assertThat(message.getDataHandler().getContentType()).isEqualTo("text/html;charset=UTF-8");
+        OutboxMessage message = getQueuedMessages().get(0);
+        assertThat(message.getRecipient()).isEqualTo(user.getEmail());
+        assertThat(message.getContent()).isNotEmpty();
+        assertThat(message.isHtml()).isTrue();
     }
 
     @Test
-    void testSendPasswordResetMail() throws Exception {
+    void testSendPasswordResetMail() {
         User user = new User();
         user.setLangKey(Constants.DEFAULT_LANGUAGE);
         user.setLogin("john");
         user.setEmail("john.doe@example.com");
         mailService.sendPasswordResetMail(user);
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
-        assertThat(message.getAllRecipients()[0]).hasToString(user.getEmail());
-        assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
-        assertThat(message.getContent().toString()).isNotEmpty();
-        assertThat(message.getDataHandler().getContentType()).isEqualTo("text/html;charset=UTF-8");
-    }
-
-    @Test
-    void testSendEmailWithException() {
-        doThrow(MailSendException.class).when(javaMailSender).send(any(MimeMessage.class));
-        try {
-            mailService.sendEmail("john.doe@example.com", "testSubject", "testContent", false, false);
-        } catch (Exception e) {
-            fail("Exception shouldn't have been thrown");
-        }
+        OutboxMessage message = getQueuedMessages().get(0);
+        assertThat(message.getRecipient()).isEqualTo(user.getEmail());
+        assertThat(message.getContent()).isNotEmpty();
+        assertThat(message.isHtml()).isTrue();
     }
 
     @Test
@@ -209,8 +186,8 @@ class MailServiceIT {
         for (String langKey : languages) {
             user.setLangKey(langKey);
             mailService.sendEmailFromTemplate(user, "mail/testEmail", "email.test.title");
-            verify(javaMailSender, atLeastOnce()).send(messageCaptor.capture());
-            MimeMessage message = messageCaptor.getValue();
+            OutboxMessage message = getQueuedMessages().get(0);
+            clearInvocations(outboxMessageRepository);
 
             String propertyFilePath = "i18n/messages_" + getJavaLocale(langKey) + ".properties";
             URL resource = this.getClass().getClassLoader().getResource(propertyFilePath);
@@ -220,11 +197,15 @@ class MailServiceIT {
 
             String emailTitle = (String) properties.get("email.test.title");
             assertThat(message.getSubject()).isEqualTo(emailTitle);
-            assertThat(message.getContent().toString())
-                .isEqualToNormalizingNewlines("<html>" + emailTitle + ", http://127.0.0.1:8080, john</html>\n");
+            assertThat(message.getContent()).isEqualToNormalizingNewlines("<html>" + emailTitle + ", http://127.0.0.1:8080, john</html>\n");
         }
     }
 
+    private List<OutboxMessage> getQueuedMessages() {
+        verify(outboxMessageRepository).saveAll(messagesCaptor.capture());
+        return messagesCaptor.getValue();
+    }
+
     /**
      * Convert a lang key to the Java locale.
      */
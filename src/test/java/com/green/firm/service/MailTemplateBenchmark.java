@@ -0,0 +1,132 @@
+package com.green.firm.service;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import com.green.firm.domain.User;
+import com.green.firm.repository.OutboxMessageRepository;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Compares the cost of rendering the {@code templates/mail} emails for many users: one by one, as
+ * {@link MailService#sendEmailFromTemplate(User, String, String)} used to, and with
+ * {@link MailService#sendEmailFromTemplate(java.util.Collection, String, String)}.
+ * Both are measured with and without the Thymeleaf template cache ({@code spring.thymeleaf.cache}, disabled in dev).
+ * <p>
+ * It is not run by the test suite: run its {@link #main(String[])} method after {@code ./mvnw test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MailTemplateBenchmark {
+
+    private static final int USER_COUNT = 100;
+
+    @Param({ "activationEmail", "creationEmail", "passwordResetEmail" })
+    private String template;
+
+    @Param({ "true", "false" })
+    private boolean templateCache;
+
+    private String templateName;
+
+    private String titleKey;
+
+    private JHipsterProperties jHipsterProperties;
+
+    private ResourceBundleMessageSource messageSource;
+
+    private SpringTemplateEngine templateEngine;
+
+    private MailService mailService;
+
+    private List<User> users;
+
+    @Setup
+    public void setup() {
+        templateName = "mail/" + template;
+        titleKey = "passwordResetEmail".equals(template) ? "email.reset.title" : "email.activation.title";
+        jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getMail().setBaseUrl("http://127.0.0.1:8080");
+        // same settings as the beans auto-configured by Spring Boot
+        messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("i18n/messages");
+        messageSource.setDefaultEncoding(StandardCharsets.UTF_8.name());
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setTemplateMode(TemplateMode.HTML);
+        templateResolver.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        templateResolver.setCacheable(templateCache);
+        templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+        templateEngine.setTemplateEngineMessageSource(messageSource);
+        // the queued emails are dropped: only the rendering is measured
+        OutboxMessageRepository outboxMessageRepository = mock(OutboxMessageRepository.class, withSettings().stubOnly());
+        mailService = new MailService(jHipsterProperties, messageSource, templateEngine, outboxMessageRepository);
+        users = new ArrayList<>();
+        for (int i = 0; i < USER_COUNT; i++) {
+            User user = new User();
+            user.setLogin("user" + i);
+            user.setEmail("user" + i + "@localhost");
+            user.setLangKey("en");
+            user.setActivationKey("activation" + i);
+            user.setResetKey("reset" + i);
+            users.add(user);
+        }
+    }
+
+    /**
+     * The previous rendering: a new context and a subject lookup for each email.
+     */
+    @Benchmark
+    public void perUser(Blackhole blackhole) {
+        for (User user : users) {
+            Locale locale = Locale.forLanguageTag(user.getLangKey());
+            Context context = new Context(locale);
+            context.setVariable("user", user);
+            context.setVariable("baseUrl", jHipsterProperties.getMail().getBaseUrl());
+            blackhole.consume(templateEngine.process(templateName, context));
+            blackhole.consume(messageSource.getMessage(titleKey, null, locale));
+        }
+    }
+
+    @Benchmark
+    public void batch() {
+        mailService.sendEmailFromTemplate(users, templateName, titleKey);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MailTemplateBenchmark.class.getSimpleName()).addProfiler(GCProfiler.class).build())
+            .run();
+    }
+}
@@ -0,0 +1,91 @@
+package com.green.firm.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link PhoneTrie}.
+ */
+class PhoneTrieTest {
+
+    private PhoneTrie trie;
+
+    @BeforeEach
+    public void setUp() {
+        trie = new PhoneTrie();
+        trie.add(1L, "06 12 34 56 78");
+        trie.add(2L, "+33 6 12 34 56 78");
+        trie.add(3L, "06-12-99");
+        trie.add(4L, "0612");
+    }
+
+    @Test
+    void shouldFindThePhoneNumbersStartingWithThePrefix() {
+        assertThat(find("06 12", 10)).containsExactly("0612=4", "0612345678=1", "061299=3");
+        assertThat(find("33", 10)).containsExactly("33612345678=2");
+        assertThat(find("07", 10)).isEmpty();
+    }
+
+    @Test
+    void shouldStopAtTheLimit() {
+        assertThat(find("0", 2)).containsExactly("0612=4", "0612345678=1");
+        assertThat(find("0", 0)).isEmpty();
+    }
+
+    @Test
+    void shouldKeepTheCustomersSharingAPhoneNumber() {
+        trie.add(5L, "0612");
+
+        assertThat(find("0612", 2)).containsExactlyInAnyOrder("0612=4", "0612=5");
+        assertThat(trie.size()).isEqualTo(5);
+    }
+
+    @Test
+    void shouldReplaceThePhoneNumberOfACustomer() {
+        trie.put(1L, "07 00");
+
+        assertThat(find("0612", 10)).containsExactly("0612=4", "061299=3");
+        assertThat(find("07", 10)).containsExactly("0700=1");
+        assertThat(trie.size()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldRemoveACustomerAndReuseItsSlot() {
+        long memory = trie.memoryBytes();
+
+        assertThat(trie.remove(3L)).isTrue();
+        assertThat(trie.remove(3L)).isFalse();
+        trie.add(5L, "061299");
+
+        assertThat(find("061299", 10)).containsExactly("061299=5");
+        assertThat(trie.size()).isEqualTo(4);
+        assertThat(trie.memoryBytes()).isEqualTo(memory);
+    }
+
+    @Test
+    void shouldIgnoreThePhoneNumbersWithoutDigits() {
+        trie.add(5L, "unknown");
+
+        assertThat(trie.size()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldGrowPastItsInitialCapacity() {
+        for (long id = 10; id < 10_000; id++) {
+            trie.add(id, String.valueOf(id * 7919));
+        }
+
+        assertThat(trie.size()).isEqualTo(9994);
+        assertThat(find(String.valueOf(9999 * 7919), 10)).containsExactly(9999 * 7919 + "=9999");
+    }
+
+    private List<String> find(String prefix, int limit) {
+        List<String> found = new ArrayList<>();
+        trie.find(prefix, limit, (phone, id) -> found.add(phone + "=" + id));
+        return found;
+    }
+}
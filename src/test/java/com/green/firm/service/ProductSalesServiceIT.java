@@ -0,0 +1,194 @@
+package com.green.firm.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.green.firm.IntegrationTest;
+import com.green.firm.domain.Customer;
+import com.green.firm.domain.CustomerBought;
+import com.green.firm.domain.ProductType;
+import com.green.firm.domain.enumeration.paymentStatus;
+import com.green.firm.domain.enumeration.weightTypes;
+import com.green.firm.repository.CustomerBoughtRepository;
+import com.green.firm.repository.CustomerRepository;
+import com.green.firm.repository.ProductSalesRepository;
+import com.green.firm.repository.ProductTypeRepository;
+import com.green.firm.service.ProductSalesService.Granularity;
+import com.green.firm.service.dto.ProductSalesDTO;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link ProductSalesService}.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+@Transactional
+class ProductSalesServiceIT {
+
+    // a Monday
+    private static final LocalDate FIRST_DAY = LocalDate.of(2021, 3, 1);
+
+    private static final LocalDate FROM = LocalDate.of(2021, 1, 1);
+
+    private static final LocalDate TO = LocalDate.of(2022, 1, 1);
+
+    @Autowired
+    private ProductSalesService productSalesService;
+
+    @Autowired
+    private ProductSalesRepository productSalesRepository;
+
+    @Autowired
+    private CustomerBoughtRepository customerBoughtRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductTypeRepository productTypeRepository;
+
+    @Autowired
+    private MockMvc restProductTypeMockMvc;
+
+    private ProductType productType;
+
+    private Customer customer;
+
+    @BeforeEach
+    public void init() {
+        productType = productTypeRepository.saveAndFlush(new ProductType().name("AAAAAAAAAA"));
+        customer = customerRepository.saveAndFlush(new Customer().name("AAAAAAAAAA").phone("0123456789").address("AAAAAAAAAA"));
+    }
+
+    @Test
+    void assertThatCustomerBoughtsAreRolledUpByDay() {
+        createCustomerBought(FIRST_DAY, weightTypes.KG, 10, 200L);
+        createCustomerBought(FIRST_DAY, weightTypes.KG, 5, 200L);
+        createCustomerBought(FIRST_DAY, weightTypes.GRAM, 1, 30000L);
+        createCustomerBought(FIRST_DAY.plusDays(2), weightTypes.KG, 2, 200L);
+
+        productSalesService.rollUp();
+
+        assertThat(productSalesService.findSales(productType.getId(), FROM, TO, Granularity.DAY))
+            .extracting(
+                ProductSalesDTO::getPeriod,
+                ProductSalesDTO::getWeightType,
+                ProductSalesDTO::getTotalWeight,
+                ProductSalesDTO::getRevenue,
+                ProductSalesDTO::getOrderCount
+            )
+            .containsExactly(
+                tuple(FIRST_DAY, weightTypes.KG, 15L, new BigDecimal("30.00"), 2L),
+                tuple(FIRST_DAY, weightTypes.GRAM, 1L, new BigDecimal("300.00"), 1L),
+                tuple(FIRST_DAY.plusDays(2), weightTypes.KG, 2L, new BigDecimal("4.00"), 1L)
+            );
+    }
+
+    @Test
+    void assertThatDailySalesAreSummedByWeekAndMonth() {
+        createCustomerBought(FIRST_DAY, weightTypes.KG, 10, 200L);
+        createCustomerBought(FIRST_DAY.plusDays(6), weightTypes.KG, 5, 200L);
+        createCustomerBought(FIRST_DAY.plusDays(7), weightTypes.KG, 2, 200L);
+        createCustomerBought(FIRST_DAY.plusMonths(1), weightTypes.KG, 1, 200L);
+
+        productSalesService.rollUp();
+
+        assertThat(productSalesService.findSales(productType.getId(), FROM, TO, Granularity.WEEK))
+            .extracting(ProductSalesDTO::getPeriod, ProductSalesDTO::getTotalWeight, ProductSalesDTO::getOrderCount)
+            .containsExactly(
+                tuple(FIRST_DAY, 15L, 2L),
+                tuple(FIRST_DAY.plusDays(7), 2L, 1L),
+                tuple(LocalDate.of(2021, 3, 29), 1L, 1L)
+            );
+        assertThat(productSalesService.findSales(productType.getId(), FROM, TO, Granularity.MONTH))
+            .extracting(ProductSalesDTO::getPeriod, ProductSalesDTO::getTotalWeight, ProductSalesDTO::getOrderCount)
+            .containsExactly(tuple(FIRST_DAY, 17L, 3L), tuple(FIRST_DAY.plusMonths(1), 1L, 1L));
+        assertThat(productSalesService.findSales(productType.getId(), FIRST_DAY.plusDays(1), FIRST_DAY.plusDays(7), Granularity.MONTH))
+            .extracting(ProductSalesDTO::getPeriod, ProductSalesDTO::getTotalWeight)
+            .containsExactly(tuple(FIRST_DAY, 5L));
+    }
+
+    @Test
+    void assertThatCustomerBoughtsAreRolledUpOnce() {
+        createCustomerBought(FIRST_DAY, weightTypes.KG, 10, 200L);
+        productSalesService.rollUp();
+
+        createCustomerBought(FIRST_DAY, weightTypes.KG, 5, 200L);
+        assertThat(productSalesService.rollUp()).isEqualTo(1L);
+        assertThat(productSalesService.rollUp()).isZero();
+
+        assertThat(productSalesService.findSales(productType.getId(), FROM, TO, Granularity.DAY))
+            .extracting(ProductSalesDTO::getTotalWeight, ProductSalesDTO::getRevenue, ProductSalesDTO::getOrderCount)
+            .containsExactly(tuple(15L, new BigDecimal("30.00"), 2L));
+    }
+
+    @Test
+    void assertThatRebuildCorrectsDriftedSales() {
+        CustomerBought customerBought = createCustomerBought(FIRST_DAY, weightTypes.KG, 10, 200L);
+        productSalesService.rollUp();
+
+        customerBoughtRepository.saveAndFlush(customerBought.totalWeight(12));
+        productSalesRepository.applyDelta(productType.getId(), FIRST_DAY, weightTypes.KG, 100L, 10000L, 3L);
+
+        productSalesService.rebuildAll();
+
+        assertThat(productSalesService.findSales(productType.getId(), FROM, TO, Granularity.DAY))
+            .extracting(ProductSalesDTO::getTotalWeight, ProductSalesDTO::getRevenue, ProductSalesDTO::getOrderCount)
+            .containsExactly(tuple(12L, new BigDecimal("24.00"), 1L));
+    }
+
+    @Test
+    void getProductTypeSales() throws Exception {
+        createCustomerBought(FIRST_DAY, weightTypes.KG, 10, 200L);
+        productSalesService.rollUp();
+
+        restProductTypeMockMvc
+            .perform(get("/api/product-types/{id}/sales?from=2021-01-01&to=2022-01-01&granularity=month", productType.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].period").value("2021-03-01"))
+            .andExpect(jsonPath("$.[0].weightType").value("KG"))
+            .andExpect(jsonPath("$.[0].totalWeight").value(10))
+            .andExpect(jsonPath("$.[0].revenue").value(20D))
+            .andExpect(jsonPath("$.[0].orderCount").value(1));
+    }
+
+    @Test
+    void getProductTypeSalesWithInvalidParameters() throws Exception {
+        restProductTypeMockMvc
+            .perform(get("/api/product-types/{id}/sales?from=2021-01-01&to=2022-01-01&granularity=year", productType.getId()))
+            .andExpect(status().isBadRequest());
+        restProductTypeMockMvc
+            .perform(get("/api/product-types/{id}/sales?from=2022-01-01&to=2021-01-01", productType.getId()))
+            .andExpect(status().isBadRequest());
+        restProductTypeMockMvc
+            .perform(get("/api/product-types/{id}/sales?from=2021-01-01&to=2022-01-01", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+    }
+
+    private CustomerBought createCustomerBought(LocalDate day, weightTypes weightType, int totalWeight, long unitPrice) {
+        return customerBoughtRepository.saveAndFlush(
+            new CustomerBought()
+                .weightType(weightType)
+                .unitPrice(unitPrice)
+                .deliveryDate(ZonedDateTime.of(day.atTime(10, 0), ZoneOffset.UTC))
+                .status(paymentStatus.DUE)
+                .totalWeight(totalWeight)
+                .productType(productType)
+                .customer(customer)
+        );
+    }
+}
@@ -0,0 +1,42 @@
+package com.green.firm.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.green.firm.domain.enumeration.weightTypes;
+import com.green.firm.domain.enumeration.weightTypes.Dimension;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link QuantityTotals}.
+ */
+class QuantityTotalsTest {
+
+    @Test
+    void shouldSumTheQuantitiesOfEachDimensionInBaseUnits() {
+        QuantityTotals totals = new QuantityTotals().add(weightTypes.KG, 25).add(weightTypes.GRAM, 500).add(weightTypes.LITTRE, 3);
+
+        assertThat(totals.getBaseQuantity(Dimension.MASS)).isEqualTo(25_500L);
+        assertThat(totals.getBaseQuantity(Dimension.VOLUME)).isEqualTo(3_000L);
+        assertThat(totals.in(weightTypes.KG)).isEqualTo(25.5D);
+        assertThat(totals.in(weightTypes.GRAM)).isEqualTo(25_500D);
+        assertThat(totals.in(weightTypes.LITTRE)).isEqualTo(3D);
+    }
+
+    @Test
+    void shouldAddBaseQuantitiesAndOtherTotals() {
+        QuantityTotals totals = new QuantityTotals().addBase(Dimension.MASS, 1_500L);
+        totals.addAll(new QuantityTotals().add(weightTypes.KG, 1).add(weightTypes.LITTRE, 2));
+
+        assertThat(totals.getBaseQuantity(Dimension.MASS)).isEqualTo(2_500L);
+        assertThat(totals.getBaseQuantity(Dimension.VOLUME)).isEqualTo(2_000L);
+    }
+
+    @Test
+    void shouldNotOverflowSilently() {
+        QuantityTotals totals = new QuantityTotals().addBase(Dimension.MASS, Long.MAX_VALUE);
+
+        assertThatThrownBy(() -> totals.add(weightTypes.GRAM, 1)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> weightTypes.KG.toBaseQuantity(Long.MAX_VALUE)).isInstanceOf(ArithmeticException.class);
+    }
+}
@@ -0,0 +1,104 @@
+package com.green.firm.service.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.green.firm.domain.Customer;
+import com.green.firm.domain.CustomerBought;
+import com.green.firm.domain.ProductType;
+import com.green.firm.domain.enumeration.paymentStatus;
+import com.green.firm.domain.enumeration.weightTypes;
+import com.green.firm.service.dto.CustomerBoughtDTO;
+import com.green.firm.service.dto.CustomerDTO;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit tests for {@link CustomerBoughtMapper}.
+ */
+class CustomerBoughtMapperTest {
+
+    private CustomerBoughtMapper customerBoughtMapper;
+
+    private CustomerBought customerBought;
+
+    @BeforeEach
+    public void init() {
+        customerBoughtMapper = new CustomerBoughtMapperImpl();
+        ReflectionTestUtils.setField(customerBoughtMapper, "productTypeMapper", new ProductTypeMapperImpl());
+        ReflectionTestUtils.setField(customerBoughtMapper, "customerMapper", new CustomerMapperImpl());
+        customerBought =
+            new CustomerBought()
+                .id(1L)
+                .weightType(weightTypes.KG)
+                .unitPrice(200L)
+                .deliveryDate(ZonedDateTime.ofInstant(Instant.ofEpochMilli(0L), ZoneOffset.UTC))
+                .remarks("remarks")
+                .status(paymentStatus.DUE)
+                .totalWeight(10)
+                .productType(new ProductType().id(2L).name("product"))
+                .customer(new Customer().id(3L).name("customer").email("customer@localhost").phone("0123456789").address("address"));
+    }
+
+    @Test
+    void testToDtoReducesTheRelationshipsToTheirName() {
+        CustomerBoughtDTO customerBoughtDTO = customerBoughtMapper.toDto(customerBought);
+
+        assertThat(customerBoughtDTO.getId()).isEqualTo(1L);
+        assertThat(customerBoughtDTO.getUnitPrice()).isEqualByComparingTo("2");
+        assertThat(customerBoughtDTO.getTotalPrice()).isEqualByComparingTo("20");
+        assertThat(customerBoughtDTO.getProductType().getId()).isEqualTo(2L);
+        assertThat(customerBoughtDTO.getProductType().getName()).isEqualTo("product");
+        CustomerDTO customerDTO = customerBoughtDTO.getCustomer();
+        assertThat(customerDTO.getId()).isEqualTo(3L);
+        assertThat(customerDTO.getName()).isEqualTo("customer");
+        assertThat(customerDTO.getEmail()).isNull();
+        assertThat(customerDTO.getPhone()).isNull();
+        assertThat(customerDTO.getAddress()).isNull();
+    }
+
+    @Test
+    void testPartialUpdateKeepsTheMissingFieldsAndTheRelationships() {
+        CustomerBoughtDTO customerBoughtDTO = new CustomerBoughtDTO();
+        customerBoughtDTO.setId(1L);
+        customerBoughtDTO.setStatus(paymentStatus.PAID);
+        customerBoughtDTO.setCustomer(new CustomerDTO(4L, "other"));
+
+        customerBoughtMapper.partialUpdate(customerBought, customerBoughtDTO);
+
+        assertThat(customerBought.getStatus()).isEqualTo(paymentStatus.PAID);
+        assertThat(customerBought.getUnitPrice()).isEqualTo(200L);
+        assertThat(customerBought.getTotalPrice()).isEqualTo(2000L);
+        assertThat(customerBought.getRemarks()).isEqualTo("remarks");
+        assertThat(customerBought.getCustomer().getId()).isEqualTo(3L);
+        assertThat(customerBought.getCustomer().getName()).isEqualTo("customer");
+    }
+
+    @Test
+    void testPartialUpdateComputesTheTotalPriceInCents() {
+        CustomerBoughtDTO customerBoughtDTO = new CustomerBoughtDTO();
+        customerBoughtDTO.setId(1L);
+        customerBoughtDTO.setUnitPrice(new BigDecimal("0.125"));
+        customerBoughtDTO.setTotalPrice(new BigDecimal("1000"));
+
+        customerBoughtMapper.partialUpdate(customerBought, customerBoughtDTO);
+
+        assertThat(customerBought.getUnitPrice()).isEqualTo(13L);
+        assertThat(customerBought.getTotalPrice()).isEqualTo(130L);
+    }
+
+    @Test
+    void testToEntityReferencesTheRelationshipsById() {
+        CustomerBoughtDTO customerBoughtDTO = customerBoughtMapper.toDto(customerBought);
+
+        CustomerBought mapped = customerBoughtMapper.toEntity(customerBoughtDTO);
+
+        assertThat(mapped.getId()).isEqualTo(1L);
+        assertThat(mapped.getProductType().getId()).isEqualTo(2L);
+        assertThat(mapped.getCustomer().getId()).isEqualTo(3L);
+    }
+}
@@ -0,0 +1,359 @@
+package com.green.firm.web.rest;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.green.firm.IntegrationTest;
+import com.green.firm.domain.Customer;
+import com.green.firm.domain.CustomerBought;
+import com.green.firm.domain.ProductType;
+import com.green.firm.domain.enumeration.paymentStatus;
+import com.green.firm.domain.enumeration.weightTypes;
+import com.green.firm.repository.CustomerBoughtRepository;
+import com.green.firm.web.rest.util.CursorPaginationUtil;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link CustomerBoughtResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class CustomerBoughtResourceIT {
+
+    private static final weightTypes DEFAULT_WEIGHT_TYPE = weightTypes.KG;
+
+    private static final Long DEFAULT_UNIT_PRICE = 200L;
+
+    private static final ZonedDateTime DEFAULT_DELIVERY_DATE = ZonedDateTime.ofInstant(Instant.ofEpochMilli(0L), ZoneOffset.UTC);
+    private static final ZonedDateTime UPDATED_DELIVERY_DATE = ZonedDateTime.now(ZoneOffset.UTC).withNano(0);
+
+    private static final String DEFAULT_REMARKS = "AAAAAAAAAA";
+
+    private static final paymentStatus DEFAULT_STATUS = paymentStatus.DUE;
+    private static final paymentStatus UPDATED_STATUS = paymentStatus.PAID;
+
+    private static final Integer DEFAULT_TOTAL_WEIGHT = 10;
+
+    private static final String ENTITY_API_URL = "/api/customer-boughts";
+
+    @Autowired
+    private CustomerBoughtRepository customerBoughtRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restCustomerBoughtMockMvc;
+
+    private CustomerBought customerBought;
+
+    /**
+     * Create an entity for this test.
+     *
+     * This is a static method, as tests for other entities might also need it,
+     * if they test an entity which requires the current entity.
+     */
+    public static CustomerBought createEntity(EntityManager em) {
+        CustomerBought customerBought = new CustomerBought()
+            .weightType(DEFAULT_WEIGHT_TYPE)
+            .unitPrice(DEFAULT_UNIT_PRICE)
+            .deliveryDate(DEFAULT_DELIVERY_DATE)
+            .remarks(DEFAULT_REMARKS)
+            .status(DEFAULT_STATUS)
+            .totalWeight(DEFAULT_TOTAL_WEIGHT);
+        // Add required entity
+        ProductType productType = new ProductType().name("AAAAAAAAAA");
+        em.persist(productType);
+        em.flush();
+        customerBought.setProductType(productType);
+        // Add required entity
+        Customer customer = new Customer().name("AAAAAAAAAA").phone("0123456789").address("AAAAAAAAAA");
+        em.persist(customer);
+        em.flush();
+        customerBought.setCustomer(customer);
+        return customerBought;
+    }
+
+    @BeforeEach
+    public void initTest() {
+        customerBought = createEntity(em);
+    }
+
+    @Test
+    @Transactional
+    void getAllCustomerBoughts() throws Exception {
+        // Initialize the database
+        customerBoughtRepository.saveAndFlush(customerBought);
+
+        // Get all the customerBoughtList
+        restCustomerBoughtMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(customerBought.getId().intValue())))
+            .andExpect(jsonPath("$.[*].weightType").value(hasItem(DEFAULT_WEIGHT_TYPE.toString())))
+            .andExpect(jsonPath("$.[*].unitPrice").value(hasItem(2D)))
+            .andExpect(jsonPath("$.[*].totalPrice").value(hasItem(20D)))
+            .andExpect(jsonPath("$.[*].totalWeight").value(hasItem(DEFAULT_TOTAL_WEIGHT)));
+    }
+
+    @Test
+    @Transactional
+    void getAllCustomerBoughtsByCustomerIdIsEqualToSomething() throws Exception {
+        // Initialize the database
+        customerBoughtRepository.saveAndFlush(customerBought);
+        Long customerId = customerBought.getCustomer().getId();
+
+        // Get all the customerBoughtList where customer equals to customerId
+        defaultCustomerBoughtShouldBeFound("customerId.equals=" + customerId);
+
+        // Get all the customerBoughtList where customer equals to (customerId + 1)
+        defaultCustomerBoughtShouldNotBeFound("customerId.equals=" + (customerId + 1));
+    }
+
+    @Test
+    @Transactional
+    void getAllCustomerBoughtsByProductTypeIdIsEqualToSomething() throws Exception {
+        // Initialize the database
+        customerBoughtRepository.saveAndFlush(customerBought);
+        Long productTypeId = customerBought.getProductType().getId();
+
+        // Get all the customerBoughtList where productType equals to productTypeId
+        defaultCustomerBoughtShouldBeFound("productTypeId.equals=" + productTypeId);
+
+        // Get all the customerBoughtList where productType equals to (productTypeId + 1)
+        defaultCustomerBoughtShouldNotBeFound("productTypeId.equals=" + (productTypeId + 1));
+    }
+
+    @Test
+    @Transactional
+    void getAllCustomerBoughtsByStatusIsEqualToSomething() throws Exception {
+        // Initialize the database
+        customerBoughtRepository.saveAndFlush(customerBought);
+
+        // Get all the customerBoughtList where status equals to DEFAULT_STATUS
+        defaultCustomerBoughtShouldBeFound("status.equals=" + DEFAULT_STATUS);
+
+        // Get all the customerBoughtList where status equals to UPDATED_STATUS
+        defaultCustomerBoughtShouldNotBeFound("status.equals=" + UPDATED_STATUS);
+    }
+
+    @Test
+    @Transactional
+    void getAllCustomerBoughtsByDeliveryDateIsInRange() throws Exception {
+        // Initialize the database
+        customerBoughtRepository.saveAndFlush(customerBought);
+
+        // Get all the customerBoughtList where deliveryDate is in [DEFAULT_DELIVERY_DATE, UPDATED_DELIVERY_DATE)
+        defaultCustomerBoughtShouldBeFound(
+            "deliveryDate.greaterThanOrEqual=" + DEFAULT_DELIVERY_DATE + "&deliveryDate.lessThan=" + UPDATED_DELIVERY_DATE
+        );
+
+        // Get all the customerBoughtList where deliveryDate is in [UPDATED_DELIVERY_DATE, +inf)
+        defaultCustomerBoughtShouldNotBeFound("deliveryDate.greaterThanOrEqual=" + UPDATED_DELIVERY_DATE);
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is returned.
+     */
+    private void defaultCustomerBoughtShouldBeFound(String filter) throws Exception {
+        restCustomerBoughtMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(customerBought.getId().intValue())))
+            .andExpect(jsonPath("$.[*].status").value(hasItem(DEFAULT_STATUS.toString())));
+
+        // Check, that the count call also returns 1
+        restCustomerBoughtMockMvc
+            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("1"));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is not returned.
+     */
+    private void defaultCustomerBoughtShouldNotBeFound(String filter) throws Exception {
+        restCustomerBoughtMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$").isArray())
+            .andExpect(jsonPath("$").isEmpty());
+
+        // Check, that the count call also returns 0
+        restCustomerBoughtMockMvc
+            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("0"));
+    }
+
+    @Test
+    @Transactional
+    void getCustomerBoughtsWithCursor() throws Exception {
+        // Initialize the database
+        CustomerBought first = customerBoughtRepository.saveAndFlush(customerBought);
+        CustomerBought second = customerBoughtRepository.saveAndFlush(copyOf(customerBought));
+        CustomerBought third = customerBoughtRepository.saveAndFlush(copyOf(customerBought));
+        String startCursor = CursorPaginationUtil.encodeCursor(first.getId() - 1);
+
+        // Get the first slice, the next cursor must point after the second element
+        MvcResult firstSlice = restCustomerBoughtMockMvc
+            .perform(get(ENTITY_API_URL + "?cursor={cursor}&size=2", startCursor))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string(CursorPaginationUtil.NEXT_CURSOR_HEADER, CursorPaginationUtil.encodeCursor(second.getId())))
+            .andExpect(jsonPath("$", hasSize(2)))
+            .andExpect(jsonPath("$.[0].id").value(first.getId().intValue()))
+            .andExpect(jsonPath("$.[1].id").value(second.getId().intValue()))
+            .andReturn();
+
+        // Get the last slice, no next cursor must be returned
+        String nextCursor = firstSlice.getResponse().getHeader(CursorPaginationUtil.NEXT_CURSOR_HEADER);
+        restCustomerBoughtMockMvc
+            .perform(get(ENTITY_API_URL + "?cursor={cursor}&size=2", nextCursor))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(CursorPaginationUtil.NEXT_CURSOR_HEADER))
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$.[0].id").value(third.getId().intValue()));
+    }
+
+    @Test
+    @Transactional
+    void getCustomerBoughtsWithCursorAndCriteria() throws Exception {
+        // Initialize the database
+        CustomerBought first = customerBoughtRepository.saveAndFlush(customerBought);
+        customerBoughtRepository.saveAndFlush(copyOf(customerBought).status(paymentStatus.PAID));
+        CustomerBought third = customerBoughtRepository.saveAndFlush(copyOf(customerBought));
+        String startCursor = CursorPaginationUtil.encodeCursor(first.getId() - 1);
+
+        // The paid customerBought is filtered out of the slice
+        restCustomerBoughtMockMvc
+            .perform(get(ENTITY_API_URL + "?cursor={cursor}&size=2&status.equals=" + DEFAULT_STATUS, startCursor))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(CursorPaginationUtil.NEXT_CURSOR_HEADER))
+            .andExpect(jsonPath("$", hasSize(2)))
+            .andExpect(jsonPath("$.[0].id").value(first.getId().intValue()))
+            .andExpect(jsonPath("$.[1].id").value(third.getId().intValue()));
+    }
+
+    @Test
+    @Transactional
+    void getCustomerBoughtsWithInvalidCursor() throws Exception {
+        restCustomerBoughtMockMvc.perform(get(ENTITY_API_URL + "?cursor=not-a-cursor")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getCustomerBoughtsWithOutOfRangeUnitPrice() throws Exception {
+        restCustomerBoughtMockMvc.perform(get(ENTITY_API_URL + "?unitPrice.greaterThan=1e30")).andExpect(status().isBadRequest());
+        restCustomerBoughtMockMvc.perform(get(ENTITY_API_URL + "/count?unitPrice.in=1,1e30")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void partialUpdateCustomerBoughtWithOutOfRangeUnitPrice() throws Exception {
+        // Initialize the database
+        customerBoughtRepository.saveAndFlush(customerBought);
+
+        // Over a long of cents
+        restCustomerBoughtMockMvc
+            .perform(
+                patch(ENTITY_API_URL + "/{id}", customerBought.getId())
+                    .contentType("application/merge-patch+json")
+                    .content("{\"id\":" + customerBought.getId() + ",\"unitPrice\":1e30}")
+            )
+            .andExpect(status().isBadRequest());
+
+        // Within a long of cents, but its total price would not be
+        restCustomerBoughtMockMvc
+            .perform(
+                patch(ENTITY_API_URL + "/{id}", customerBought.getId())
+                    .contentType("application/merge-patch+json")
+                    .content("{\"id\":" + customerBought.getId() + ",\"unitPrice\":42949672.96}")
+            )
+            .andExpect(status().isBadRequest());
+
+        restCustomerBoughtMockMvc
+            .perform(get(ENTITY_API_URL + "/{id}", customerBought.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.unitPrice").value(2D));
+    }
+
+    @Test
+    @Transactional
+    void exportCustomerBoughtsWithInvalidFormat() throws Exception {
+        restCustomerBoughtMockMvc.perform(get(ENTITY_API_URL + "/export?format=xlsx")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getNonExistingCustomerBought() throws Exception {
+        // Get the customerBought
+        restCustomerBoughtMockMvc.perform(get(ENTITY_API_URL + "/{id}", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    void getCustomerBoughtIsConditional() throws Exception {
+        // Initialize the database
+        customerBoughtRepository.saveAndFlush(customerBought);
+
+        String eTag = restCustomerBoughtMockMvc
+            .perform(get(ENTITY_API_URL + "/{id}", customerBought.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(customerBought.getId().intValue()))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"0-0-0\""))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        restCustomerBoughtMockMvc
+            .perform(get(ENTITY_API_URL + "/{id}", customerBought.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+
+        // Renaming the customer changes the customerBought as served
+        customerBought.getCustomer().setName("BBBBBBBBBB");
+        em.flush();
+
+        restCustomerBoughtMockMvc
+            .perform(get(ENTITY_API_URL + "/{id}", customerBought.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"0-0-1\""))
+            .andExpect(jsonPath("$.customer.name").value("BBBBBBBBBB"));
+    }
+
+    private static CustomerBought copyOf(CustomerBought customerBought) {
+        return new CustomerBought()
+            .weightType(customerBought.getWeightType())
+            .unitPrice(customerBought.getUnitPrice())
+            .deliveryDate(customerBought.getDeliveryDate().plus(1, ChronoUnit.DAYS))
+            .remarks(customerBought.getRemarks())
+            .status(customerBought.getStatus())
+            .totalWeight(customerBought.getTotalWeight())
+            .productType(customerBought.getProductType())
+            .customer(customerBought.getCustomer());
+    }
+}
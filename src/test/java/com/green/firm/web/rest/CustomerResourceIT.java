@@ -0,0 +1,280 @@
+package com.green.firm.web.rest;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.green.firm.IntegrationTest;
+import com.green.firm.domain.Customer;
+import com.green.firm.domain.CustomerBought;
+import com.green.firm.domain.CustomerLedger;
+import com.green.firm.domain.enumeration.paymentStatus;
+import com.green.firm.domain.enumeration.weightTypes;
+import com.green.firm.service.dto.CustomerDTO;
+import javax.persistence.EntityManager;
+import org.hibernate.search.mapper.orm.Search;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link CustomerResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class CustomerResourceIT {
+
+    private static final String ENTITY_API_URL = "/api/customers";
+    private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restCustomerMockMvc;
+
+    private Customer customer;
+
+    @BeforeEach
+    public void initTest() {
+        // Three due purchases, two of them by the kilogram at 2.00, and a paid one
+        CustomerBought customerBought = CustomerBoughtResourceIT.createEntity(em);
+        customer = customerBought.getCustomer();
+        em.persist(customerBought.weightType(weightTypes.KG).unitPrice(200L).totalWeight(10).status(paymentStatus.DUE));
+        em.persist(copyOf(customerBought).weightType(weightTypes.KG).unitPrice(200L).totalWeight(15).status(paymentStatus.DUE));
+        em.persist(copyOf(customerBought).weightType(weightTypes.GRAM).unitPrice(1L).totalWeight(500).status(paymentStatus.DUE));
+        em.persist(copyOf(customerBought).weightType(weightTypes.KG).unitPrice(200L).totalWeight(50).status(paymentStatus.PAID));
+        em.flush();
+    }
+
+    @Test
+    @Transactional
+    void getCustomerBalance() throws Exception {
+        restCustomerMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/balance", customer.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.customerId").value(customer.getId().intValue()))
+            .andExpect(jsonPath("$.status").value(paymentStatus.DUE.toString()))
+            .andExpect(jsonPath("$.count").value(3))
+            .andExpect(jsonPath("$.totalPrice").value(55D))
+            .andExpect(jsonPath("$.weights[*].weightType").value(containsInAnyOrder("KG", "GRAM")))
+            .andExpect(jsonPath("$.weights[?(@.weightType == 'KG')].totalWeight").value(hasItem(25)))
+            .andExpect(jsonPath("$.weights[?(@.weightType == 'GRAM')].totalWeight").value(hasItem(500)))
+            .andExpect(jsonPath("$.weights[?(@.weightType == 'KG')].baseQuantity").value(hasItem(25000)))
+            .andExpect(jsonPath("$.totalGrams").value(25500))
+            .andExpect(jsonPath("$.totalMillilitres").value(0));
+    }
+
+    @Test
+    @Transactional
+    void getCustomerPaidBalance() throws Exception {
+        restCustomerMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/balance?status=PAID", customer.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.count").value(1))
+            .andExpect(jsonPath("$.totalPrice").value(100D));
+    }
+
+    @Test
+    @Transactional
+    void getNonExistingCustomerBalance() throws Exception {
+        restCustomerMockMvc.perform(get(ENTITY_API_URL_ID + "/balance", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    void getCustomerBalances() throws Exception {
+        restCustomerMockMvc
+            .perform(get(ENTITY_API_URL + "/balances?status=DUE&size=100"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(jsonPath("$[?(@.customerId == " + customer.getId() + ")].count").value(hasItem(3)))
+            .andExpect(jsonPath("$[?(@.customerId == " + customer.getId() + ")].totalPrice").value(hasItem(55D)));
+    }
+
+    @Test
+    @Transactional
+    void getCustomerLedger() throws Exception {
+        em.persist(new CustomerLedger().customerId(customer.getId()).totalDueCents(5500L).totalPaidCents(10000L).orderCount(4L));
+        em.flush();
+
+        restCustomerMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/ledger", customer.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.customerId").value(customer.getId().intValue()))
+            .andExpect(jsonPath("$.totalDue").value(55D))
+            .andExpect(jsonPath("$.totalPaid").value(100D))
+            .andExpect(jsonPath("$.orderCount").value(4))
+            .andExpect(jsonPath("$.totalDueCents").doesNotExist());
+    }
+
+    @Test
+    @Transactional
+    void getCustomerLedgersSortedByAmount() throws Exception {
+        em.persist(new CustomerLedger().customerId(customer.getId()).totalDueCents(5500L).totalPaidCents(10000L).orderCount(4L));
+        em.flush();
+
+        restCustomerMockMvc
+            .perform(get(ENTITY_API_URL + "/ledgers?size=100&sort=totalPaid,desc"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(jsonPath("$[?(@.customerId == " + customer.getId() + ")].totalDue").value(hasItem(55D)))
+            .andExpect(jsonPath("$[?(@.customerId == " + customer.getId() + ")].totalPaid").value(hasItem(100D)));
+    }
+
+    @Test
+    @Transactional
+    void getCustomerIsConditional() throws Exception {
+        String eTag = restCustomerMockMvc
+            .perform(get(ENTITY_API_URL_ID, customer.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        restCustomerMockMvc
+            .perform(get(ENTITY_API_URL_ID, customer.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+
+        customer.setName("BBBBBBBBBB");
+        em.flush();
+
+        restCustomerMockMvc
+            .perform(get(ENTITY_API_URL_ID, customer.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+            .andExpect(jsonPath("$.name").value("BBBBBBBBBB"));
+    }
+
+    @Test
+    @Transactional
+    void getNonExistingCustomer() throws Exception {
+        restCustomerMockMvc.perform(get(ENTITY_API_URL_ID, Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    void getAllCustomersIsConditional() throws Exception {
+        String eTag = restCustomerMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(customer.getId().intValue())))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        restCustomerMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified());
+
+        customer.setName("BBBBBBBBBB");
+        em.flush();
+
+        restCustomerMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].name").value(hasItem("BBBBBBBBBB")));
+    }
+
+    @Test
+    @Transactional
+    void putCustomerWithStaleVersion() throws Exception {
+        customer.setName("BBBBBBBBBB");
+        em.flush();
+
+        CustomerDTO customerDTO = new CustomerDTO(customer.getId(), "CCCCCCCCCC");
+        customerDTO.setPhone(customer.getPhone());
+        customerDTO.setAddress(customer.getAddress());
+        customerDTO.setVersion(0L);
+
+        restCustomerMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, customer.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(customerDTO))
+            )
+            .andExpect(status().isConflict());
+
+        // Without a version, the last write wins
+        customerDTO.setVersion(null);
+        restCustomerMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, customer.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(customerDTO))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name").value("CCCCCCCCCC"))
+            .andExpect(jsonPath("$.version").value(2));
+    }
+
+    @Test
+    @Transactional
+    void patchCustomerWithStaleVersion() throws Exception {
+        customer.setName("BBBBBBBBBB");
+        em.flush();
+
+        CustomerDTO customerDTO = new CustomerDTO(customer.getId(), "CCCCCCCCCC");
+        customerDTO.setVersion(0L);
+
+        restCustomerMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, customer.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(customerDTO))
+            )
+            .andExpect(status().isConflict());
+    }
+
+    @Test
+    @Transactional
+    void searchCustomers() throws Exception {
+        customer.name("Émile Zola").phone("06 12 34 56 78").address("12 rue de Rivoli");
+        em.flush();
+        // The test transaction is never committed, so the change is indexed right away
+        Search.session(em).indexingPlan().execute();
+
+        try {
+            restCustomerMockMvc
+                .perform(get(ENTITY_API_URL + "/_search?q=emi riv"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("X-Total-Count"))
+                .andExpect(jsonPath("$.[*].id").value(hasItem(customer.getId().intValue())))
+                .andExpect(jsonPath("$.[*].name").value(hasItem("Émile Zola")));
+            restCustomerMockMvc
+                .perform(get(ENTITY_API_URL + "/_search?q=0612"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].id").value(hasItem(customer.getId().intValue())));
+            restCustomerMockMvc
+                .perform(get(ENTITY_API_URL + "/_search?q=zola balzac"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].id").value(not(hasItem(customer.getId().intValue()))));
+        } finally {
+            // Nor is its rollback
+            Search.session(em).workspace(Customer.class).purge();
+        }
+    }
+
+    private static CustomerBought copyOf(CustomerBought customerBought) {
+        return new CustomerBought()
+            .unitPrice(customerBought.getUnitPrice())
+            .deliveryDate(customerBought.getDeliveryDate())
+            .productType(customerBought.getProductType())
+            .customer(customerBought.getCustomer());
+    }
+}
@@ -0,0 +1,149 @@
+package com.green.firm.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.green.firm.IntegrationTest;
+import com.green.firm.domain.Customer;
+import com.green.firm.domain.CustomerBought;
+import com.green.firm.domain.ProductType;
+import com.green.firm.domain.enumeration.paymentStatus;
+import com.green.firm.domain.enumeration.weightTypes;
+import com.green.firm.repository.CustomerBoughtRepository;
+import com.green.firm.repository.CustomerRepository;
+import com.green.firm.repository.ProductTypeRepository;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+/**
+ * Integration tests for the {@link CustomerStreamResource} REST controller.
+ * <p>
+ * The entities are committed, rather than rolled back at the end of each test, so that they can be read over R2DBC.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class CustomerStreamResourceIT {
+
+    private static final ZonedDateTime DELIVERY_DATE = ZonedDateTime.of(2021, 8, 8, 16, 47, 43, 0, ZoneOffset.UTC);
+
+    @Autowired
+    private MockMvc restCustomerStreamMockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProductTypeRepository productTypeRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CustomerBoughtRepository customerBoughtRepository;
+
+    private ProductType productType;
+
+    private Customer customer;
+
+    private Customer otherCustomer;
+
+    private CustomerBought first;
+
+    private CustomerBought second;
+
+    private CustomerBought other;
+
+    @BeforeEach
+    public void initTest() {
+        productType = productTypeRepository.saveAndFlush(new ProductType().name("AAAAAAAAAA"));
+        customer = customerRepository.saveAndFlush(new Customer().name("AAAAAAAAAA").phone("0123456789").address("AAAAAAAAAA"));
+        otherCustomer = customerRepository.saveAndFlush(new Customer().name("BBBBBBBBBB").phone("9876543210").address("BBBBBBBBBB"));
+        first = customerBoughtRepository.saveAndFlush(createCustomerBought(customer, DELIVERY_DATE));
+        second = customerBoughtRepository.saveAndFlush(createCustomerBought(customer, DELIVERY_DATE.plusDays(2)));
+        other = customerBoughtRepository.saveAndFlush(createCustomerBought(otherCustomer, DELIVERY_DATE));
+    }
+
+    @AfterEach
+    public void cleanup() {
+        customerBoughtRepository.deleteAll(List.of(first, second, other));
+        customerRepository.deleteAll(List.of(customer, otherCustomer));
+        productTypeRepository.delete(productType);
+    }
+
+    @Test
+    void streamCustomers() throws Exception {
+        List<JsonNode> customers = stream("/api/stream/customers");
+
+        assertThat(customers).extracting(node -> node.get("id").asLong()).contains(customer.getId(), otherCustomer.getId()).isSorted();
+        JsonNode streamed = customers.stream().filter(node -> node.get("id").asLong() == customer.getId()).findFirst().orElseThrow();
+        assertThat(streamed.get("name").asText()).isEqualTo("AAAAAAAAAA");
+        assertThat(streamed.get("phone").asText()).isEqualTo("0123456789");
+        assertThat(streamed.get("version").asLong()).isZero();
+    }
+
+    @Test
+    void streamCustomerBoughtsOfACustomer() throws Exception {
+        List<JsonNode> customerBoughts = stream("/api/stream/customer-boughts?customerId=" + customer.getId());
+
+        assertThat(customerBoughts).extracting(node -> node.get("id").asLong()).containsExactly(first.getId(), second.getId());
+        JsonNode streamed = customerBoughts.get(0);
+        assertThat(streamed.get("weightType").asText()).isEqualTo(weightTypes.KG.toString());
+        assertThat(streamed.get("totalPrice").asDouble()).isEqualTo(20D);
+        assertThat(ZonedDateTime.parse(streamed.get("deliveryDate").asText()).toInstant()).isEqualTo(DELIVERY_DATE.toInstant());
+        assertThat(streamed.get("status").asText()).isEqualTo(paymentStatus.DUE.toString());
+        assertThat(streamed.get("productType").get("name").asText()).isEqualTo("AAAAAAAAAA");
+        assertThat(streamed.get("customer").get("id").asLong()).isEqualTo(customer.getId());
+    }
+
+    @Test
+    void streamCustomerBoughtsOfAPeriod() throws Exception {
+        List<JsonNode> customerBoughts = stream(
+            "/api/stream/customer-boughts?customerId=" + customer.getId() + "&from=2021-08-09&to=2021-08-11"
+        );
+
+        assertThat(customerBoughts).extracting(node -> node.get("id").asLong()).containsExactly(second.getId());
+    }
+
+    private List<JsonNode> stream(String url) throws Exception {
+        MvcResult result = restCustomerStreamMockMvc
+            .perform(get(url).accept(MediaType.APPLICATION_NDJSON))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        // wait for the end of the stream
+        result.getAsyncResult();
+        assertThat(result.getResponse().getContentType()).startsWith(MediaType.APPLICATION_NDJSON_VALUE);
+        List<JsonNode> nodes = new ArrayList<>();
+        for (String line : result.getResponse().getContentAsString().split("\n")) {
+            if (!line.isBlank()) {
+                nodes.add(objectMapper.readTree(line));
+            }
+        }
+        return nodes;
+    }
+
+    private CustomerBought createCustomerBought(Customer customer, ZonedDateTime deliveryDate) {
+        return new CustomerBought()
+            .weightType(weightTypes.KG)
+            .unitPrice(200L)
+            .deliveryDate(deliveryDate)
+            .status(paymentStatus.DUE)
+            .totalWeight(10)
+            .productType(productType)
+            .customer(customer);
+    }
+}
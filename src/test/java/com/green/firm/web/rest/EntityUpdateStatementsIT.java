@@ -0,0 +1,163 @@
+package com.green.firm.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.green.firm.IntegrationTest;
+import com.green.firm.domain.Customer;
+import com.green.firm.domain.ProductType;
+import com.green.firm.service.dto.CustomerDTO;
+import com.green.firm.service.dto.ProductTypeDTO;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests counting the statements issued by the PUT and PATCH requests of the REST controllers:
+ * the entity is selected once, then updated.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+@Transactional
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class EntityUpdateStatementsIT {
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MockMvc restMockMvc;
+
+    private Statistics statistics;
+
+    private Customer customer;
+
+    private ProductType productType;
+
+    @BeforeEach
+    public void init() {
+        customer = new Customer().name("AAAAAAAAAA").phone("0123456789").address("AAAAAAAAAA");
+        em.persist(customer);
+        productType = new ProductType().name("AAAAAAAAAA");
+        em.persist(productType);
+        em.flush();
+        em.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void putCustomerSelectsItOnce() throws Exception {
+        CustomerDTO customerDTO = new CustomerDTO(customer.getId(), "BBBBBBBBBB");
+        customerDTO.setVersion(0L);
+        customerDTO.setPhone("9876543210");
+        customerDTO.setAddress("BBBBBBBBBB");
+
+        restMockMvc
+            .perform(
+                put("/api/customers/{id}", customer.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(customerDTO))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name").value("BBBBBBBBBB"))
+            .andExpect(jsonPath("$.version").value(1));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+    }
+
+    @Test
+    void patchCustomerSelectsItOnce() throws Exception {
+        CustomerDTO customerDTO = new CustomerDTO(customer.getId(), "BBBBBBBBBB");
+
+        restMockMvc
+            .perform(
+                patch("/api/customers/{id}", customer.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(customerDTO))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name").value("BBBBBBBBBB"))
+            .andExpect(jsonPath("$.phone").value("0123456789"))
+            .andExpect(jsonPath("$.version").value(1));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+    }
+
+    @Test
+    void putProductTypeSelectsItOnce() throws Exception {
+        ProductTypeDTO productTypeDTO = new ProductTypeDTO(productType.getId(), "BBBBBBBBBB");
+
+        restMockMvc
+            .perform(
+                put("/api/product-types/{id}", productType.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(productTypeDTO))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name").value("BBBBBBBBBB"));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+    }
+
+    @Test
+    void unchangedCustomerIsNotUpdated() throws Exception {
+        CustomerDTO customerDTO = new CustomerDTO(customer.getId(), customer.getName());
+
+        restMockMvc
+            .perform(
+                patch("/api/customers/{id}", customer.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(customerDTO))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.version").value(0));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+    }
+
+    @Test
+    void updateNonExistingCustomer() throws Exception {
+        CustomerDTO customerDTO = new CustomerDTO(Long.MAX_VALUE, "BBBBBBBBBB");
+        customerDTO.setPhone("9876543210");
+        customerDTO.setAddress("BBBBBBBBBB");
+
+        restMockMvc
+            .perform(
+                put("/api/customers/{id}", Long.MAX_VALUE)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(customerDTO))
+            )
+            .andExpect(status().isNotFound());
+        restMockMvc
+            .perform(
+                patch("/api/customers/{id}", Long.MAX_VALUE)
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(customerDTO))
+            )
+            .andExpect(status().isNotFound());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,146 @@
+package com.green.firm.web.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of the customer and customerBought listings, reporting the throughput and the latency percentiles.
+ * <p>
+ * It is not run by the test suite: start the application, with or without the "virtual-threads" profile, then run its
+ * {@link #main(String[])} method after {@code ./mvnw test-compile}, with the optional arguments
+ * {@code <base URL> <concurrent clients> <duration in seconds> <login> <password>}.
+ * Each client sends its requests one after the other, alternating {@code GET /api/customers} and
+ * {@code GET /api/customer-boughts}, so the concurrency is that of the clients.
+ */
+public class ResourceLoadSimulation {
+
+    private static final List<String> PATHS = Arrays.asList("/api/customers?page=0&size=20", "/api/customer-boughts?page=0&size=20");
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        Duration duration = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 60);
+        String login = args.length > 3 ? args[3] : "admin";
+        String password = args.length > 4 ? args[4] : "admin";
+
+        HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).connectTimeout(Duration.ofSeconds(10)).build();
+        String authorization = "Bearer " + authenticate(httpClient, baseUrl, login, password);
+
+        // warm up the JIT and the connection pool, without measuring
+        run(httpClient, baseUrl, authorization, clients, Duration.ofSeconds(10));
+        long start = System.nanoTime();
+        List<Result> results = run(httpClient, baseUrl, authorization, clients, duration);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        List<Long> latencies = new ArrayList<>();
+        long errors = 0;
+        for (Result result : results) {
+            latencies.addAll(result.latencies);
+            errors += result.errors;
+        }
+        Collections.sort(latencies);
+        System.out.printf("%d clients for %.0fs against %s%n", clients, seconds, baseUrl);
+        System.out.printf("requests: %d, errors: %d, throughput: %.1f req/s%n", latencies.size(), errors, latencies.size() / seconds);
+        System.out.printf(
+            "latency (ms): p50 %.1f, p90 %.1f, p99 %.1f, max %.1f%n",
+            percentile(latencies, 0.5),
+            percentile(latencies, 0.9),
+            percentile(latencies, 0.99),
+            percentile(latencies, 1)
+        );
+    }
+
+    private static String authenticate(HttpClient httpClient, String baseUrl, String login, String password) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, Object> credentials = Map.of("username", login, "password", password, "rememberMe", false);
+        HttpResponse<String> response = httpClient.send(
+            HttpRequest
+                .newBuilder(URI.create(baseUrl + "/api/authenticate"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(credentials)))
+                .build(),
+            HttpResponse.BodyHandlers.ofString()
+        );
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Authentication failed with status " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body()).get("id_token").asText();
+    }
+
+    private static List<Result> run(HttpClient httpClient, String baseUrl, String authorization, int clients, Duration duration)
+        throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<Result>> futures = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                int client = i;
+                futures.add(executor.submit(() -> client(httpClient, baseUrl, authorization, client, deadline)));
+            }
+            List<Result> results = new ArrayList<>();
+            for (Future<Result> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static Result client(HttpClient httpClient, String baseUrl, String authorization, int client, long deadline) {
+        Result result = new Result();
+        int request = client;
+        while (System.nanoTime() < deadline) {
+            HttpRequest httpRequest = HttpRequest
+                .newBuilder(URI.create(baseUrl + PATHS.get(request++ % PATHS.size())))
+                .header("Authorization", authorization)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    result.latencies.add(System.nanoTime() - start);
+                } else {
+                    result.errors++;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                result.errors++;
+            }
+        }
+        return result;
+    }
+
+    private static double percentile(List<Long> sortedLatencies, double percentile) {
+        if (sortedLatencies.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedLatencies.size()) - 1;
+        return sortedLatencies.get(Math.max(index, 0)) / 1e6;
+    }
+
+    private static final class Result {
+
+        private final List<Long> latencies = new ArrayList<>();
+
+        private long errors;
+    }
+}